@@ -0,0 +1,114 @@
+package com.example.book.cache;
+
+import com.example.book.dto.response.BookResponse;
+import com.example.book.event.BookChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Cache chi tiết sách ({@link CacheNames#BOOK_DETAILS}) theo ID
+ * <p>
+ * Xóa entry sau khi transaction ghi commit là chưa đủ: một request đọc bắt đầu trước khi commit
+ * vẫn đọc được dữ liệu cũ và có thể ghi nó vào cache sau khi entry đã bị xóa.
+ * Vì vậy mỗi lần ghi cache phải đi qua {@link #putIfFresh}:
+ * <ol>
+ *     <li>Trước khi đọc database, luồng đọc lấy {@link #stamp} của ID</li>
+ *     <li>Khi sách thay đổi (sau commit), stamp của ID được tăng rồi entry bị xóa</li>
+ *     <li>{@link #putIfFresh} bỏ qua kết quả nếu stamp đã đổi trong lúc đọc,
+ *     và không bao giờ thay entry bằng bản có version thấp hơn</li>
+ * </ol>
+ * Stamp được chia theo slot (hash của ID) nên bộ nhớ cố định; hai ID trùng slot chỉ làm mất một lần ghi cache.
+ * TTL ({@code cache.book-detail.ttl}) chỉ là lưới an toàn, không phải cơ chế giữ dữ liệu đúng.
+ */
+@Component
+public class BookDetailCache {
+
+    private static final int STAMP_SLOTS = 4096;
+
+    private final org.springframework.cache.Cache bookDetails;
+    private final Cache<Object, Object> nativeCache;
+    private final AtomicLongArray stamps = new AtomicLongArray(STAMP_SLOTS);
+
+    public BookDetailCache(CacheManager cacheManager) {
+        this.bookDetails = cacheManager.getCache(CacheNames.BOOK_DETAILS);
+        if (!(bookDetails instanceof CaffeineCache caffeineCache)) {
+            throw new IllegalStateException("Cache " + CacheNames.BOOK_DETAILS + " is not configured");
+        }
+        this.nativeCache = caffeineCache.getNativeCache();
+    }
+
+    /**
+     * Lấy chi tiết sách trong cache (tính vào thống kê hit/miss)
+     *
+     * @param id mã ID của sách
+     * @return BookResponse, null nếu chưa có trong cache
+     */
+    public BookResponse get(Long id) {
+        return bookDetails.get(id, BookResponse.class);
+    }
+
+    /**
+     * Lấy stamp hiện tại của ID, phải gọi trước khi đọc database
+     *
+     * @param id mã ID của sách
+     * @return stamp để truyền vào {@link #putIfFresh}
+     */
+    public long stamp(Long id) {
+        return stamps.get(slot(id));
+    }
+
+    /**
+     * Ghi kết quả đọc từ database vào cache nếu sách không thay đổi kể từ khi lấy stamp
+     *
+     * @param response chi tiết sách vừa đọc
+     * @param stamp    stamp lấy trước khi đọc
+     */
+    public void putIfFresh(BookResponse response, long stamp) {
+        Long id = response.getId();
+        nativeCache.asMap().compute(id, (key, existing) -> {
+            // Kiểm tra trong compute: invalidate tăng stamp trước khi xóa entry nên không lọt giữa hai bước
+            if (stamps.get(slot(id)) != stamp) {
+                return existing;
+            }
+            if (existing instanceof BookResponse cached && isNewer(cached, response)) {
+                return existing;
+            }
+            return response;
+        });
+    }
+
+    /**
+     * Bỏ sách khỏi cache; kết quả đang được đọc song song sẽ không được ghi vào cache
+     *
+     * @param id mã ID của sách
+     */
+    public void invalidate(Long id) {
+        stamps.incrementAndGet(slot(id));
+        nativeCache.invalidate(id);
+    }
+
+    /**
+     * Xóa các sách bị ảnh hưởng khỏi cache (sau khi transaction commit)
+     *
+     * @param event sự kiện thay đổi sách
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        event.getBookIds().forEach(this::invalidate);
+    }
+
+    private static boolean isNewer(BookResponse cached, BookResponse candidate) {
+        return cached.getVersion() != null && candidate.getVersion() != null
+                && cached.getVersion() > candidate.getVersion();
+    }
+
+    private static int slot(Long id) {
+        int hash = id.hashCode();
+        return (hash ^ (hash >>> 16)) & (STAMP_SLOTS - 1);
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.book.cache;
+
+/**
+ * Tên các cache trong ứng dụng (đăng ký tại {@link com.example.book.config.CacheConfig})
+ */
+public final class CacheNames {
+
+    private CacheNames() {
+        // Utility class - do not instantiate
+    }
+
+    /**
+     * Category theo ID
+     */
+    public static final String CATEGORIES_BY_ID = "categoriesById";
+
+    /**
+     * Category theo mã code
+     */
+    public static final String CATEGORIES_BY_CODE = "categoriesByCode";
+
+    /**
+     * Chi tiết sách (BookResponse) theo ID
+     */
+    public static final String BOOK_DETAILS = "bookDetails";
+
+    /**
+     * Thống kê catalog (facets), TTL ngắn
+     */
+    public static final String BOOK_FACETS = "bookFacets";
+
+    /**
+     * JWT đã verify (JwtPrincipal) theo SHA-256 của token, hết hạn theo claim exp
+     */
+    public static final String VERIFIED_TOKENS = "verifiedTokens";
+}
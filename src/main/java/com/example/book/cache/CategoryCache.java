@@ -0,0 +1,115 @@
+package com.example.book.cache;
+
+import com.example.book.entity.Category;
+import com.example.book.repository.CategoryRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Cache in-process cho Category, tra cứu theo ID và theo code
+ * <p>
+ * Bảng categories gần như không thay đổi, nên các luồng ghi (tạo/cập nhật sách)
+ * và luồng đọc (map BookResponse) dùng cache này thay vì query DB mỗi lần.
+ * <ul>
+ *     <li>Chỉ giữ {@link CategoryView} immutable, không giữ entity JPA; gán danh mục cho Book qua {@link #getReference}</li>
+ *     <li>Giới hạn kích thước và TTL cấu hình qua {@code cache.category.*}</li>
+ *     <li>Invalidate tường minh qua {@link #invalidate(Category)} / {@link #invalidateAll()}</li>
+ *     <li>Không cache kết quả không tìm thấy</li>
+ * </ul>
+ */
+@Component
+public class CategoryCache {
+
+    private final CategoryRepository categoryRepository;
+    private final Cache<Object, Object> byId;
+    private final Cache<Object, Object> byCode;
+
+    public CategoryCache(CategoryRepository categoryRepository, CacheManager cacheManager) {
+        this.categoryRepository = categoryRepository;
+        this.byId = nativeCache(cacheManager, CacheNames.CATEGORIES_BY_ID);
+        this.byCode = nativeCache(cacheManager, CacheNames.CATEGORIES_BY_CODE);
+    }
+
+    /**
+     * Tìm danh mục theo ID, load từ DB nếu chưa có trong cache
+     *
+     * @param id mã ID của danh mục
+     * @return Optional chứa danh mục nếu tìm thấy
+     */
+    public Optional<CategoryView> findById(Long id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        Object category = byId.get(id, key -> categoryRepository.findById(id)
+                .map(CategoryView::of)
+                .map(this::putByCode)
+                .orElse(null));
+        return Optional.ofNullable((CategoryView) category);
+    }
+
+    /**
+     * Tìm danh mục theo mã code, load từ DB nếu chưa có trong cache
+     *
+     * @param code mã code của danh mục
+     * @return Optional chứa danh mục nếu tìm thấy
+     */
+    public Optional<CategoryView> findByCode(String code) {
+        if (code == null) {
+            return Optional.empty();
+        }
+        Object category = byCode.get(code, key -> categoryRepository.findByCode(code)
+                .map(CategoryView::of)
+                .map(this::putById)
+                .orElse(null));
+        return Optional.ofNullable((CategoryView) category);
+    }
+
+    /**
+     * Lấy reference (proxy chưa load) tới danh mục để gán cho Book, nếu danh mục tồn tại
+     * <p>
+     * Kiểm tra tồn tại qua cache, không query bảng categories; proxy thuộc persistence context
+     * của transaction hiện tại nên phải gọi trong transaction.
+     *
+     * @param id mã ID của danh mục
+     * @return Optional chứa reference nếu danh mục tồn tại
+     */
+    public Optional<Category> getReference(Long id) {
+        return findById(id).map(category -> categoryRepository.getReferenceById(category.getId()));
+    }
+
+    /**
+     * Xóa một danh mục khỏi cache (cả theo ID và theo code)
+     *
+     * @param category danh mục đã thay đổi
+     */
+    public void invalidate(Category category) {
+        byId.invalidate(category.getId());
+        byCode.invalidate(category.getCode());
+    }
+
+    /**
+     * Xóa toàn bộ danh mục khỏi cache
+     */
+    public void invalidateAll() {
+        byId.invalidateAll();
+        byCode.invalidateAll();
+    }
+
+    private CategoryView putByCode(CategoryView category) {
+        byCode.put(category.getCode(), category);
+        return category;
+    }
+
+    private CategoryView putById(CategoryView category) {
+        byId.put(category.getId(), category);
+        return category;
+    }
+
+    private static Cache<Object, Object> nativeCache(CacheManager cacheManager, String name) {
+        return ((CaffeineCache) cacheManager.getCache(name)).getNativeCache();
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.book.cache;
+
+import com.example.book.entity.Category;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Bản sao immutable của Category được giữ trong {@link CategoryCache}
+ * <p>
+ * Cache dùng chung giữa các thread/transaction nên không giữ entity JPA (có thể bị sửa hoặc gắn vào
+ * persistence context của request khác). Khi cần gán danh mục cho Book, dùng {@link CategoryCache#getReference}.
+ */
+@Value
+public class CategoryView {
+
+    Long id;
+    String code;
+    String name;
+    LocalDateTime createdAt;
+    LocalDateTime updatedAt;
+
+    public static CategoryView of(Category category) {
+        return new CategoryView(category.getId(), category.getCode(), category.getName(),
+                category.getCreatedAt(), category.getUpdatedAt());
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.book.config;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Tạo FULLTEXT index cho tìm kiếm sách theo tiêu đề/tác giả khi khởi động (chỉ MySQL)
+ * <p>
+ * JPA {@code @Index} không khai báo được FULLTEXT index nên ddl-auto không tự tạo.
+ * Component này kiểm tra information_schema và tạo index nếu chưa có.
+ */
+@Component
+@Slf4j
+public class BookSearchIndexInitializer implements ApplicationRunner {
+
+    /**
+     * Tên FULLTEXT index, cột phải khớp với MATCH(...) trong BookRepository
+     */
+    public static final String INDEX_NAME = "ft_books_title_author";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public void run(ApplicationArguments args) {
+        Dialect dialect = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices()
+                .getDialect();
+        if (!(dialect instanceof MySQLDialect)) {
+            log.info("Skipping FULLTEXT index creation, dialect {} is not MySQL", dialect.getClass().getSimpleName());
+            return;
+        }
+
+        long existing = ((Number) entityManager.createNativeQuery(
+                        "SELECT COUNT(*) FROM information_schema.statistics " +
+                        "WHERE table_schema = DATABASE() AND table_name = 'books' AND index_name = :indexName")
+                .setParameter("indexName", INDEX_NAME)
+                .getSingleResult()).longValue();
+        if (existing == 0) {
+            entityManager.createNativeQuery("ALTER TABLE books ADD FULLTEXT INDEX " + INDEX_NAME + " (title, author)")
+                    .executeUpdate();
+            log.info("Created FULLTEXT index {} on books(title, author)", INDEX_NAME);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.book.config;
+
+import com.example.book.entity.Book;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Đồng bộ bảng {@code book_seq} với ID lớn nhất hiện có của bảng books khi khởi động
+ * <p>
+ * Book.id trước đây dùng IDENTITY (AUTO_INCREMENT). Trên database không hỗ trợ sequence (MySQL),
+ * Hibernate giả lập sequence bằng bảng {@code book_seq} và khởi tạo giá trị 1, nên với dữ liệu cũ
+ * các ID sinh ra sẽ trùng với ID đã có. Component này đẩy giá trị sequence vượt qua MAX(id).
+ */
+@Component
+@Slf4j
+public class BookSequenceInitializer implements ApplicationRunner {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public void run(ApplicationArguments args) {
+        Dialect dialect = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices()
+                .getDialect();
+        if (dialect.getSequenceSupport().supportsSequences()) {
+            // Sequence thật do database quản lý, không cần đồng bộ ở đây
+            return;
+        }
+
+        long maxId = ((Number) entityManager.createQuery("SELECT COALESCE(MAX(b.id), 0) FROM Book b")
+                .getSingleResult()).longValue();
+        long nextVal = ((Number) entityManager.createNativeQuery("SELECT next_val FROM book_seq")
+                .getSingleResult()).longValue();
+
+        // Pooled optimizer dùng khoảng (next_val - allocationSize, next_val], nên cần vượt MAX(id) thêm một khối
+        long required = maxId + Book.ID_ALLOCATION_SIZE + 1;
+        if (nextVal < required) {
+            entityManager.createNativeQuery("UPDATE book_seq SET next_val = :nextVal")
+                    .setParameter("nextVal", required)
+                    .executeUpdate();
+            log.info("Advanced book_seq from {} to {} (max book id {})", nextVal, required, maxId);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.book.config;
+
+import com.example.book.cache.CacheNames;
+import com.example.book.security.jwt.JwtPrincipal;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Cấu hình cache in-process (Caffeine)
+ * <p>
+ * Mỗi cache được khai báo tường minh với giới hạn kích thước và TTL riêng,
+ * luôn bật thống kê (hit/miss/eviction) để theo dõi qua {@code GET /api/admin/caches}.
+ * Không cho phép tạo cache động theo tên bất kỳ.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    @Value("${cache.category.max-size:1000}")
+    private long categoryMaxSize;
+
+    @Value("${cache.category.ttl:PT30M}")
+    private Duration categoryTtl;
+
+    @Value("${cache.book-detail.max-size:10000}")
+    private long bookDetailMaxSize;
+
+    @Value("${cache.book-detail.ttl:PT10M}")
+    private Duration bookDetailTtl;
+
+    @Value("${cache.book-facets.ttl:PT1M}")
+    private Duration bookFacetsTtl;
+
+    @Value("${jwt.cache.enabled:true}")
+    private boolean verifiedTokenCacheEnabled;
+
+    @Value("${jwt.cache.max-size:10000}")
+    private long verifiedTokenMaxSize;
+
+    /**
+     * Cache manager chứa toàn bộ cache của ứng dụng
+     *
+     * @return CacheManager
+     */
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        // Danh sách tên rỗng => tắt chế độ tạo cache động
+        cacheManager.setCacheNames(List.of());
+
+        cacheManager.registerCustomCache(CacheNames.CATEGORIES_BY_ID, Caffeine.newBuilder()
+                .maximumSize(categoryMaxSize)
+                .expireAfterWrite(categoryTtl)
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(CacheNames.CATEGORIES_BY_CODE, Caffeine.newBuilder()
+                .maximumSize(categoryMaxSize)
+                .expireAfterWrite(categoryTtl)
+                .recordStats()
+                .build());
+        // W-TinyLFU của Caffeine giữ lại tập sách "nóng" khi vượt quá kích thước tối đa;
+        // tính đúng đắn do BookDetailCache#putIfFresh đảm bảo, TTL chỉ là lưới an toàn
+        cacheManager.registerCustomCache(CacheNames.BOOK_DETAILS, Caffeine.newBuilder()
+                .maximumSize(bookDetailMaxSize)
+                .expireAfterWrite(bookDetailTtl)
+                .recordStats()
+                .build());
+        // Chỉ có một entry (toàn bộ facets), TTL ngắn làm lưới an toàn bên cạnh việc xóa khi sách thay đổi
+        cacheManager.registerCustomCache(CacheNames.BOOK_FACETS, Caffeine.newBuilder()
+                .maximumSize(1)
+                .expireAfterWrite(bookFacetsTtl)
+                .recordStats()
+                .build());
+        // Giới hạn kích thước chặn việc spam token làm phình bộ nhớ; mỗi entry hết hạn đúng lúc token hết hạn
+        if (verifiedTokenCacheEnabled) {
+            cacheManager.registerCustomCache(CacheNames.VERIFIED_TOKENS, Caffeine.newBuilder()
+                    .maximumSize(verifiedTokenMaxSize)
+                    .expireAfter(new TokenExpiry())
+                    .recordStats()
+                    .build());
+        }
+
+        return cacheManager;
+    }
+
+    /**
+     * Entry của {@link CacheNames#VERIFIED_TOKENS} hết hạn tại claim exp của token (không có exp thì hết hạn ngay);
+     * đọc không gia hạn, ghi lại tính lại từ exp
+     */
+    private static final class TokenExpiry implements Expiry<Object, Object> {
+
+        @Override
+        public long expireAfterCreate(Object key, Object value, long currentTime) {
+            if (value instanceof JwtPrincipal principal && principal.getExpiresAt() != null) {
+                Duration remaining = Duration.between(Instant.now(), principal.getExpiresAt());
+                return remaining.isNegative() ? 0 : remaining.toNanos();
+            }
+            return 0;
+        }
+
+        @Override
+        public long expireAfterUpdate(Object key, Object value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Object key, Object value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
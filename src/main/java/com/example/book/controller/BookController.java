@@ -1,25 +1,58 @@
 package com.example.book.controller;
 
+import com.example.book.dto.request.BatchGetBooksByIsbnRequest;
+import com.example.book.dto.request.BatchGetBooksRequest;
+import com.example.book.dto.request.BookExportFormat;
+import com.example.book.dto.request.BookFilterRequest;
+import com.example.book.dto.request.BulkDeleteBookRequest;
+import com.example.book.dto.request.BulkStatusChangeRequest;
 import com.example.book.dto.request.CreateBookRequest;
+import com.example.book.dto.request.PatchBookRequest;
 import com.example.book.dto.request.UpdateBookRequest;
+import com.example.book.dto.response.BatchGetBooksByIsbnResponse;
+import com.example.book.dto.response.BatchGetBooksResponse;
+import com.example.book.dto.response.BookCountResponse;
+import com.example.book.dto.response.BookFacetsResponse;
+import com.example.book.dto.response.BookImportResponse;
 import com.example.book.dto.response.BookResponse;
+import com.example.book.dto.response.BookSuggestionResponse;
+import com.example.book.dto.response.BulkCreateBookResponse;
+import com.example.book.dto.response.BulkStatusChangeResponse;
+import com.example.book.dto.response.CursorPageResponse;
+import com.example.book.exception.ErrorCode;
+import com.example.book.exception.PreconditionFailedException;
+import com.example.book.pagination.BookSortKey;
+import com.example.book.service.BookBulkService;
+import com.example.book.service.BookCountService;
+import com.example.book.service.BookExportService;
+import com.example.book.service.BookFacetService;
+import com.example.book.service.BookImportService;
 import com.example.book.service.BookService;
+import com.example.book.service.BookSuggestService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
 import java.net.URI;
+import java.util.List;
 
 /**
  * REST controller cho các thao tác quản lý sách
@@ -31,6 +64,12 @@ import java.net.URI;
 public class BookController {
 
     private final BookService bookService;
+    private final BookCountService bookCountService;
+    private final BookBulkService bookBulkService;
+    private final BookExportService bookExportService;
+    private final BookImportService bookImportService;
+    private final BookSuggestService bookSuggestService;
+    private final BookFacetService bookFacetService;
 
     /**
      * Tạo một cuốn sách mới
@@ -61,12 +100,69 @@ public class BookController {
         return ResponseEntity.created(location).body(response);
     }
 
+    /**
+     * Tạo nhiều sách trong một request (JDBC batch insert)
+     * <p>
+     * Phần tử không hợp lệ được bỏ qua và trả về trong danh sách lỗi, các phần tử hợp lệ vẫn được tạo
+     *
+     * @param requests danh sách thông tin tạo sách
+     * @return ResponseEntity chứa số lượng sách đã tạo và lỗi của từng phần tử
+     */
+    @PostMapping("/bulk")
+    @Operation(summary = "Create books in bulk", description = "Creates many books in one request using batched inserts")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Bulk request processed",
+                    content = @Content(schema = @Schema(implementation = BulkCreateBookResponse.class))
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Too many items in request"
+            )
+    })
+    public ResponseEntity<BulkCreateBookResponse> createBooks(@RequestBody List<CreateBookRequest> requests) {
+        BulkCreateBookResponse response = bookBulkService.createBooks(requests);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Import sách từ file CSV (upsert theo ISBN)
+     * <p>
+     * File được đọc dạng stream và commit theo từng chunk, lỗi ở một dòng/chunk
+     * không làm hỏng các chunk khác.
+     *
+     * @param file file CSV với header isbn,title,author,price,categoryId
+     * @return ResponseEntity chứa tiến độ và lỗi từng dòng
+     * @throws IOException nếu không đọc được file upload
+     */
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "Import books from CSV", description = "Streams a CSV file and upserts books by ISBN in chunked transactions")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Import processed",
+                    content = @Content(schema = @Schema(implementation = BookImportResponse.class))
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Unreadable file or missing required columns"
+            )
+    })
+    public ResponseEntity<BookImportResponse> importBooks(@RequestParam("file") MultipartFile file) throws IOException {
+        BookImportResponse response = bookImportService.importBooks(file.getInputStream());
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Cập nhật thông tin một cuốn sách
+     * <p>
+     * Nếu có header {@code If-Match}, chỉ cập nhật khi ETag khớp phiên bản hiện tại (ngược lại trả 412).
      *
      * @param id mã ID của sách
+     * @param ifMatch giá trị header If-Match (có thể null)
      * @param request thông tin cập nhật sách
-     * @return ResponseEntity chứa thông tin sách đã cập nhật
+     * @return ResponseEntity chứa thông tin sách đã cập nhật và ETag mới
      */
     @PutMapping("/{id}")
     @Operation(summary = "Update a book", description = "Updates an existing book with the provided information")
@@ -83,13 +179,65 @@ public class BookController {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(
                     responseCode = "404",
                     description = "Book not found"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "409",
+                    description = "Book was modified concurrently"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "412",
+                    description = "If-Match does not match the current version"
             )
     })
     public ResponseEntity<BookResponse> updateBook(
             @Parameter(description = "Book ID", required = true) @PathVariable Long id,
+            @Parameter(description = "ETag of the version being edited") @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody UpdateBookRequest request) {
-        BookResponse response = bookService.updateBook(id, request);
-        return ResponseEntity.ok(response);
+        BookResponse response = bookService.updateBook(id, request, parseIfMatch(id, ifMatch));
+        return ResponseEntity.ok().eTag(toETag(response)).body(response);
+    }
+
+    /**
+     * Cập nhật một phần thông tin sách, chỉ các field có trong request
+     * <p>
+     * Hỗ trợ header {@code If-Match} giống PUT.
+     *
+     * @param id mã ID của sách
+     * @param ifMatch giá trị header If-Match (có thể null)
+     * @param request các field cần cập nhật
+     * @return ResponseEntity chứa thông tin sách sau khi cập nhật và ETag mới
+     */
+    @PatchMapping("/{id}")
+    @Operation(summary = "Partially update a book", description = "Updates only the provided fields; omitted fields keep their current values")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Book updated successfully",
+                    content = @Content(schema = @Schema(implementation = BookResponse.class))
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid input or business rule violation"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "404",
+                    description = "Book or category not found"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "409",
+                    description = "Book was modified concurrently"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "412",
+                    description = "If-Match does not match the current version"
+            )
+    })
+    public ResponseEntity<BookResponse> patchBook(
+            @Parameter(description = "Book ID", required = true) @PathVariable Long id,
+            @Parameter(description = "ETag of the version being edited") @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody PatchBookRequest request) {
+        BookResponse response = bookService.patchBook(id, request, parseIfMatch(id, ifMatch));
+        return ResponseEntity.ok().eTag(toETag(response)).body(response);
     }
 
     /**
@@ -118,28 +266,205 @@ public class BookController {
     }
 
     /**
-     * Lấy danh sách tất cả sách có phân trang
+     * Xóa mềm sách hàng loạt theo danh sách ID, theo danh mục, hoặc theo danh sách ISBN
+     *
+     * @param request điều kiện chọn sách (đúng một điều kiện)
+     * @return ResponseEntity chứa số sách bị xóa mềm
+     */
+    @PutMapping("/bulk/delete")
+    @Operation(summary = "Soft delete books in bulk", description = "Soft deletes books selected by ids, category or ISBNs using set-based updates")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Books soft deleted",
+                    content = @Content(schema = @Schema(implementation = BulkStatusChangeResponse.class))
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid criteria or too many items in request"
+            )
+    })
+    public ResponseEntity<BulkStatusChangeResponse> deleteBooks(@RequestBody BulkDeleteBookRequest request) {
+        BulkStatusChangeResponse response = bookBulkService.deleteBooks(request);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Đổi trạng thái sách hàng loạt (xóa mềm hoặc kích hoạt lại)
      *
+     * @param request danh sách ID và trạng thái mới
+     * @return ResponseEntity chứa số sách được cập nhật
+     */
+    @PutMapping("/bulk/status")
+    @Operation(summary = "Change book status in bulk", description = "Sets the status of many books using set-based updates")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Status changed",
+                    content = @Content(schema = @Schema(implementation = BulkStatusChangeResponse.class))
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid input or too many items in request"
+            )
+    })
+    public ResponseEntity<BulkStatusChangeResponse> changeStatus(@Valid @RequestBody BulkStatusChangeRequest request) {
+        BulkStatusChangeResponse response = bookBulkService.changeStatus(request);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Lấy danh sách sách có phân trang, lọc theo danh mục, tác giả, khoảng giá, ngày tạo
+     *
+     * @param filter điều kiện lọc (tùy chọn)
      * @param pageable thông tin phân trang
      * @return ResponseEntity chứa một trang danh sách sách
      */
     @GetMapping
-    @Operation(summary = "Get all books", description = "Retrieves all books with pagination support")
+    @Operation(summary = "Get all books", description = "Retrieves books with pagination, optional filters (categoryId, author prefix, minPrice, maxPrice, createdAfter) and sorting by id, title, author, price, createdAt or updatedAt")
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(
                     responseCode = "200",
                     description = "Books retrieved successfully",
                     content = @Content(schema = @Schema(implementation = Page.class))
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Sort field not allowed or invalid filter"
             )
     })
     public ResponseEntity<Page<BookResponse>> getAllBooks(
+            @ParameterObject BookFilterRequest filter,
+            @Parameter(description = "Pagination parameters") @PageableDefault(size = 10) Pageable pageable) {
+        Page<BookResponse> books = bookService.getAllBooks(filter, pageable);
+        return ResponseEntity.ok(books);
+    }
+
+    /**
+     * Tìm kiếm sách theo tiêu đề/tác giả, sắp xếp theo độ liên quan
+     *
+     * @param q chuỗi tìm kiếm
+     * @param pageable thông tin phân trang
+     * @return ResponseEntity chứa một trang kết quả tìm kiếm
+     */
+    @GetMapping("/search")
+    @Operation(summary = "Search books", description = "Full-text search over title and author, ordered by relevance")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Search completed",
+                    content = @Content(schema = @Schema(implementation = Page.class))
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Blank or invalid search query"
+            )
+    })
+    public ResponseEntity<Page<BookResponse>> searchBooks(
+            @Parameter(description = "Search terms, matched as word prefixes") @RequestParam("q") String q,
+            @Parameter(description = "Pagination parameters") @PageableDefault(size = 10) Pageable pageable) {
+        Page<BookResponse> books = bookService.searchBooks(q, pageable);
+        return ResponseEntity.ok(books);
+    }
+
+    /**
+     * Gợi ý sách theo tiền tố của tiêu đề/tác giả (autocomplete), đọc từ index in-memory
+     *
+     * @param q chuỗi người dùng đang gõ
+     * @param limit số gợi ý tối đa
+     * @return ResponseEntity chứa danh sách gợi ý
+     */
+    @GetMapping("/suggest")
+    @Operation(summary = "Suggest books", description = "Prefix autocomplete over title and author words, served from an in-memory index")
+    public ResponseEntity<List<BookSuggestionResponse>> suggest(
+            @Parameter(description = "Text being typed") @RequestParam("q") String q,
+            @Parameter(description = "Maximum number of suggestions (max 50)") @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(bookSuggestService.suggest(q, limit));
+    }
+
+    /**
+     * Lấy danh sách sách dạng Slice (không chạy COUNT(*))
+     *
+     * @param pageable thông tin phân trang
+     * @return ResponseEntity chứa một Slice danh sách sách
+     */
+    @GetMapping("/slice")
+    @Operation(summary = "Get books as slice", description = "Retrieves books with pagination but without total count query")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Books retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = Slice.class))
+            )
+    })
+    public ResponseEntity<Slice<BookResponse>> getBookSlice(
             @Parameter(description = "Pagination parameters") @PageableDefault(size = 10) Pageable pageable) {
-        Page<BookResponse> books = bookService.getAllBooks(pageable);
+        Slice<BookResponse> books = bookService.getBookSlice(pageable);
         return ResponseEntity.ok(books);
     }
 
+    /**
+     * Lấy thống kê catalog: số sách ACTIVE theo danh mục, khoảng giá và tác giả
+     *
+     * @return ResponseEntity chứa các thống kê
+     */
+    @GetMapping("/facets")
+    @Operation(summary = "Get catalog facets", description = "Returns active book counts per category, price bucket and top authors in one call (cached briefly)")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Facets retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = BookFacetsResponse.class))
+            )
+    })
+    public ResponseEntity<BookFacetsResponse> getFacets() {
+        return ResponseEntity.ok(bookFacetService.getFacets());
+    }
+
+    /**
+     * Lấy tổng số sách đang hoạt động (xấp xỉ, không quét toàn bảng)
+     *
+     * @return ResponseEntity chứa tổng số sách
+     */
+    @GetMapping("/count")
+    @Operation(summary = "Get active book count", description = "Returns the approximate number of active books, maintained incrementally and reconciled periodically")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Count retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = BookCountResponse.class))
+            )
+    })
+    public ResponseEntity<BookCountResponse> getActiveBookCount() {
+        return ResponseEntity.ok(bookCountService.getActiveBookCount());
+    }
+
+    /**
+     * Export toàn bộ sách đang hoạt động dạng NDJSON hoặc CSV
+     * <p>
+     * Dữ liệu được ghi trực tiếp vào response theo từng dòng, không buffer toàn bộ catalog
+     *
+     * @param format định dạng export
+     * @param response HTTP response để ghi dữ liệu
+     * @throws IOException nếu ghi response thất bại
+     */
+    @GetMapping("/export")
+    @Operation(summary = "Export books", description = "Streams all active books as NDJSON or CSV")
+    public void exportBooks(
+            @Parameter(description = "Export format") @RequestParam(defaultValue = "NDJSON") BookExportFormat format,
+            HttpServletResponse response) throws IOException {
+        String fileName = format == BookExportFormat.CSV ? "books.csv" : "books.ndjson";
+        response.setContentType(format == BookExportFormat.CSV ? "text/csv" : "application/x-ndjson");
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"");
+
+        bookExportService.exportActiveBooks(format, response.getOutputStream());
+    }
+
     /**
      * Lấy chi tiết sách theo ID
+     * <p>
+     * Response có ETag là phiên bản của sách; request kèm {@code If-None-Match} khớp nhận 304 không có body.
      *
      * @param id mã ID của sách
      * @return ResponseEntity chứa thông tin chi tiết sách
@@ -152,6 +477,10 @@ public class BookController {
                     description = "Book retrieved successfully",
                     content = @Content(schema = @Schema(implementation = BookResponse.class))
             ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "304",
+                    description = "If-None-Match matches the current version"
+            ),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(
                     responseCode = "404",
                     description = "Book not found"
@@ -160,6 +489,118 @@ public class BookController {
     public ResponseEntity<BookResponse> getBookDetail(
             @Parameter(description = "Book ID", required = true) @PathVariable Long id) {
         BookResponse response = bookService.getBookDetail(id);
+        // Spring so ETag với If-None-Match và trả 304 mà không serialize body
+        return ResponseEntity.ok().eTag(toETag(response)).body(response);
+    }
+
+    /**
+     * Lấy nhiều sách theo danh sách ID trong một request
+     *
+     * @param request danh sách ID sách
+     * @return ResponseEntity chứa các sách tìm thấy (theo thứ tự request) và các ID không tìm thấy
+     */
+    @PostMapping("/batch-get")
+    @Operation(summary = "Get books by IDs", description = "Resolves up to 500 book IDs in one call, preserving request order and reporting missing IDs")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Books retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = BatchGetBooksResponse.class))
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Empty or too many IDs"
+            )
+    })
+    public ResponseEntity<BatchGetBooksResponse> getBooksByIds(@Valid @RequestBody BatchGetBooksRequest request) {
+        BatchGetBooksResponse response = bookService.getBooksByIds(request.getIds());
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * Tra cứu nhiều sách theo danh sách ISBN trong một request
+     *
+     * @param request danh sách ISBN
+     * @return ResponseEntity chứa map ISBN -> sách và các ISBN không tìm thấy
+     */
+    @PostMapping("/batch-get-by-isbn")
+    @Operation(summary = "Get books by ISBNs", description = "Resolves a list of ISBNs to active books in one call, returning an ISBN to book map and missing ISBNs")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Books retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = BatchGetBooksByIsbnResponse.class))
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Empty or too many ISBNs"
+            )
+    })
+    public ResponseEntity<BatchGetBooksByIsbnResponse> getBooksByIsbns(@Valid @RequestBody BatchGetBooksByIsbnRequest request) {
+        BatchGetBooksByIsbnResponse response = bookService.getBooksByIsbns(request.getIsbns());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Lấy danh sách sách theo cursor (keyset pagination)
+     * <p>
+     * Dành cho catalog lớn: không chạy COUNT(*) và chi phí mỗi trang không phụ thuộc độ sâu.
+     * Với catalog nhỏ vẫn có thể dùng {@code GET /api/books} (phân trang offset).
+     *
+     * @param after cursor lấy từ {@code nextCursor} của trang trước, bỏ trống để lấy trang đầu
+     * @param size số bản ghi mỗi trang
+     * @param sort khóa sắp xếp
+     * @return ResponseEntity chứa một trang sách kèm cursor của trang tiếp theo
+     */
+    @GetMapping("/cursor")
+    @Operation(summary = "Get books by cursor", description = "Retrieves books using keyset (cursor) pagination without total count")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Books retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = CursorPageResponse.class))
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid cursor"
+            )
+    })
+    public ResponseEntity<CursorPageResponse<BookResponse>> getBooksByCursor(
+            @Parameter(description = "Opaque cursor from previous page") @RequestParam(required = false) String after,
+            @Parameter(description = "Page size (max 100)") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Sort key") @RequestParam(defaultValue = "ID") BookSortKey sort) {
+        CursorPageResponse<BookResponse> books = bookService.getBooksByCursor(after, size, sort);
+        return ResponseEntity.ok(books);
+    }
+
+    /**
+     * ETag (strong) của sách: phiên bản optimistic locking đặt trong dấu nháy kép
+     */
+    private static String toETag(BookResponse book) {
+        return "\"" + book.getVersion() + "\"";
+    }
+
+    /**
+     * Đọc phiên bản mong đợi từ header If-Match
+     * <p>
+     * Không có header hoặc {@code *}: không kiểm tra phiên bản. ETag weak hoặc không đúng định dạng
+     * không bao giờ khớp khi so sánh strong, nên trả 412 ngay.
+     *
+     * @return phiên bản mong đợi, null nếu không kiểm tra
+     */
+    private static Long parseIfMatch(Long id, String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String value = ifMatch.trim();
+        if (value.length() > 2 && value.startsWith("\"") && value.endsWith("\"")) {
+            try {
+                return Long.parseLong(value.substring(1, value.length() - 1));
+            } catch (NumberFormatException ignored) {
+                // rơi xuống 412
+            }
+        }
+        throw new PreconditionFailedException(ErrorCode.PRECONDITION_FAILED,
+                "If-Match " + value + " does not match the current version of book with ID " + id);
+    }
 }
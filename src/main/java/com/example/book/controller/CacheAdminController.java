@@ -0,0 +1,90 @@
+package com.example.book.controller;
+
+import com.example.book.dto.response.CacheStatsResponse;
+import com.example.book.exception.ErrorCode;
+import com.example.book.exception.ResourceNotFoundException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST controller cho việc theo dõi và xóa các cache in-process
+ */
+@RestController
+@RequestMapping("/api/admin/caches")
+@RequiredArgsConstructor
+@Tag(name = "Cache Admin", description = "APIs for monitoring and evicting in-process caches")
+public class CacheAdminController {
+
+    private final CacheManager cacheManager;
+
+    /**
+     * Lấy thống kê hit/miss/eviction của tất cả cache
+     *
+     * @return ResponseEntity chứa danh sách thống kê cache
+     */
+    @GetMapping
+    @Operation(summary = "Get cache statistics", description = "Returns size, hit/miss counters and evictions of every cache")
+    public ResponseEntity<List<CacheStatsResponse>> getCacheStats() {
+        List<CacheStatsResponse> stats = cacheManager.getCacheNames().stream()
+                .sorted()
+                .map(name -> toStatsResponse(name, nativeCache(name)))
+                .toList();
+        return ResponseEntity.ok(stats);
+    }
+
+    /**
+     * Xóa toàn bộ entry của một cache
+     *
+     * @param name tên cache
+     * @return ResponseEntity chứa thống kê cache sau khi xóa
+     */
+    @DeleteMapping("/{name}")
+    @Operation(summary = "Evict a cache", description = "Removes all entries from the given cache")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Cache evicted successfully"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "404",
+                    description = "Cache not found"
+            )
+    })
+    public ResponseEntity<CacheStatsResponse> evictCache(
+            @Parameter(description = "Cache name", required = true) @PathVariable String name) {
+        Cache<Object, Object> cache = nativeCache(name);
+        cache.invalidateAll();
+        return ResponseEntity.ok(toStatsResponse(name, cache));
+    }
+
+    private Cache<Object, Object> nativeCache(String name) {
+        org.springframework.cache.Cache cache = cacheManager.getCache(name);
+        if (!(cache instanceof CaffeineCache caffeineCache)) {
+            throw new ResourceNotFoundException(ErrorCode.CACHE_NOT_FOUND, "Cache " + name + " not found");
+        }
+        return caffeineCache.getNativeCache();
+    }
+
+    private CacheStatsResponse toStatsResponse(String name, Cache<Object, Object> cache) {
+        CacheStats stats = cache.stats();
+        return CacheStatsResponse.builder()
+                .name(name)
+                .size(cache.estimatedSize())
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .hitRate(stats.hitRate())
+                .evictionCount(stats.evictionCount())
+                .build();
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.book.controller;
+
+import com.example.book.dto.response.CategoryStatsResponse;
+import com.example.book.service.CategoryStatsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * REST controller cho thống kê sách theo danh mục (đọc từ bảng tổng hợp category_stats)
+ */
+@RestController
+@RequestMapping("/api/category-stats")
+@RequiredArgsConstructor
+@Tag(name = "Category Stats", description = "APIs for precomputed per-category book statistics")
+public class CategoryStatsController {
+
+    private final CategoryStatsService categoryStatsService;
+
+    /**
+     * Lấy thống kê của tất cả danh mục
+     *
+     * @return ResponseEntity chứa danh sách thống kê
+     */
+    @GetMapping
+    @Operation(summary = "Get all category statistics", description = "Returns book count, price sum, average, min and max price of active books per category")
+    public ResponseEntity<List<CategoryStatsResponse>> getAllStats() {
+        return ResponseEntity.ok(categoryStatsService.getAllStats());
+    }
+
+    /**
+     * Lấy thống kê của một danh mục
+     *
+     * @param categoryId ID danh mục
+     * @return ResponseEntity chứa thống kê danh mục
+     */
+    @GetMapping("/{categoryId}")
+    @Operation(summary = "Get category statistics", description = "Returns precomputed statistics of active books in the given category")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Statistics retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = CategoryStatsResponse.class))
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "404",
+                    description = "Category not found"
+            )
+    })
+    public ResponseEntity<CategoryStatsResponse> getStats(
+            @Parameter(description = "Category ID", required = true) @PathVariable Long categoryId) {
+        return ResponseEntity.ok(categoryStatsService.getStats(categoryId));
+    }
+}
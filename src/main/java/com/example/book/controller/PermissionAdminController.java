@@ -0,0 +1,80 @@
+package com.example.book.controller;
+
+import com.example.book.dto.request.UpdateRolePermissionsRequest;
+import com.example.book.dto.response.PermissionSnapshotResponse;
+import com.example.book.dto.response.RolePermissionsResponse;
+import com.example.book.service.PermissionAdminService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller cho việc xem, nạp lại và sửa permission của role lúc đang chạy
+ */
+@RestController
+@RequestMapping("/api/admin/permissions")
+@RequiredArgsConstructor
+@Tag(name = "Permission Admin", description = "APIs for inspecting, reloading and editing role permissions at runtime")
+public class PermissionAdminController {
+
+    private final PermissionAdminService permissionAdminService;
+
+    /**
+     * Lấy bộ permission đang được áp dụng khi kiểm tra quyền
+     *
+     * @return ResponseEntity chứa version, nguồn và quyền của từng role
+     */
+    @GetMapping
+    @Operation(summary = "Get active permissions", description = "Returns the permission snapshot currently used for authorization")
+    public ResponseEntity<PermissionSnapshotResponse> getSnapshot() {
+        return ResponseEntity.ok(permissionAdminService.getSnapshot());
+    }
+
+    /**
+     * Nạp lại permission từ database ngay lập tức (không cần chờ lần đối chiếu định kỳ)
+     *
+     * @return ResponseEntity chứa bộ permission sau khi nạp lại
+     */
+    @PostMapping("/reload")
+    @Operation(summary = "Reload permissions", description = "Reloads role permissions from the database and swaps the active snapshot if they changed")
+    public ResponseEntity<PermissionSnapshotResponse> reload() {
+        return ResponseEntity.ok(permissionAdminService.reload());
+    }
+
+    /**
+     * Thay toàn bộ danh sách permission của một role, có hiệu lực ngay sau khi lưu
+     *
+     * @param roleName tên role
+     * @param request  danh sách tên permission mới
+     * @return ResponseEntity chứa danh sách permission của role sau khi sửa
+     */
+    @PutMapping("/roles/{roleName}")
+    @Operation(summary = "Update role permissions", description = "Replaces the permissions of a role; takes effect without a redeploy")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Role permissions updated",
+                    content = @Content(schema = @Schema(implementation = RolePermissionsResponse.class))
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Unknown permission name or role ADMIN"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "404",
+                    description = "Role not found"
+            )
+    })
+    public ResponseEntity<RolePermissionsResponse> updateRolePermissions(
+            @Parameter(description = "Role name", required = true) @PathVariable String roleName,
+            @Valid @RequestBody UpdateRolePermissionsRequest request) {
+        return ResponseEntity.ok(permissionAdminService.updateRolePermissions(roleName, request));
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.book.controller;
+
+import com.example.book.dto.request.RepricingJobRequest;
+import com.example.book.dto.response.RepricingJobResponse;
+import com.example.book.service.BookRepricingService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+import java.util.List;
+
+/**
+ * REST controller cho job đổi giá sách hàng loạt theo danh mục
+ */
+@RestController
+@RequestMapping("/api/admin/repricing-jobs")
+@RequiredArgsConstructor
+@Tag(name = "Repricing Jobs Admin", description = "APIs for running bulk repricing jobs in the background")
+public class RepricingJobAdminController {
+
+    private final BookRepricingService bookRepricingService;
+
+    /**
+     * Tạo job đổi giá cho toàn bộ sách ACTIVE của một danh mục
+     *
+     * @param request danh mục, cách tính giá mới và chế độ dry-run
+     * @return ResponseEntity 202 chứa trạng thái ban đầu của job
+     */
+    @PostMapping
+    @Operation(summary = "Start a repricing job", description = "Queues a background job that reprices all active books of a category by a percentage or an absolute amount")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "202",
+                    description = "Job queued",
+                    content = @Content(schema = @Schema(implementation = RepricingJobResponse.class))
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid repricing value or job queue is full"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "404",
+                    description = "Category not found"
+            )
+    })
+    public ResponseEntity<RepricingJobResponse> startJob(@Valid @RequestBody RepricingJobRequest request) {
+        RepricingJobResponse response = bookRepricingService.startJob(request);
+        URI location = ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{jobId}")
+                .buildAndExpand(response.getId())
+                .toUri();
+        return ResponseEntity.accepted().location(location).body(response);
+    }
+
+    /**
+     * Lấy danh sách job còn được giữ trong bộ nhớ
+     *
+     * @return ResponseEntity chứa danh sách job, mới nhất trước
+     */
+    @GetMapping
+    @Operation(summary = "List repricing jobs", description = "Returns recent repricing jobs, newest first")
+    public ResponseEntity<List<RepricingJobResponse>> getJobs() {
+        return ResponseEntity.ok(bookRepricingService.getJobs());
+    }
+
+    /**
+     * Lấy trạng thái và tiến độ của một job
+     *
+     * @param jobId ID job
+     * @return ResponseEntity chứa trạng thái job
+     */
+    @GetMapping("/{jobId}")
+    @Operation(summary = "Get repricing job status", description = "Returns status and progress counters of a repricing job")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Job found",
+                    content = @Content(schema = @Schema(implementation = RepricingJobResponse.class))
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "404",
+                    description = "Job not found"
+            )
+    })
+    public ResponseEntity<RepricingJobResponse> getJob(
+            @Parameter(description = "Job ID", required = true) @PathVariable String jobId) {
+        return ResponseEntity.ok(bookRepricingService.getJob(jobId));
+    }
+
+    /**
+     * Hủy job; job đang chạy dừng sau lô hiện tại, các lô đã commit được giữ nguyên
+     *
+     * @param jobId ID job
+     * @return ResponseEntity chứa trạng thái job sau khi yêu cầu hủy
+     */
+    @PostMapping("/{jobId}/cancel")
+    @Operation(summary = "Cancel a repricing job", description = "Cancels a queued job or stops a running job after its current chunk")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Cancellation requested",
+                    content = @Content(schema = @Schema(implementation = RepricingJobResponse.class))
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "404",
+                    description = "Job not found"
+            )
+    })
+    public ResponseEntity<RepricingJobResponse> cancelJob(
+            @Parameter(description = "Job ID", required = true) @PathVariable String jobId) {
+        return ResponseEntity.ok(bookRepricingService.cancelJob(jobId));
+    }
+}
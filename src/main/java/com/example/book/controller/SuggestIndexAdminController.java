@@ -0,0 +1,34 @@
+package com.example.book.controller;
+
+import com.example.book.dto.response.SuggestIndexStatsResponse;
+import com.example.book.service.BookSuggestService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller cho việc theo dõi index gợi ý sách in-memory
+ */
+@RestController
+@RequestMapping("/api/admin/suggest-index")
+@RequiredArgsConstructor
+@Tag(name = "Suggest Index Admin", description = "APIs for monitoring the in-memory book suggest index")
+public class SuggestIndexAdminController {
+
+    private final BookSuggestService bookSuggestService;
+
+    /**
+     * Lấy thống kê và ước lượng bộ nhớ của index gợi ý
+     *
+     * @return ResponseEntity chứa thống kê index
+     */
+    @GetMapping
+    @Operation(summary = "Get suggest index statistics", description = "Returns size and estimated memory footprint of the suggest index")
+    public ResponseEntity<SuggestIndexStatsResponse> getIndexStats() {
+        return ResponseEntity.ok(bookSuggestService.getIndexStats());
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.book.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO cho việc tra cứu nhiều sách theo danh sách ISBN
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchGetBooksByIsbnRequest {
+
+    @NotEmpty(message = "ISBNs must not be empty")
+    private List<@NotBlank(message = "ISBN must not be blank") String> isbns;
+}
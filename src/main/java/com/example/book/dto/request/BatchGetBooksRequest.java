@@ -0,0 +1,21 @@
+package com.example.book.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO cho việc lấy nhiều sách theo danh sách ID
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchGetBooksRequest {
+
+    @NotEmpty(message = "Book IDs must not be empty")
+    private List<@NotNull(message = "Book ID must not be null") Long> ids;
+}
@@ -0,0 +1,17 @@
+package com.example.book.dto.request;
+
+/**
+ * Định dạng file khi export danh sách sách
+ */
+public enum BookExportFormat {
+
+    /**
+     * Mỗi dòng là một JSON object (newline-delimited JSON)
+     */
+    NDJSON,
+
+    /**
+     * CSV có dòng header
+     */
+    CSV
+}
@@ -0,0 +1,43 @@
+package com.example.book.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * DTO cho điều kiện lọc danh sách sách (query parameter), mọi trường đều tùy chọn
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookFilterRequest {
+
+    private Long categoryId;
+
+    /**
+     * Tiền tố tên tác giả
+     */
+    private String author;
+
+    private BigDecimal minPrice;
+
+    private BigDecimal maxPrice;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdAfter;
+
+    /**
+     * Không có điều kiện lọc nào được truyền vào
+     */
+    public boolean isEmpty() {
+        return categoryId == null
+                && (author == null || author.isBlank())
+                && minPrice == null
+                && maxPrice == null
+                && createdAfter == null;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.book.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO cho việc xóa mềm sách hàng loạt
+ * <p>
+ * Chỉ được chọn đúng một điều kiện: danh sách ID, danh mục, hoặc danh sách ISBN
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkDeleteBookRequest {
+
+    private List<Long> ids;
+
+    private Long categoryId;
+
+    private List<String> isbns;
+}
@@ -0,0 +1,25 @@
+package com.example.book.dto.request;
+
+import com.example.book.entity.BookStatus;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO cho việc đổi trạng thái sách hàng loạt
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkStatusChangeRequest {
+
+    @NotEmpty(message = "Book IDs must not be empty")
+    private List<Long> ids;
+
+    @NotNull(message = "Status must not be null")
+    private BookStatus status;
+}
@@ -0,0 +1,37 @@
+package com.example.book.dto.request;
+
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO cho việc cập nhật một phần sách (PATCH)
+ * <p>
+ * Field null nghĩa là giữ nguyên giá trị hiện tại
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PatchBookRequest {
+
+    @Pattern(regexp = "(?s).*\\S.*", message = "ISBN must not be blank")
+    @Size(max = 20, message = "ISBN must not exceed 20 characters")
+    private String isbn;
+
+    @Pattern(regexp = "(?s).*\\S.*", message = "Title must not be blank")
+    @Size(max = 255, message = "Title must not exceed 255 characters")
+    private String title;
+
+    @Pattern(regexp = "(?s).*\\S.*", message = "Author must not be blank")
+    @Size(max = 150, message = "Author must not exceed 150 characters")
+    private String author;
+
+    @DecimalMin(value = "0.0", inclusive = false, message = "Price must be greater than 0")
+    @Digits(integer = 12, fraction = 2, message = "Price format is invalid")
+    private BigDecimal price;
+
+    private Long categoryId;
+}
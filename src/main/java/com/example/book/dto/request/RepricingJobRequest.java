@@ -0,0 +1,36 @@
+package com.example.book.dto.request;
+
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO cho việc tạo job đổi giá hàng loạt theo danh mục
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RepricingJobRequest {
+
+    @NotNull(message = "Category ID must not be null")
+    private Long categoryId;
+
+    @NotNull(message = "Mode must not be null")
+    private RepricingMode mode;
+
+    /**
+     * Phần trăm (PERCENTAGE) hoặc số tiền (ABSOLUTE, tối đa 2 chữ số thập phân), có thể âm
+     */
+    @NotNull(message = "Value must not be null")
+    @Digits(integer = 12, fraction = 4, message = "Value format is invalid")
+    private BigDecimal value;
+
+    /**
+     * true: chỉ đếm số sách sẽ bị ảnh hưởng, không ghi database
+     */
+    private boolean dryRun;
+}
@@ -0,0 +1,17 @@
+package com.example.book.dto.request;
+
+/**
+ * Cách tính giá mới khi đổi giá hàng loạt
+ */
+public enum RepricingMode {
+
+    /**
+     * Tăng/giảm theo phần trăm giá hiện tại (ví dụ: 10 = +10%, -15 = -15%)
+     */
+    PERCENTAGE,
+
+    /**
+     * Cộng/trừ một số tiền cố định (ví dụ: -5000)
+     */
+    ABSOLUTE
+}
@@ -0,0 +1,24 @@
+package com.example.book.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Set;
+
+/**
+ * DTO cho việc thay toàn bộ danh sách permission của một role
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UpdateRolePermissionsRequest {
+
+    /**
+     * Tên permission (ví dụ: BOOK_READ); danh sách rỗng = bỏ mọi quyền của role
+     */
+    @NotNull(message = "Permissions must not be null")
+    private Set<@NotBlank(message = "Permission name must not be blank") String> permissions;
+}
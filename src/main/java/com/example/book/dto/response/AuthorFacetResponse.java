@@ -0,0 +1,19 @@
+package com.example.book.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO cho số sách ACTIVE theo tác giả
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AuthorFacetResponse {
+
+    private String author;
+    private Long count;
+}
@@ -0,0 +1,29 @@
+package com.example.book.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO cho phản hồi tra cứu nhiều sách theo danh sách ISBN
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchGetBooksByIsbnResponse {
+
+    /**
+     * ISBN -> sách đang hoạt động, theo thứ tự ISBN trong request
+     */
+    private Map<String, BookResponse> books;
+
+    /**
+     * Các ISBN không có sách đang hoạt động, theo thứ tự trong request
+     */
+    private List<String> missingIsbns;
+}
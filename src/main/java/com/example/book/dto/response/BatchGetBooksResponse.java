@@ -0,0 +1,28 @@
+package com.example.book.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO cho phản hồi lấy nhiều sách theo danh sách ID
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchGetBooksResponse {
+
+    /**
+     * Các sách tìm thấy, theo thứ tự ID trong request (ID trùng chỉ trả về một lần)
+     */
+    private List<BookResponse> books;
+
+    /**
+     * Các ID không tìm thấy hoặc sách đã bị xóa, theo thứ tự trong request
+     */
+    private List<Long> missingIds;
+}
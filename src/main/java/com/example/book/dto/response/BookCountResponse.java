@@ -0,0 +1,28 @@
+package com.example.book.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO cho phản hồi tổng số sách đang hoạt động (giá trị xấp xỉ)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookCountResponse {
+
+    /**
+     * Tổng số sách ACTIVE, được duy trì tăng/giảm theo thao tác ghi
+     */
+    private long total;
+
+    /**
+     * Thời điểm lần cuối đối soát với database
+     */
+    private LocalDateTime reconciledAt;
+}
@@ -0,0 +1,33 @@
+package com.example.book.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO cho thống kê catalog: số sách ACTIVE theo danh mục, khoảng giá và tác giả
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookFacetsResponse {
+
+    private long total;
+    private List<CategoryFacetResponse> categories;
+    private List<PriceBucketResponse> priceBuckets;
+
+    /**
+     * Các tác giả có nhiều sách nhất (giới hạn bởi book.facets.author-limit)
+     */
+    private List<AuthorFacetResponse> authors;
+
+    /**
+     * Thời điểm tính thống kê (kết quả được cache trong thời gian ngắn)
+     */
+    private LocalDateTime generatedAt;
+}
@@ -0,0 +1,38 @@
+package com.example.book.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO cho phản hồi import sách từ file CSV
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookImportResponse {
+
+    private long totalRows;
+    private long created;
+    private long updated;
+    private long failed;
+
+    /**
+     * Kết quả từng chunk (giới hạn số lượng trả về, xem {@link #truncated})
+     */
+    private List<ImportChunkResult> chunks;
+
+    /**
+     * Lỗi của từng dòng, index là số dòng trong file (giới hạn số lượng trả về)
+     */
+    private List<BulkItemError> errors;
+
+    /**
+     * true nếu danh sách chunks hoặc errors đã bị cắt bớt
+     */
+    private boolean truncated;
+}
@@ -25,8 +25,24 @@ public class BookResponse {
     private BigDecimal price;
     private CategoryResponse category;
     private BookStatus status;
+    private Long version;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+
+    /**
+     * Constructor dạng phẳng dùng cho JPQL constructor expression ({@code SELECT new ...})
+     * <p>
+     * JPQL không hỗ trợ lồng constructor, nên thông tin category được truyền vào từng field
+     * rồi dựng {@link CategoryResponse} tại đây.
+     */
+    public BookResponse(Long id, String isbn, String title, String author, BigDecimal price,
+                        BookStatus status, Long version, LocalDateTime createdAt, LocalDateTime updatedAt,
+                        Long categoryId, String categoryCode, String categoryName,
+                        LocalDateTime categoryCreatedAt, LocalDateTime categoryUpdatedAt) {
+        this(id, isbn, title, author, price,
+                new CategoryResponse(categoryId, categoryCode, categoryName, categoryCreatedAt, categoryUpdatedAt),
+                status, version, createdAt, updatedAt);
+    }
 }
 
 
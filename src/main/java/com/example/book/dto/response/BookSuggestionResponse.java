@@ -0,0 +1,20 @@
+package com.example.book.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO cho một gợi ý sách (autocomplete)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookSuggestionResponse {
+
+    private Long id;
+    private String title;
+    private String author;
+}
@@ -0,0 +1,27 @@
+package com.example.book.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO cho phản hồi tạo sách hàng loạt
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkCreateBookResponse {
+
+    private int total;
+    private int created;
+    private int failed;
+
+    /**
+     * Lỗi của các phần tử không được tạo (validation, trùng ISBN, không tìm thấy danh mục)
+     */
+    private List<BulkItemError> errors;
+}
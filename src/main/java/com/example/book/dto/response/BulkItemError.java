@@ -0,0 +1,25 @@
+package com.example.book.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO mô tả lỗi của một phần tử trong thao tác hàng loạt
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkItemError {
+
+    /**
+     * Vị trí của phần tử: index trong request bulk (bắt đầu từ 0) hoặc số dòng trong file import
+     */
+    private long index;
+    private String isbn;
+    private List<String> messages;
+}
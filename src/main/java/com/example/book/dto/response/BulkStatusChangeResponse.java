@@ -0,0 +1,32 @@
+package com.example.book.dto.response;
+
+import com.example.book.entity.BookStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO cho phản hồi xóa mềm / đổi trạng thái sách hàng loạt
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkStatusChangeResponse {
+
+    /**
+     * Trạng thái mới của các sách bị ảnh hưởng
+     */
+    private BookStatus status;
+
+    /**
+     * Số sách khớp điều kiện và đang ở trạng thái khác trạng thái mới
+     */
+    private int matched;
+
+    /**
+     * Số sách thực sự được cập nhật
+     */
+    private int affected;
+}
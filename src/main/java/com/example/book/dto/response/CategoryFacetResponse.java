@@ -0,0 +1,21 @@
+package com.example.book.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO cho số sách ACTIVE theo danh mục
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CategoryFacetResponse {
+
+    private Long categoryId;
+    private String code;
+    private String name;
+    private Long count;
+}
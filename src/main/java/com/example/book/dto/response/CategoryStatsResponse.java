@@ -0,0 +1,32 @@
+package com.example.book.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * DTO cho thống kê sách ACTIVE của một danh mục
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CategoryStatsResponse {
+
+    private Long categoryId;
+    private long bookCount;
+    private BigDecimal priceSum;
+
+    /**
+     * Giá trung bình (làm tròn 2 chữ số), null nếu danh mục không có sách
+     */
+    private BigDecimal averagePrice;
+
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+    private LocalDateTime updatedAt;
+}
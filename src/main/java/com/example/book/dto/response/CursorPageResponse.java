@@ -0,0 +1,29 @@
+package com.example.book.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO cho một trang kết quả phân trang theo cursor (keyset pagination)
+ * <p>
+ * Không chứa tổng số bản ghi để tránh phải chạy COUNT(*) trên mỗi request.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CursorPageResponse<T> {
+
+    private List<T> content;
+    private int size;
+
+    /**
+     * Cursor để lấy trang tiếp theo, null nếu đã hết dữ liệu
+     */
+    private String nextCursor;
+    private boolean hasNext;
+}
@@ -0,0 +1,29 @@
+package com.example.book.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO cho kết quả xử lý một chunk khi import sách
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImportChunkResult {
+
+    private int chunkNumber;
+    private long firstLine;
+    private long lastLine;
+    private int created;
+    private int updated;
+    private int failed;
+
+    /**
+     * true nếu transaction của chunk đã commit, false nếu bị rollback
+     */
+    private boolean committed;
+    private String message;
+}
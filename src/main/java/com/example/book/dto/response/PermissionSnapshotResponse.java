@@ -0,0 +1,31 @@
+package com.example.book.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO cho phản hồi bộ permission đang được áp dụng khi kiểm tra quyền
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PermissionSnapshotResponse {
+
+    /**
+     * Tăng mỗi lần bộ permission được thay
+     */
+    private long version;
+
+    /**
+     * ENUM (khi khởi động, chưa đọc được database) hoặc DATABASE
+     */
+    private String source;
+    private LocalDateTime loadedAt;
+    private List<RolePermissionsResponse> roles;
+}
@@ -0,0 +1,30 @@
+package com.example.book.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO cho số sách ACTIVE trong một khoảng giá [from, to)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PriceBucketResponse {
+
+    /**
+     * Cận dưới (bao gồm), null nếu không giới hạn
+     */
+    private BigDecimal from;
+
+    /**
+     * Cận trên (không bao gồm), null nếu không giới hạn
+     */
+    private BigDecimal to;
+
+    private long count;
+}
@@ -0,0 +1,52 @@
+package com.example.book.dto.response;
+
+import com.example.book.dto.request.RepricingMode;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * DTO cho phản hồi trạng thái job đổi giá hàng loạt
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RepricingJobResponse {
+
+    private String id;
+    private RepricingJobStatus status;
+    private Long categoryId;
+    private RepricingMode mode;
+    private BigDecimal value;
+    private boolean dryRun;
+
+    /**
+     * Số sách ACTIVE của danh mục khi job bắt đầu chạy
+     */
+    private long totalBooks;
+
+    /**
+     * Số sách đã xử lý (đã qua các lô đã chạy)
+     */
+    private long processedBooks;
+
+    /**
+     * Số sách được đổi giá (dry-run: số sách sẽ được đổi giá)
+     */
+    private long updatedBooks;
+
+    /**
+     * Số sách bỏ qua: giá mới không đổi, không dương hoặc vượt quá giới hạn của cột price
+     */
+    private long skippedBooks;
+
+    private String error;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
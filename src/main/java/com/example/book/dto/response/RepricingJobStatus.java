@@ -0,0 +1,32 @@
+package com.example.book.dto.response;
+
+/**
+ * Trạng thái của job đổi giá hàng loạt
+ */
+public enum RepricingJobStatus {
+
+    /**
+     * Đang chờ trong hàng đợi
+     */
+    PENDING,
+
+    /**
+     * Đang chạy
+     */
+    RUNNING,
+
+    /**
+     * Đã xử lý hết sách của danh mục
+     */
+    COMPLETED,
+
+    /**
+     * Bị hủy, các lô đã commit trước đó vẫn giữ nguyên
+     */
+    CANCELLED,
+
+    /**
+     * Dừng do lỗi, các lô đã commit trước đó vẫn giữ nguyên
+     */
+    FAILED
+}
@@ -0,0 +1,25 @@
+package com.example.book.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO cho phản hồi danh sách permission của một role
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RolePermissionsResponse {
+
+    private String role;
+
+    /**
+     * Tên permission, sắp xếp theo tên
+     */
+    private List<String> permissions;
+}
@@ -0,0 +1,45 @@
+package com.example.book.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO cho thống kê index gợi ý sách
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SuggestIndexStatsResponse {
+
+    /**
+     * Index đã build xong từ database hay chưa
+     */
+    private boolean ready;
+
+    private long books;
+
+    /**
+     * Số từ khác nhau trong index
+     */
+    private long tokens;
+
+    private long nodes;
+
+    /**
+     * Bộ nhớ ước lượng của index (byte)
+     */
+    private long estimatedBytes;
+
+    /**
+     * Bộ nhớ ước lượng quy đổi cho một triệu sách (byte), ngoại suy tuyến tính
+     */
+    private long estimatedBytesPerMillionBooks;
+
+    private Long buildMillis;
+    private LocalDateTime builtAt;
+}
@@ -2,14 +2,39 @@ package com.example.book.entity;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.DynamicUpdate;
 import java.math.BigDecimal;
 
 @Entity
-@Table(name = "books")
+@Table(name = "books", indexes = {
+        // Phục vụ keyset pagination: WHERE status = ? AND id > ? ORDER BY id
+        @Index(name = "idx_books_status_id", columnList = "status, id"),
+        // Phục vụ keyset pagination theo thời gian tạo (mới nhất trước),
+        // đồng thời phục vụ lọc createdAfter / sắp xếp theo createdAt (tiền tố status, created_at)
+        @Index(name = "idx_books_status_created_at_id", columnList = "status, created_at, id"),
+        // Phục vụ lọc theo danh mục
+        @Index(name = "idx_books_status_category_id", columnList = "status, category_id"),
+        // Phục vụ lọc theo khoảng giá / sắp xếp theo giá
+        @Index(name = "idx_books_status_price", columnList = "status, price")
+})
+// Chỉ UPDATE các cột thay đổi (ví dụ: PATCH chỉ đổi giá không ghi lại isbn/title/author)
+@DynamicUpdate
 public class Book extends BaseEntity {
 
+    /**
+     * Số ID được cấp cho mỗi lần truy cập sequence
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    /**
+     * ID sinh từ sequence dạng pooled (MySQL dùng bảng book_seq giả lập sequence)
+     * <p>
+     * Không dùng IDENTITY vì IDENTITY buộc Hibernate INSERT ngay từng bản ghi, làm mất JDBC batching.
+     * Mỗi lần lấy sequence cấp sẵn {@value #ID_ALLOCATION_SIZE} ID.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "book_seq")
+    @SequenceGenerator(name = "book_seq", sequenceName = "book_seq", allocationSize = Book.ID_ALLOCATION_SIZE)
     private Long id;
 
     /**
@@ -60,6 +85,15 @@ public class Book extends BaseEntity {
     @Column(name = "status", nullable = false, length = 20)
     private BookStatus status = BookStatus.ACTIVE;
 
+    /**
+     * Phiên bản bản ghi cho optimistic locking, tăng mỗi lần cập nhật
+     * <p>
+     * Cũng được dùng làm ETag của sách. Các câu UPDATE hàng loạt phải tự tăng cột này.
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     // ===== Constructors =====
     public Book() {
         // Dành cho JPA
@@ -103,6 +137,10 @@ public class Book extends BaseEntity {
         return status;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
     // ===== Setters =====
     public void setIsbn(String isbn) {
         this.isbn = isbn;
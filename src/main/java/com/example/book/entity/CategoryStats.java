@@ -0,0 +1,108 @@
+package com.example.book.entity;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Thống kê sách ACTIVE theo danh mục, được tính sẵn (bảng tổng hợp)
+ * <p>
+ * Được cập nhật tăng dần khi sách được tạo/sửa/xóa và tính lại toàn bộ định kỳ
+ * (xem CategoryStatsServiceImpl). Giá trung bình = priceSum / bookCount.
+ */
+@Entity
+@Table(name = "category_stats")
+public class CategoryStats extends BaseEntity {
+
+    /**
+     * ID danh mục (không dùng quan hệ để cập nhật bằng JPQL mà không cần JOIN)
+     */
+    @Id
+    @Column(name = "category_id")
+    private Long categoryId;
+
+    @Column(name = "book_count", nullable = false)
+    private long bookCount;
+
+    @Column(name = "price_sum", nullable = false, precision = 19, scale = 2)
+    private BigDecimal priceSum = BigDecimal.ZERO;
+
+    /**
+     * Giá thấp nhất, null nếu danh mục không có sách
+     */
+    @Column(name = "min_price", precision = 14, scale = 2)
+    private BigDecimal minPrice;
+
+    /**
+     * Giá cao nhất, null nếu danh mục không có sách
+     */
+    @Column(name = "max_price", precision = 14, scale = 2)
+    private BigDecimal maxPrice;
+
+    // ===== Constructors =====
+    protected CategoryStats() {
+        // Dành cho JPA
+    }
+
+    public CategoryStats(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    /**
+     * Dùng cho JPQL constructor expression khi tính lại từ bảng books
+     */
+    public CategoryStats(Long categoryId, Long bookCount, BigDecimal priceSum, BigDecimal minPrice, BigDecimal maxPrice) {
+        this.categoryId = categoryId;
+        this.bookCount = bookCount;
+        this.priceSum = priceSum != null ? priceSum : BigDecimal.ZERO;
+        this.minPrice = minPrice;
+        this.maxPrice = maxPrice;
+    }
+
+    // ===== Getters =====
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public long getBookCount() {
+        return bookCount;
+    }
+
+    public BigDecimal getPriceSum() {
+        return priceSum;
+    }
+
+    public BigDecimal getMinPrice() {
+        return minPrice;
+    }
+
+    public BigDecimal getMaxPrice() {
+        return maxPrice;
+    }
+
+    // ===== Business =====
+
+    /**
+     * Ghi đè số liệu bằng kết quả tính lại
+     *
+     * @param computed số liệu tính từ bảng books
+     * @return true nếu số liệu thay đổi (đã bị lệch)
+     */
+    public boolean replaceWith(CategoryStats computed) {
+        boolean changed = bookCount != computed.bookCount
+                || priceSum.compareTo(computed.priceSum) != 0
+                || !sameValue(minPrice, computed.minPrice)
+                || !sameValue(maxPrice, computed.maxPrice);
+        if (changed) {
+            bookCount = computed.bookCount;
+            priceSum = computed.priceSum;
+            minPrice = computed.minPrice;
+            maxPrice = computed.maxPrice;
+        }
+        return changed;
+    }
+
+    private static boolean sameValue(BigDecimal a, BigDecimal b) {
+        return a == null ? b == null : b != null && a.compareTo(b) == 0;
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.book.event;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Sự kiện phát ra khi dữ liệu sách thay đổi (tạo, cập nhật, xóa mềm)
+ * <p>
+ * Các thành phần phụ thuộc vào dữ liệu sách (bộ đếm, cache, ...) lắng nghe sự kiện này
+ * sau khi transaction commit, thay vì để BookServiceImpl gọi trực tiếp từng thành phần.
+ */
+@Getter
+public class BookChangedEvent {
+
+    /**
+     * Loại thay đổi, xét theo tập sách ACTIVE
+     */
+    public enum Type {
+        /**
+         * Sách mới được đưa vào tập ACTIVE
+         */
+        CREATED,
+
+        /**
+         * Sách ACTIVE được cập nhật thông tin
+         */
+        UPDATED,
+
+        /**
+         * Sách bị loại khỏi tập ACTIVE (soft delete)
+         */
+        DELETED
+    }
+
+    private final Type type;
+    private final List<Long> bookIds;
+
+    /**
+     * false nếu chắc chắn tiêu đề và tác giả không đổi (ví dụ: chỉ đổi giá),
+     * để index gợi ý bỏ qua sự kiện mà không phải đọc lại sách
+     */
+    private final boolean textChanged;
+
+    public BookChangedEvent(Type type, List<Long> bookIds) {
+        this(type, bookIds, true);
+    }
+
+    public BookChangedEvent(Type type, List<Long> bookIds, boolean textChanged) {
+        this.type = type;
+        this.bookIds = List.copyOf(bookIds);
+        this.textChanged = textChanged;
+    }
+
+    public static BookChangedEvent created(Long bookId) {
+        return new BookChangedEvent(Type.CREATED, List.of(bookId));
+    }
+
+    public static BookChangedEvent updated(Long bookId) {
+        return new BookChangedEvent(Type.UPDATED, List.of(bookId));
+    }
+
+    public static BookChangedEvent updated(Long bookId, boolean textChanged) {
+        return new BookChangedEvent(Type.UPDATED, List.of(bookId), textChanged);
+    }
+
+    public static BookChangedEvent deleted(Long bookId) {
+        return new BookChangedEvent(Type.DELETED, List.of(bookId));
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.book.event;
+
+/**
+ * Sự kiện phát ra khi permission/role được đồng bộ lại hoặc sửa trong database
+ * <p>
+ * PermissionService lắng nghe sự kiện này sau khi transaction commit để nạp lại snapshot permission.
+ */
+public class PermissionsChangedEvent {
+}
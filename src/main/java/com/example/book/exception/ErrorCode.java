@@ -35,6 +35,81 @@ public final class ErrorCode {
      */
     public static final String CATEGORY_NOT_FOUND = "CATEGORY_NOT_FOUND";
 
+    /**
+     * Số phần tử trong một request bulk vượt quá giới hạn cho phép.
+     */
+    public static final String BULK_LIMIT_EXCEEDED = "BULK_LIMIT_EXCEEDED";
+
+    /**
+     * Điều kiện chọn sách cho thao tác hàng loạt không hợp lệ (thiếu hoặc nhiều hơn một điều kiện).
+     */
+    public static final String INVALID_BULK_CRITERIA = "INVALID_BULK_CRITERIA";
+
+    /**
+     * File import không hợp lệ (thiếu cột bắt buộc, không đọc được).
+     */
+    public static final String INVALID_IMPORT_FILE = "INVALID_IMPORT_FILE";
+
+    /**
+     * Cache không tồn tại.
+     */
+    public static final String CACHE_NOT_FOUND = "CACHE_NOT_FOUND";
+
+    /**
+     * Job đổi giá hàng loạt không tồn tại (hoặc đã bị dọn khỏi bộ nhớ).
+     */
+    public static final String REPRICING_JOB_NOT_FOUND = "REPRICING_JOB_NOT_FOUND";
+
+    /**
+     * Cursor phân trang không hợp lệ (sai định dạng hoặc không khớp khóa sắp xếp).
+     */
+    public static final String INVALID_CURSOR = "INVALID_CURSOR";
+
+    /**
+     * Chuỗi tìm kiếm không hợp lệ (rỗng, quá dài hoặc không chứa từ nào đủ dài).
+     */
+    public static final String INVALID_SEARCH_QUERY = "INVALID_SEARCH_QUERY";
+
+    /**
+     * Trường sắp xếp không nằm trong danh sách cho phép.
+     */
+    public static final String INVALID_SORT = "INVALID_SORT";
+
+    /**
+     * Điều kiện lọc không hợp lệ (ví dụ: minPrice lớn hơn maxPrice).
+     */
+    public static final String INVALID_FILTER = "INVALID_FILTER";
+
+    /**
+     * Yêu cầu đổi giá hàng loạt không hợp lệ (ví dụ: phần trăm ngoài khoảng (-100, 1000], số tiền quá 2 chữ số thập phân).
+     */
+    public static final String INVALID_REPRICING_REQUEST = "INVALID_REPRICING_REQUEST";
+
+    /**
+     * Hàng đợi job đổi giá hàng loạt đã đầy.
+     */
+    public static final String REPRICING_QUEUE_FULL = "REPRICING_QUEUE_FULL";
+
+    /**
+     * Role không tồn tại.
+     */
+    public static final String ROLE_NOT_FOUND = "ROLE_NOT_FOUND";
+
+    /**
+     * Danh sách quyền gán cho role không hợp lệ (tên permission không tồn tại, sửa quyền của ADMIN).
+     */
+    public static final String INVALID_ROLE_PERMISSIONS = "INVALID_ROLE_PERMISSIONS";
+
+    /**
+     * Header {@code If-Match} không khớp với phiên bản hiện tại của tài nguyên.
+     */
+    public static final String PRECONDITION_FAILED = "PRECONDITION_FAILED";
+
+    /**
+     * Tài nguyên đã bị transaction khác cập nhật đồng thời (optimistic locking).
+     */
+    public static final String CONCURRENT_MODIFICATION = "CONCURRENT_MODIFICATION";
+
     /**
      * Dữ liệu đầu vào không hợp lệ (vi phạm validation).
      */
@@ -5,6 +5,7 @@ import com.example.book.dto.response.ErrorResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -70,6 +71,52 @@ public class GlobalExceptionHandler {
                         .build());
     }
 
+    /**
+     * Xử lý {@link PreconditionFailedException} và trả về HTTP 412 (Precondition Failed).
+     *
+     * @param ex exception chứa thông tin điều kiện không thỏa
+     * @return {@link ResponseEntity} với body {@link ErrorResponse} và status 412
+     */
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ApiResponse<ErrorResponse>> handlePreconditionFailedException(PreconditionFailedException ex) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                ex.getErrorCode(),
+                ex.getMessage()
+        );
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                .body(ApiResponse.<ErrorResponse>builder()
+                        .success(false)
+                        .message(ex.getMessage())
+                        .data(errorResponse)
+                        .timestamp(java.time.LocalDateTime.now())
+                        .build());
+    }
+
+    /**
+     * Xử lý xung đột optimistic locking (bản ghi bị cập nhật đồng thời) và trả về HTTP 409 (Conflict).
+     * <p>
+     * Client nên đọc lại tài nguyên rồi thử lại.
+     *
+     * @param ex exception do Hibernate/Spring ném ra khi version không khớp
+     * @return {@link ResponseEntity} với body {@link ErrorResponse} và status 409
+     */
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<ApiResponse<ErrorResponse>> handleOptimisticLockingFailureException(ObjectOptimisticLockingFailureException ex) {
+        log.info("Optimistic locking conflict on {} with ID {}", ex.getPersistentClassName(), ex.getIdentifier());
+        String message = "Resource was modified concurrently, please reload and retry";
+        ErrorResponse errorResponse = new ErrorResponse(
+                ErrorCode.CONCURRENT_MODIFICATION,
+                message
+        );
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(ApiResponse.<ErrorResponse>builder()
+                        .success(false)
+                        .message(message)
+                        .data(errorResponse)
+                        .timestamp(java.time.LocalDateTime.now())
+                        .build());
+    }
+
     /**
      * Xử lý lỗi validate từ annotation {@code @Valid} (DTO request).
      * <p>
@@ -0,0 +1,35 @@
+package com.example.book.exception;
+
+/**
+ * Runtime exception được sử dụng khi điều kiện của conditional request không thỏa
+ * (ví dụ: header {@code If-Match} không khớp với phiên bản hiện tại của sách).
+ * <p>
+ * Được map sang HTTP status 412 (Precondition Failed).
+ */
+public class PreconditionFailedException extends RuntimeException {
+
+    /**
+     * Mã lỗi chuẩn hóa, thường là {@link ErrorCode#PRECONDITION_FAILED}.
+     */
+    private final String errorCode;
+
+    /**
+     * Khởi tạo {@link PreconditionFailedException} với {@code errorCode} và message chi tiết.
+     *
+     * @param errorCode mã lỗi chuẩn hóa (xem thêm {@link ErrorCode})
+     * @param message   mô tả chi tiết lỗi
+     */
+    public PreconditionFailedException(String errorCode, String message) {
+        super(message);
+        this.errorCode = errorCode;
+    }
+
+    /**
+     * Trả về mã lỗi chuẩn hóa.
+     *
+     * @return errorCode tương ứng với lỗi
+     */
+    public String getErrorCode() {
+        return errorCode;
+    }
+}
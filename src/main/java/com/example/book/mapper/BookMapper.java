@@ -1,19 +1,30 @@
 package com.example.book.mapper;
 
+import com.example.book.cache.CategoryCache;
+import com.example.book.cache.CategoryView;
 import com.example.book.dto.request.CreateBookRequest;
+import com.example.book.dto.request.PatchBookRequest;
 import com.example.book.dto.request.UpdateBookRequest;
 import com.example.book.dto.response.BookResponse;
 import com.example.book.dto.response.CategoryResponse;
 import com.example.book.entity.Book;
 import com.example.book.entity.Category;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
+import org.hibernate.proxy.HibernateProxy;
 import org.springframework.stereotype.Component;
 
+import java.util.Optional;
+
 /**
  * Mapper để chuyển đổi giữa Book entity và DTOs
  */
 @Component
+@RequiredArgsConstructor
 public class BookMapper {
 
+    private final CategoryCache categoryCache;
+
     /**
      * Chuyển đổi CreateBookRequest thành Book entity
      *
@@ -46,6 +57,54 @@ public class BookMapper {
         book.setCategory(category);
     }
 
+    /**
+     * Áp dụng cập nhật một phần lên Book entity, chỉ các field có giá trị và khác giá trị hiện tại
+     *
+     * @param book entity sách cần cập nhật
+     * @param request các field cần cập nhật
+     * @param category danh mục mới, null nếu giữ nguyên
+     * @return true nếu có field thay đổi
+     */
+    public boolean applyPatch(Book book, PatchBookRequest request, Category category) {
+        boolean changed = false;
+        if (request.getIsbn() != null && !request.getIsbn().equals(book.getIsbn())) {
+            book.setIsbn(request.getIsbn());
+            changed = true;
+        }
+        if (request.getTitle() != null && !request.getTitle().equals(book.getTitle())) {
+            book.setTitle(request.getTitle());
+            changed = true;
+        }
+        if (request.getAuthor() != null && !request.getAuthor().equals(book.getAuthor())) {
+            book.setAuthor(request.getAuthor());
+            changed = true;
+        }
+        if (request.getPrice() != null && request.getPrice().compareTo(book.getPrice()) != 0) {
+            book.setPrice(request.getPrice());
+            changed = true;
+        }
+        if (category != null && !category.getId().equals(book.getCategory().getId())) {
+            book.setCategory(category);
+            changed = true;
+        }
+        return changed;
+    }
+
+    /**
+     * Cập nhật Book entity từ CreateBookRequest (dùng cho upsert khi import)
+     *
+     * @param book entity sách cần cập nhật
+     * @param request thông tin sách
+     * @param category entity danh mục
+     */
+    public void updateEntity(Book book, CreateBookRequest request, Category category) {
+        book.setIsbn(request.getIsbn());
+        book.setTitle(request.getTitle());
+        book.setAuthor(request.getAuthor());
+        book.setPrice(request.getPrice());
+        book.setCategory(category);
+    }
+
     /**
      * Chuyển đổi Book entity thành BookResponse
      *
@@ -61,6 +120,7 @@ public class BookMapper {
                 .price(book.getPrice())
                 .category(toCategoryResponse(book.getCategory()))
                 .status(book.getStatus())
+                .version(book.getVersion())
                 .createdAt(book.getCreatedAt())
                 .updatedAt(book.getUpdatedAt())
                 .build();
@@ -68,6 +128,9 @@ public class BookMapper {
 
     /**
      * Chuyển đổi Category entity thành CategoryResponse
+     * <p>
+     * Nếu category là proxy LAZY chưa được load thì lấy từ {@link CategoryCache}
+     * thay vì để Hibernate query DB
      *
      * @param category entity danh mục
      * @return CategoryResponse
@@ -76,6 +139,13 @@ public class BookMapper {
         if (category == null) {
             return null;
         }
+        if (category instanceof HibernateProxy proxy && !Hibernate.isInitialized(category)) {
+            Long categoryId = (Long) proxy.getHibernateLazyInitializer().getIdentifier();
+            Optional<CategoryView> cached = categoryCache.findById(categoryId);
+            if (cached.isPresent()) {
+                return toCategoryResponse(cached.get());
+            }
+        }
         return CategoryResponse.builder()
                 .id(category.getId())
                 .code(category.getCode())
@@ -84,8 +154,14 @@ public class BookMapper {
                 .updatedAt(category.getUpdatedAt())
                 .build();
     }
-}
-
-
-
 
+    private static CategoryResponse toCategoryResponse(CategoryView category) {
+        return CategoryResponse.builder()
+                .id(category.getId())
+                .code(category.getCode())
+                .name(category.getName())
+                .createdAt(category.getCreatedAt())
+                .updatedAt(category.getUpdatedAt())
+                .build();
+    }
+}
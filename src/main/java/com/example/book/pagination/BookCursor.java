@@ -0,0 +1,98 @@
+package com.example.book.pagination;
+
+import com.example.book.entity.Book;
+import com.example.book.exception.BusinessException;
+import com.example.book.exception.ErrorCode;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Cursor cho keyset pagination, trỏ tới bản ghi cuối cùng của trang trước
+ * <p>
+ * Cursor gồm (sort key, giá trị sort, id) và được encode Base64 URL-safe
+ * để client coi như một chuỗi opaque, không phụ thuộc vào định dạng bên trong.
+ */
+@Getter
+public final class BookCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private final BookSortKey sortKey;
+    private final Long lastId;
+
+    /**
+     * Giá trị createdAt của bản ghi cuối, chỉ có khi sortKey = CREATED_AT
+     */
+    private final LocalDateTime lastCreatedAt;
+
+    private BookCursor(BookSortKey sortKey, Long lastId, LocalDateTime lastCreatedAt) {
+        this.sortKey = sortKey;
+        this.lastId = lastId;
+        this.lastCreatedAt = lastCreatedAt;
+    }
+
+    /**
+     * Tạo cursor trỏ tới sách cuối cùng của trang hiện tại
+     *
+     * @param sortKey khóa sắp xếp đang dùng
+     * @param book    sách cuối cùng của trang
+     * @return cursor tương ứng
+     */
+    public static BookCursor of(BookSortKey sortKey, Book book) {
+        LocalDateTime createdAt = sortKey == BookSortKey.CREATED_AT ? book.getCreatedAt() : null;
+        return new BookCursor(sortKey, book.getId(), createdAt);
+    }
+
+    /**
+     * Encode cursor thành chuỗi opaque trả về cho client
+     *
+     * @return cursor đã encode
+     */
+    public String encode() {
+        String raw = sortKey.name() + SEPARATOR + lastId + SEPARATOR
+                + (lastCreatedAt != null ? lastCreatedAt.toString() : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode cursor do client gửi lên
+     *
+     * @param encoded         cursor đã encode
+     * @param expectedSortKey khóa sắp xếp của request hiện tại
+     * @return cursor đã decode
+     * @throws BusinessException nếu cursor sai định dạng hoặc không khớp khóa sắp xếp
+     */
+    public static BookCursor decode(String encoded, BookSortKey expectedSortKey) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 3) {
+                throw invalidCursor();
+            }
+
+            BookSortKey sortKey = BookSortKey.valueOf(parts[0]);
+            if (sortKey != expectedSortKey) {
+                throw new BusinessException(ErrorCode.INVALID_CURSOR,
+                        "Cursor was issued for sort " + sortKey + " but request uses sort " + expectedSortKey);
+            }
+
+            Long lastId = Long.valueOf(parts[1]);
+            LocalDateTime lastCreatedAt = null;
+            if (sortKey == BookSortKey.CREATED_AT) {
+                lastCreatedAt = LocalDateTime.parse(parts[2]);
+            }
+            return new BookCursor(sortKey, lastId, lastCreatedAt);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            // Base64 sai, enum không hợp lệ, id không phải số, ngày sai định dạng
+            throw invalidCursor();
+        }
+    }
+
+    private static BusinessException invalidCursor() {
+        return new BusinessException(ErrorCode.INVALID_CURSOR, "Cursor is invalid");
+    }
+}
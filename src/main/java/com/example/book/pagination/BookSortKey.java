@@ -0,0 +1,20 @@
+package com.example.book.pagination;
+
+/**
+ * Khóa sắp xếp hỗ trợ cho keyset (seek) pagination của sách
+ * <p>
+ * Mỗi khóa luôn được kết hợp với {@code id} để thứ tự là duy nhất,
+ * nhờ đó cursor xác định chính xác vị trí bắt đầu của trang tiếp theo.
+ */
+public enum BookSortKey {
+
+    /**
+     * Sắp xếp theo ID tăng dần
+     */
+    ID,
+
+    /**
+     * Sắp xếp theo thời gian tạo giảm dần (mới nhất trước), đồng hạng thì theo ID giảm dần
+     */
+    CREATED_AT
+}
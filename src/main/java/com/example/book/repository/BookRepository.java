@@ -1,21 +1,45 @@
 package com.example.book.repository;
 
+import com.example.book.dto.response.AuthorFacetResponse;
+import com.example.book.dto.response.BookResponse;
+import com.example.book.dto.response.CategoryFacetResponse;
 import com.example.book.entity.Book;
 import com.example.book.entity.BookStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
  * Repository cho entity Book
+ * <p>
+ * Các query trả về sách để map sang BookResponse đều load kèm category
+ * ({@code @EntityGraph}), tránh N+1 query khi mapper truy cập {@code book.getCategory()}.
  */
 @Repository
-public interface BookRepository extends JpaRepository<Book, Long> {
+public interface BookRepository extends JpaRepository<Book, Long>, JpaSpecificationExecutor<Book>, BookRepositoryCustom {
+
+    /**
+     * Mệnh đề SELECT dựng trực tiếp BookResponse (constructor expression).
+     * Kết quả không phải entity nên không vào persistence context và không bị dirty-checking.
+     */
+    String BOOK_RESPONSE_SELECT = "SELECT new com.example.book.dto.response.BookResponse(" +
+            "b.id, b.isbn, b.title, b.author, b.price, b.status, b.version, b.createdAt, b.updatedAt, " +
+            "c.id, c.code, c.name, c.createdAt, c.updatedAt) " +
+            "FROM Book b JOIN b.category c ";
 
     /**
      * Kiểm tra xem có sách đang hoạt động nào tồn tại theo ISBN không
@@ -25,6 +49,25 @@ public interface BookRepository extends JpaRepository<Book, Long> {
      */
     boolean existsByIsbnAndStatus(String isbn, BookStatus status);
 
+    /**
+     * Lấy các ISBN đã tồn tại trong danh sách cho trước (mọi trạng thái)
+     * <p>
+     * Cột isbn là unique trên toàn bảng, nên cần kiểm tra cả sách đã xóa mềm
+     *
+     * @param isbns danh sách ISBN cần kiểm tra
+     * @return các ISBN đã tồn tại
+     */
+    @Query("SELECT b.isbn FROM Book b WHERE b.isbn IN :isbns")
+    List<String> findExistingIsbns(@Param("isbns") Collection<String> isbns);
+
+    /**
+     * Tìm tất cả sách (mọi trạng thái) theo danh sách ISBN
+     *
+     * @param isbns danh sách ISBN
+     * @return danh sách sách tìm thấy
+     */
+    List<Book> findAllByIsbnIn(Collection<String> isbns);
+
     /**
      * Tìm sách đang hoạt động theo ISBN
      *
@@ -41,8 +84,156 @@ public interface BookRepository extends JpaRepository<Book, Long> {
      * @param pageable thông tin phân trang
      * @return Page chứa danh sách sách
      */
+    @EntityGraph(attributePaths = "category")
     Page<Book> findByStatus(BookStatus status, Pageable pageable);
 
+    /**
+     * Tìm sách theo Specification có phân trang (lọc động, xem BookSpecifications)
+     *
+     * @param spec điều kiện lọc
+     * @param pageable thông tin phân trang
+     * @return Page chứa danh sách sách
+     */
+    @Override
+    @EntityGraph(attributePaths = "category")
+    Page<Book> findAll(Specification<Book> spec, Pageable pageable);
+
+    /**
+     * Lấy trang BookResponse theo trạng thái bằng DTO projection (read-only)
+     *
+     * @param status trạng thái sách
+     * @param pageable thông tin phân trang
+     * @return Page chứa danh sách BookResponse
+     */
+    @Query(value = BOOK_RESPONSE_SELECT + "WHERE b.status = :status",
+           countQuery = "SELECT COUNT(b) FROM Book b WHERE b.status = :status")
+    Page<BookResponse> findResponsesByStatus(@Param("status") BookStatus status, Pageable pageable);
+
+    /**
+     * Tìm BookResponse theo ID và trạng thái bằng DTO projection (read-only)
+     *
+     * @param id mã ID của sách
+     * @param status trạng thái sách
+     * @return Optional chứa BookResponse nếu tìm thấy
+     */
+    @Query(BOOK_RESPONSE_SELECT + "WHERE b.id = :id AND b.status = :status")
+    Optional<BookResponse> findResponseByIdAndStatus(@Param("id") Long id, @Param("status") BookStatus status);
+
+    /**
+     * Lấy BookResponse theo danh sách ID bằng DTO projection (read-only, không đảm bảo thứ tự)
+     *
+     * @param ids danh sách ID sách
+     * @param status trạng thái sách
+     * @return danh sách BookResponse tìm thấy
+     */
+    @Query(BOOK_RESPONSE_SELECT + "WHERE b.id IN :ids AND b.status = :status")
+    List<BookResponse> findResponsesByIdInAndStatus(@Param("ids") Collection<Long> ids,
+                                                    @Param("status") BookStatus status);
+
+    /**
+     * Lấy BookResponse theo danh sách ISBN bằng DTO projection (dùng unique index của isbn)
+     *
+     * @param isbns danh sách ISBN
+     * @param status trạng thái sách
+     * @return danh sách BookResponse tìm thấy
+     */
+    @Query(BOOK_RESPONSE_SELECT + "WHERE b.isbn IN :isbns AND b.status = :status")
+    List<BookResponse> findResponsesByIsbnInAndStatus(@Param("isbns") Collection<String> isbns,
+                                                      @Param("status") BookStatus status);
+
+    /**
+     * Tìm ID sách ACTIVE theo tiêu đề/tác giả bằng FULLTEXT index, sắp xếp theo độ liên quan
+     * <p>
+     * Dùng index {@code ft_books_title_author} (xem BookSearchIndexInitializer), chỉ chạy trên MySQL.
+     *
+     * @param query biểu thức BOOLEAN MODE (xem BookSearchQuery)
+     * @param pageable thông tin phân trang (bỏ qua sort, luôn sắp theo độ liên quan)
+     * @return Page chứa ID sách theo độ liên quan giảm dần
+     */
+    @Query(value = "SELECT b.id FROM books b " +
+                   "WHERE b.status = 'ACTIVE' AND MATCH(b.title, b.author) AGAINST (:query IN BOOLEAN MODE) " +
+                   "ORDER BY MATCH(b.title, b.author) AGAINST (:query IN BOOLEAN MODE) DESC, b.id",
+           countQuery = "SELECT COUNT(*) FROM books b " +
+                        "WHERE b.status = 'ACTIVE' AND MATCH(b.title, b.author) AGAINST (:query IN BOOLEAN MODE)",
+           nativeQuery = true)
+    Page<Long> searchActiveIds(@Param("query") String query, Pageable pageable);
+
+    /**
+     * Tìm sách theo trạng thái, trả về Slice thay vì Page
+     * <p>
+     * Slice chỉ lấy thừa 1 bản ghi để biết còn trang sau, không chạy thêm COUNT(*)
+     *
+     * @param status trạng thái sách
+     * @param pageable thông tin phân trang
+     * @return Slice chứa danh sách sách
+     */
+    @EntityGraph(attributePaths = "category")
+    Slice<Book> findSliceByStatus(BookStatus status, Pageable pageable);
+
+    /**
+     * Đếm số sách theo trạng thái
+     *
+     * @param status trạng thái sách
+     * @return số sách
+     */
+    long countByStatus(BookStatus status);
+
+    /**
+     * Keyset pagination theo ID: lấy trang đầu tiên
+     * <p>
+     * Không chạy COUNT(*), số bản ghi lấy về được giới hạn bởi {@code pageable}
+     *
+     * @param status trạng thái sách
+     * @param pageable giới hạn số bản ghi (chỉ dùng page 0)
+     * @return danh sách sách theo ID tăng dần
+     */
+    @EntityGraph(attributePaths = "category")
+    List<Book> findByStatusOrderByIdAsc(BookStatus status, Pageable pageable);
+
+    /**
+     * Keyset pagination theo ID: lấy các sách đứng sau {@code lastId}
+     * <p>
+     * Sử dụng index (status, id) nên chi phí không phụ thuộc vào độ sâu của trang
+     *
+     * @param status trạng thái sách
+     * @param lastId ID của sách cuối cùng ở trang trước
+     * @param pageable giới hạn số bản ghi (chỉ dùng page 0)
+     * @return danh sách sách theo ID tăng dần
+     */
+    @EntityGraph(attributePaths = "category")
+    List<Book> findByStatusAndIdGreaterThanOrderByIdAsc(BookStatus status, Long lastId, Pageable pageable);
+
+    /**
+     * Keyset pagination theo thời gian tạo: lấy trang đầu tiên (mới nhất trước)
+     *
+     * @param status trạng thái sách
+     * @param pageable giới hạn số bản ghi (chỉ dùng page 0)
+     * @return danh sách sách theo createdAt giảm dần, đồng hạng theo ID giảm dần
+     */
+    @EntityGraph(attributePaths = "category")
+    @Query("SELECT b FROM Book b WHERE b.status = :status ORDER BY b.createdAt DESC, b.id DESC")
+    List<Book> findFirstByStatusOrderByCreatedAt(@Param("status") BookStatus status, Pageable pageable);
+
+    /**
+     * Keyset pagination theo thời gian tạo: lấy các sách đứng sau (lastCreatedAt, lastId)
+     * <p>
+     * Sử dụng index (status, created_at, id)
+     *
+     * @param status trạng thái sách
+     * @param lastCreatedAt createdAt của sách cuối cùng ở trang trước
+     * @param lastId ID của sách cuối cùng ở trang trước
+     * @param pageable giới hạn số bản ghi (chỉ dùng page 0)
+     * @return danh sách sách theo createdAt giảm dần, đồng hạng theo ID giảm dần
+     */
+    @EntityGraph(attributePaths = "category")
+    @Query("SELECT b FROM Book b WHERE b.status = :status " +
+           "AND (b.createdAt < :lastCreatedAt OR (b.createdAt = :lastCreatedAt AND b.id < :lastId)) " +
+           "ORDER BY b.createdAt DESC, b.id DESC")
+    List<Book> findNextByStatusOrderByCreatedAt(@Param("status") BookStatus status,
+                                                @Param("lastCreatedAt") LocalDateTime lastCreatedAt,
+                                                @Param("lastId") Long lastId,
+                                                Pageable pageable);
+
     /**
      * Tìm sách đang hoạt động theo ID
      *
@@ -50,6 +241,7 @@ public interface BookRepository extends JpaRepository<Book, Long> {
      * @param status trạng thái sách
      * @return Optional chứa sách nếu tìm thấy
      */
+    @EntityGraph(attributePaths = "category")
     Optional<Book> findByIdAndStatus(Long id, BookStatus status);
 
     /**
@@ -60,5 +252,158 @@ public interface BookRepository extends JpaRepository<Book, Long> {
      */
     @Override
     Optional<Book> findById(Long id);
-}
 
+    /**
+     * Lấy ID các sách theo trạng thái trong danh sách ID cho trước
+     *
+     * @param status trạng thái sách
+     * @param ids danh sách ID
+     * @return các ID khớp trạng thái
+     */
+    @Query("SELECT b.id FROM Book b WHERE b.status = :status AND b.id IN :ids")
+    List<Long> findIdsByStatusAndIdIn(@Param("status") BookStatus status, @Param("ids") Collection<Long> ids);
+
+    /**
+     * Lấy ID các sách theo trạng thái trong danh sách ISBN cho trước
+     *
+     * @param status trạng thái sách
+     * @param isbns danh sách ISBN
+     * @return các ID khớp điều kiện
+     */
+    @Query("SELECT b.id FROM Book b WHERE b.status = :status AND b.isbn IN :isbns")
+    List<Long> findIdsByStatusAndIsbnIn(@Param("status") BookStatus status, @Param("isbns") Collection<String> isbns);
+
+    /**
+     * Lấy ID danh mục (không trùng) của các sách trong danh sách ID
+     *
+     * @param ids danh sách ID sách
+     * @return các ID danh mục
+     */
+    @Query("SELECT DISTINCT b.category.id FROM Book b WHERE b.id IN :ids")
+    List<Long> findCategoryIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Đổi trạng thái nhiều sách bằng một câu UPDATE (không load entity)
+     * <p>
+     * Điều kiện {@code status = :currentStatus} đảm bảo chỉ cập nhật sách chưa bị đổi bởi transaction khác.
+     * Bulk UPDATE bỏ qua auditing và optimistic locking nên updatedAt và version được set trực tiếp;
+     * persistence context được clear sau khi chạy.
+     *
+     * @param ids danh sách ID sách
+     * @param currentStatus trạng thái hiện tại
+     * @param newStatus trạng thái mới
+     * @param updatedAt thời điểm cập nhật
+     * @return số sách được cập nhật
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Book b SET b.status = :newStatus, b.updatedAt = :updatedAt, b.version = b.version + 1 " +
+           "WHERE b.id IN :ids AND b.status = :currentStatus")
+    int updateStatusByIdIn(@Param("ids") Collection<Long> ids,
+                           @Param("currentStatus") BookStatus currentStatus,
+                           @Param("newStatus") BookStatus newStatus,
+                           @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Lấy lô ID tiếp theo của một danh mục theo keyset (id > afterId), tăng dần theo ID
+     *
+     * @param categoryId ID danh mục
+     * @param status trạng thái sách
+     * @param afterId ID cuối cùng của lô trước (0 cho lô đầu tiên)
+     * @param pageable giới hạn kích thước lô
+     * @return các ID của lô
+     */
+    @Query("SELECT b.id FROM Book b WHERE b.category.id = :categoryId AND b.status = :status AND b.id > :afterId ORDER BY b.id")
+    List<Long> findIdsByCategoryIdAndStatusAfter(@Param("categoryId") Long categoryId,
+                                                 @Param("status") BookStatus status,
+                                                 @Param("afterId") Long afterId,
+                                                 Pageable pageable);
+
+    /**
+     * Đếm số sách của một danh mục theo trạng thái
+     *
+     * @param categoryId ID danh mục
+     * @param status trạng thái sách
+     * @return số sách
+     */
+    @Query("SELECT COUNT(b) FROM Book b WHERE b.category.id = :categoryId AND b.status = :status")
+    long countByCategoryIdAndStatus(@Param("categoryId") Long categoryId, @Param("status") BookStatus status);
+
+    /**
+     * Đổi giá nhiều sách bằng một câu UPDATE: giá mới = ROUND(price * multiplier / divisor + delta, 2)
+     * <p>
+     * Hệ số nhân được truyền dưới dạng phân số nguyên (ví dụ 1.125 = 1125 / 1000) vì tham số BigDecimal
+     * so sánh/nhân với price bị Hibernate ép về kiểu của cột (numeric(14,2)) và mất chữ số thập phân.
+     * Làm tròn về 2 chữ số thập phân theo scale của cột price. Sách có giá mới không dương,
+     * vượt quá maxPrice hoặc không đổi bị bỏ qua. Bulk UPDATE bỏ qua auditing và optimistic locking
+     * nên updatedAt và version được set trực tiếp.
+     *
+     * @param ids danh sách ID sách
+     * @param status trạng thái sách được phép đổi giá
+     * @param multiplier tử số của hệ số nhân
+     * @param divisor mẫu số của hệ số nhân (lũy thừa của 10)
+     * @param delta số tiền cộng thêm
+     * @param maxPrice giá lớn nhất cột price chứa được
+     * @param updatedAt thời điểm cập nhật
+     * @return số sách được cập nhật
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Book b SET b.price = ROUND(b.price * :multiplier / :divisor + :delta, 2), b.updatedAt = :updatedAt, " +
+           "b.version = b.version + 1 " +
+           "WHERE b.id IN :ids AND b.status = :status " +
+           "AND ROUND(b.price * :multiplier / :divisor + :delta, 2) > 0 " +
+           "AND ROUND(b.price * :multiplier / :divisor + :delta, 2) <= :maxPrice " +
+           "AND ROUND(b.price * :multiplier / :divisor + :delta, 2) <> b.price")
+    int repriceByIdIn(@Param("ids") Collection<Long> ids,
+                      @Param("status") BookStatus status,
+                      @Param("multiplier") Long multiplier,
+                      @Param("divisor") Long divisor,
+                      @Param("delta") BigDecimal delta,
+                      @Param("maxPrice") BigDecimal maxPrice,
+                      @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Đếm số sách sẽ được đổi giá bởi {@link #repriceByIdIn} với cùng tham số (dùng cho dry-run)
+     *
+     * @param ids danh sách ID sách
+     * @param status trạng thái sách được phép đổi giá
+     * @param multiplier tử số của hệ số nhân
+     * @param divisor mẫu số của hệ số nhân (lũy thừa của 10)
+     * @param delta số tiền cộng thêm
+     * @param maxPrice giá lớn nhất cột price chứa được
+     * @return số sách sẽ được cập nhật
+     */
+    @Query("SELECT COUNT(b) FROM Book b " +
+           "WHERE b.id IN :ids AND b.status = :status " +
+           "AND ROUND(b.price * :multiplier / :divisor + :delta, 2) > 0 " +
+           "AND ROUND(b.price * :multiplier / :divisor + :delta, 2) <= :maxPrice " +
+           "AND ROUND(b.price * :multiplier / :divisor + :delta, 2) <> b.price")
+    long countRepriceableByIdIn(@Param("ids") Collection<Long> ids,
+                                @Param("status") BookStatus status,
+                                @Param("multiplier") Long multiplier,
+                                @Param("divisor") Long divisor,
+                                @Param("delta") BigDecimal delta,
+                                @Param("maxPrice") BigDecimal maxPrice);
+
+    /**
+     * Đếm số sách theo danh mục (GROUP BY), danh mục nhiều sách nhất đứng trước
+     *
+     * @param status trạng thái sách
+     * @return số sách của từng danh mục có sách
+     */
+    @Query("SELECT new com.example.book.dto.response.CategoryFacetResponse(c.id, c.code, c.name, COUNT(b)) " +
+           "FROM Book b JOIN b.category c WHERE b.status = :status " +
+           "GROUP BY c.id, c.code, c.name ORDER BY COUNT(b) DESC, c.id")
+    List<CategoryFacetResponse> countByCategory(@Param("status") BookStatus status);
+
+    /**
+     * Đếm số sách theo tác giả (GROUP BY), tác giả nhiều sách nhất đứng trước
+     *
+     * @param status trạng thái sách
+     * @param pageable giới hạn số tác giả trả về
+     * @return số sách của từng tác giả
+     */
+    @Query("SELECT new com.example.book.dto.response.AuthorFacetResponse(b.author, COUNT(b)) " +
+           "FROM Book b WHERE b.status = :status " +
+           "GROUP BY b.author ORDER BY COUNT(b) DESC, b.author")
+    List<AuthorFacetResponse> countByAuthor(@Param("status") BookStatus status, Pageable pageable);
+}
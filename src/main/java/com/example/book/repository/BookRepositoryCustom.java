@@ -0,0 +1,35 @@
+package com.example.book.repository;
+
+import com.example.book.entity.Book;
+import com.example.book.entity.BookStatus;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Các query của BookRepository cần dựng JPQL động hoặc cấu hình query theo property
+ */
+public interface BookRepositoryCustom {
+
+    /**
+     * Đếm số sách theo khoảng giá trong một câu query (SUM(CASE ...) cho mỗi khoảng)
+     *
+     * @param status trạng thái sách
+     * @param boundaries các mốc giá tăng dần, tạo thành boundaries.size() + 1 khoảng
+     * @return số sách của từng khoảng: (-∞, b0), [b0, b1), ..., [bn, +∞)
+     */
+    List<Long> countByPriceBuckets(BookStatus status, List<BigDecimal> boundaries);
+
+    /**
+     * Đọc toàn bộ sách theo trạng thái dạng stream forward-only (kèm category)
+     * <p>
+     * Driver lấy từng lô {@code book.stream.fetch-size} dòng thay vì load toàn bộ result set vào bộ nhớ
+     * (MySQL cần {@code useCursorFetch=true} trong URL kết nối). Entity được đánh dấu read-only (không giữ snapshot).
+     * Phải dùng trong transaction và đóng stream sau khi dùng.
+     *
+     * @param status trạng thái sách
+     * @return Stream các sách theo ID tăng dần
+     */
+    Stream<Book> streamByStatus(BookStatus status);
+}
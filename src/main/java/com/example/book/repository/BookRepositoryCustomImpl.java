@@ -0,0 +1,79 @@
+package com.example.book.repository;
+
+import com.example.book.entity.Book;
+import com.example.book.entity.BookStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Triển khai các query động của BookRepository
+ */
+public class BookRepositoryCustomImpl implements BookRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Số dòng driver lấy mỗi lần khi stream (giá trị dương, dùng được với mọi driver JDBC)
+     */
+    @Value("${book.stream.fetch-size:1000}")
+    private int streamFetchSize;
+
+    @Override
+    public List<Long> countByPriceBuckets(BookStatus status, List<BigDecimal> boundaries) {
+        if (boundaries.isEmpty()) {
+            return List.of(entityManager.createQuery("SELECT COUNT(b) FROM Book b WHERE b.status = :status", Long.class)
+                    .setParameter("status", status)
+                    .getSingleResult());
+        }
+
+        StringBuilder jpql = new StringBuilder("SELECT ");
+        for (int i = 0; i <= boundaries.size(); i++) {
+            if (i > 0) {
+                jpql.append(", ");
+            }
+            jpql.append("SUM(CASE WHEN ");
+            if (i == 0) {
+                jpql.append("b.price < :p0");
+            } else if (i == boundaries.size()) {
+                jpql.append("b.price >= :p").append(i - 1);
+            } else {
+                jpql.append("b.price >= :p").append(i - 1).append(" AND b.price < :p").append(i);
+            }
+            jpql.append(" THEN 1 ELSE 0 END)");
+        }
+        jpql.append(" FROM Book b WHERE b.status = :status");
+
+        TypedQuery<Object[]> query = entityManager.createQuery(jpql.toString(), Object[].class)
+                .setParameter("status", status);
+        for (int i = 0; i < boundaries.size(); i++) {
+            query.setParameter("p" + i, boundaries.get(i));
+        }
+
+        Object[] row = query.getSingleResult();
+        List<Long> counts = new ArrayList<>(row.length);
+        for (Object value : row) {
+            // SUM trên tập rỗng trả về NULL
+            counts.add(value == null ? 0L : ((Number) value).longValue());
+        }
+        return counts;
+    }
+
+    @Override
+    public Stream<Book> streamByStatus(BookStatus status) {
+        return entityManager.createQuery(
+                        "SELECT b FROM Book b JOIN FETCH b.category WHERE b.status = :status ORDER BY b.id", Book.class)
+                .setParameter("status", status)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, streamFetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+}
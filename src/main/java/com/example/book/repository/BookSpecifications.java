@@ -0,0 +1,81 @@
+package com.example.book.repository;
+
+import com.example.book.dto.request.BookFilterRequest;
+import com.example.book.entity.Book;
+import com.example.book.entity.BookStatus;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Các Specification dùng để lọc sách động
+ * <p>
+ * Điều kiện status luôn đứng đầu để khớp với các composite index (status, ...) của bảng books.
+ */
+public final class BookSpecifications {
+
+    private BookSpecifications() {
+    }
+
+    /**
+     * Tạo Specification từ điều kiện lọc, luôn kèm status
+     *
+     * @param status trạng thái sách
+     * @param filter điều kiện lọc
+     * @return Specification kết hợp các điều kiện có giá trị
+     */
+    public static Specification<Book> matching(BookStatus status, BookFilterRequest filter) {
+        Specification<Book> spec = hasStatus(status);
+        if (filter.getCategoryId() != null) {
+            spec = spec.and(inCategory(filter.getCategoryId()));
+        }
+        if (filter.getAuthor() != null && !filter.getAuthor().isBlank()) {
+            spec = spec.and(authorStartsWith(filter.getAuthor().trim()));
+        }
+        if (filter.getMinPrice() != null) {
+            spec = spec.and(priceAtLeast(filter.getMinPrice()));
+        }
+        if (filter.getMaxPrice() != null) {
+            spec = spec.and(priceAtMost(filter.getMaxPrice()));
+        }
+        if (filter.getCreatedAfter() != null) {
+            spec = spec.and(createdAfter(filter.getCreatedAfter()));
+        }
+        return spec;
+    }
+
+    public static Specification<Book> hasStatus(BookStatus status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    /**
+     * So sánh trực tiếp cột category_id, không JOIN bảng categories
+     */
+    public static Specification<Book> inCategory(Long categoryId) {
+        return (root, query, cb) -> cb.equal(root.get("category").get("id"), categoryId);
+    }
+
+    /**
+     * LIKE 'prefix%' (không bọc hàm LOWER để vẫn dùng được index; collation MySQL mặc định không phân biệt hoa thường)
+     */
+    public static Specification<Book> authorStartsWith(String prefix) {
+        return (root, query, cb) -> cb.like(root.get("author"), escapeLike(prefix) + "%", '\\');
+    }
+
+    public static Specification<Book> priceAtLeast(BigDecimal minPrice) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("price"), minPrice);
+    }
+
+    public static Specification<Book> priceAtMost(BigDecimal maxPrice) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("price"), maxPrice);
+    }
+
+    public static Specification<Book> createdAfter(LocalDateTime createdAfter) {
+        return (root, query, cb) -> cb.greaterThan(root.get("createdAt"), createdAfter);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.book.repository;
+
+import com.example.book.entity.BookStatus;
+import com.example.book.entity.CategoryStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository cho entity CategoryStats
+ * <p>
+ * Các câu UPDATE cộng/trừ trực tiếp trong database (delta) nên an toàn khi nhiều transaction
+ * cùng cập nhật một danh mục. flushAutomatically đảm bảo thay đổi của sách trong persistence context
+ * đã được ghi xuống trước khi các subquery đọc bảng books.
+ */
+@Repository
+public interface CategoryStatsRepository extends JpaRepository<CategoryStats, Long> {
+
+    /**
+     * Cộng một sách vào thống kê danh mục
+     *
+     * @return số dòng được cập nhật (0 nếu danh mục chưa có dòng thống kê)
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE CategoryStats s SET s.bookCount = s.bookCount + 1, s.priceSum = s.priceSum + :price, " +
+           "s.minPrice = CASE WHEN s.minPrice IS NULL OR :price < s.minPrice THEN :price ELSE s.minPrice END, " +
+           "s.maxPrice = CASE WHEN s.maxPrice IS NULL OR :price > s.maxPrice THEN :price ELSE s.maxPrice END, " +
+           "s.updatedAt = :updatedAt " +
+           "WHERE s.categoryId = :categoryId")
+    int addBook(@Param("categoryId") Long categoryId,
+                @Param("price") BigDecimal price,
+                @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Tạo dòng thống kê rỗng cho danh mục nếu chưa có (idempotent)
+     * <p>
+     * Nhiều transaction có thể cùng tạo dòng cho một danh mục (sách đầu tiên được tạo đồng thời);
+     * INSERT thường sẽ lỗi trùng khóa chính. Khi dòng đã tồn tại, câu lệnh chỉ cập nhật updated_at, nhờ đó
+     * transaction hiện tại giữ khóa dòng và đọc được dòng (kể cả vừa được transaction khác commit).
+     *
+     * @return số dòng bị ảnh hưởng
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO category_stats (category_id, book_count, price_sum, created_at, updated_at) " +
+                   "VALUES (:categoryId, 0, 0, :updatedAt, :updatedAt) " +
+                   "ON DUPLICATE KEY UPDATE updated_at = :updatedAt",
+           nativeQuery = true)
+    int insertIfAbsent(@Param("categoryId") Long categoryId,
+                       @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Trừ một sách khỏi số lượng và tổng giá của danh mục
+     *
+     * @return số dòng được cập nhật (0 nếu danh mục chưa có dòng thống kê)
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE CategoryStats s SET s.bookCount = s.bookCount - 1, s.priceSum = s.priceSum - :price, " +
+           "s.updatedAt = :updatedAt " +
+           "WHERE s.categoryId = :categoryId")
+    int removeBook(@Param("categoryId") Long categoryId,
+                   @Param("price") BigDecimal price,
+                   @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Tính lại giá thấp nhất/cao nhất từ bảng books, chỉ khi giá bị loại bỏ đang là giá trị biên
+     *
+     * @return số dòng được cập nhật
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE CategoryStats s SET " +
+           "s.minPrice = (SELECT MIN(b.price) FROM Book b WHERE b.status = :status AND b.category.id = :categoryId), " +
+           "s.maxPrice = (SELECT MAX(b.price) FROM Book b WHERE b.status = :status AND b.category.id = :categoryId) " +
+           "WHERE s.categoryId = :categoryId AND (s.minPrice = :removedPrice OR s.maxPrice = :removedPrice)")
+    int recomputeExtremes(@Param("categoryId") Long categoryId,
+                          @Param("removedPrice") BigDecimal removedPrice,
+                          @Param("status") BookStatus status);
+
+    /**
+     * Tính thống kê của mọi danh mục có sách từ bảng books (GROUP BY)
+     *
+     * @param status trạng thái sách
+     * @return thống kê đã tính (chưa được lưu)
+     */
+    @Query("SELECT new com.example.book.entity.CategoryStats(b.category.id, COUNT(b), SUM(b.price), MIN(b.price), MAX(b.price)) " +
+           "FROM Book b WHERE b.status = :status GROUP BY b.category.id")
+    List<CategoryStats> aggregateByStatus(@Param("status") BookStatus status);
+
+    /**
+     * Tính thống kê của các danh mục cho trước từ bảng books (GROUP BY)
+     *
+     * @param status trạng thái sách
+     * @param categoryIds danh sách ID danh mục
+     * @return thống kê đã tính (chưa được lưu), danh mục không có sách không có trong kết quả
+     */
+    @Query("SELECT new com.example.book.entity.CategoryStats(b.category.id, COUNT(b), SUM(b.price), MIN(b.price), MAX(b.price)) " +
+           "FROM Book b WHERE b.status = :status AND b.category.id IN :categoryIds GROUP BY b.category.id")
+    List<CategoryStats> aggregateByStatusAndCategoryIdIn(@Param("status") BookStatus status,
+                                                         @Param("categoryIds") Collection<Long> categoryIds);
+}
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,5 +25,13 @@ public interface PermissionRepository extends JpaRepository<Permission, Long> {
     Optional<Permission> findByName(String name);
 
     boolean existsByName(String name);
+
+    /**
+     * Tìm các permission theo danh sách tên
+     *
+     * @param names danh sách tên permission
+     * @return các permission tìm thấy
+     */
+    List<Permission> findByNameIn(Collection<String> names);
 }
 
@@ -0,0 +1,73 @@
+package com.example.book.search;
+
+import com.example.book.exception.BusinessException;
+import com.example.book.exception.ErrorCode;
+
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Chuyển chuỗi tìm kiếm của người dùng thành biểu thức MySQL FULLTEXT BOOLEAN MODE
+ * <p>
+ * Mỗi từ trở thành {@code +từ*} (bắt buộc xuất hiện, khớp tiền tố). Các ký tự toán tử của
+ * BOOLEAN MODE (+ - &gt; &lt; ( ) ~ * " @) bị loại bỏ để người dùng không thể chèn cú pháp.
+ * Từ ngắn hơn {@link #MIN_TERM_LENGTH} ký tự bị bỏ qua vì tiền tố đó khớp gần như mọi sách.
+ */
+public final class BookSearchQuery {
+
+    /**
+     * Độ dài tối đa của chuỗi tìm kiếm
+     */
+    public static final int MAX_QUERY_LENGTH = 200;
+
+    /**
+     * Số từ tối đa được đưa vào biểu thức tìm kiếm
+     */
+    public static final int MAX_TERMS = 10;
+
+    /**
+     * Độ dài tối thiểu của một từ tìm kiếm
+     */
+    public static final int MIN_TERM_LENGTH = 2;
+
+    private BookSearchQuery() {
+    }
+
+    /**
+     * Tạo biểu thức BOOLEAN MODE từ chuỗi tìm kiếm
+     *
+     * @param query chuỗi tìm kiếm của người dùng
+     * @return biểu thức dạng {@code +term1* +term2*}
+     * @throws BusinessException nếu chuỗi rỗng, quá dài hoặc không chứa từ nào đủ dài
+     */
+    public static String toBooleanMode(String query) {
+        if (query == null || query.isBlank()) {
+            throw new BusinessException(ErrorCode.INVALID_SEARCH_QUERY, "Search query must not be blank");
+        }
+        if (query.length() > MAX_QUERY_LENGTH) {
+            throw new BusinessException(ErrorCode.INVALID_SEARCH_QUERY,
+                    "Search query must not exceed " + MAX_QUERY_LENGTH + " characters");
+        }
+
+        // Tách theo mọi ký tự không phải chữ/số (Unicode), bỏ từ trùng
+        Set<String> terms = new LinkedHashSet<>();
+        for (String term : query.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (term.length() >= MIN_TERM_LENGTH && terms.size() < MAX_TERMS) {
+                terms.add(term);
+            }
+        }
+        if (terms.isEmpty()) {
+            throw new BusinessException(ErrorCode.INVALID_SEARCH_QUERY, "Search query must contain a word of at least " + MIN_TERM_LENGTH + " letters or digits");
+        }
+
+        StringBuilder expression = new StringBuilder();
+        for (String term : terms) {
+            if (!expression.isEmpty()) {
+                expression.append(' ');
+            }
+            expression.append('+').append(term).append('*');
+        }
+        return expression.toString();
+    }
+}
@@ -0,0 +1,430 @@
+package com.example.book.search;
+
+import lombok.Getter;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Index tiền tố in-memory (trie) cho gợi ý sách theo từ trong tiêu đề/tác giả
+ * <p>
+ * Mỗi từ (đã chuẩn hóa: chữ thường, bỏ dấu) là một đường đi trong trie, node cuối từ giữ
+ * danh sách ID sách có từ đó (mảng long đã sắp xếp). Node lưu con bằng mảng ký tự + mảng node
+ * (tìm nhị phân) thay vì Map để tiết kiệm bộ nhớ.
+ * <p>
+ * Đọc song song, ghi độc quyền ({@link ReadWriteLock}).
+ */
+public final class PrefixIndex {
+
+    /**
+     * Số ID tối đa được duyệt cho một truy vấn, giới hạn thời gian với tiền tố quá phổ biến
+     */
+    static final int MAX_SCAN = 5000;
+
+    private static final char[] NO_KEYS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final long[] NO_IDS = new long[0];
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final Node root = new Node();
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Thêm hoặc thay thế sách trong index
+     * <p>
+     * Sách đã có trong index với cùng tiêu đề và tác giả được giữ nguyên, không ghi lại trie.
+     *
+     * @param id mã ID của sách
+     * @param title tiêu đề sách
+     * @param author tên tác giả
+     * @return true nếu index thay đổi
+     */
+    public boolean put(long id, String title, String author) {
+        lock.readLock().lock();
+        try {
+            Entry current = entries.get(id);
+            if (current != null && Objects.equals(current.title, title) && Objects.equals(current.author, author)) {
+                return false;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Entry entry = new Entry(id, title, author, " " + normalize(title + " " + author) + " ");
+        lock.writeLock().lock();
+        try {
+            Entry previous = entries.put(id, entry);
+            if (previous != null) {
+                for (String token : previous.tokens()) {
+                    removeToken(token, id);
+                }
+            }
+            for (String token : entry.tokens()) {
+                addToken(token, id);
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Xóa sách khỏi index
+     *
+     * @param id mã ID của sách
+     * @return true nếu sách có trong index
+     */
+    public boolean remove(long id) {
+        lock.writeLock().lock();
+        try {
+            Entry previous = entries.remove(id);
+            if (previous == null) {
+                return false;
+            }
+            for (String token : previous.tokens()) {
+                removeToken(token, id);
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Tìm sách có mọi từ trong truy vấn là tiền tố của một từ trong tiêu đề/tác giả
+     * <p>
+     * Duyệt cây con của từ dài nhất (thường chọn lọc nhất), lọc theo các từ còn lại.
+     * Kết quả theo thứ tự từ điển của từ khớp, rồi theo ID.
+     *
+     * @param query chuỗi người dùng đang gõ
+     * @param limit số kết quả tối đa
+     * @return danh sách sách khớp
+     */
+    public List<Entry> search(String query, int limit) {
+        String[] terms = tokenize(normalize(query));
+        if (terms.length == 0 || limit <= 0) {
+            return List.of();
+        }
+        String base = terms[0];
+        for (String term : terms) {
+            if (term.length() > base.length()) {
+                base = term;
+            }
+        }
+
+        lock.readLock().lock();
+        try {
+            Node start = find(base);
+            if (start == null) {
+                return List.of();
+            }
+
+            List<Entry> results = new ArrayList<>(limit);
+            Set<Long> seen = new HashSet<>();
+            Deque<Node> stack = new ArrayDeque<>();
+            stack.push(start);
+            while (!stack.isEmpty()) {
+                Node node = stack.pop();
+                for (int i = 0; i < node.idCount; i++) {
+                    long id = node.ids[i];
+                    if (!seen.add(id)) {
+                        continue;
+                    }
+                    Entry entry = entries.get(id);
+                    if (entry.matchesAll(terms)) {
+                        results.add(entry);
+                        if (results.size() >= limit) {
+                            return results;
+                        }
+                    }
+                    if (seen.size() >= MAX_SCAN) {
+                        return results;
+                    }
+                }
+                // Đẩy ngược để con có ký tự nhỏ nhất được duyệt trước
+                for (int i = node.children.length - 1; i >= 0; i--) {
+                    stack.push(node.children[i]);
+                }
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Số sách trong index
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Thống kê cấu trúc và ước lượng bộ nhớ của index
+     * <p>
+     * Ước lượng theo JVM 64-bit có compressed oops (header 12 byte, tham chiếu 4 byte, căn 8 byte),
+     * chuỗi Latin-1 một byte/ký tự. Chỉ mang tính tham khảo.
+     *
+     * @return thống kê index
+     */
+    public Stats stats() {
+        lock.readLock().lock();
+        try {
+            long nodes = 0;
+            long tokens = 0;
+            long idSlots = 0;
+            long bytes = 0;
+            Deque<Node> stack = new ArrayDeque<>();
+            stack.push(root);
+            while (!stack.isEmpty()) {
+                Node node = stack.pop();
+                nodes++;
+                if (node.idCount > 0) {
+                    tokens++;
+                }
+                idSlots += node.ids.length;
+                // Node: header + 3 tham chiếu + 1 int
+                bytes += align(12 + 3 * 4 + 4);
+                bytes += node.keys.length == 0 ? 0 : align(16 + 2L * node.keys.length);
+                bytes += node.children.length == 0 ? 0 : align(16 + 4L * node.children.length);
+                bytes += node.ids.length == 0 ? 0 : align(16 + 8L * node.ids.length);
+                for (Node child : node.children) {
+                    stack.push(child);
+                }
+            }
+            for (Entry entry : entries.values()) {
+                // HashMap.Node + Long key + Entry + 3 String (header + byte[])
+                bytes += 32 + 16 + align(12 + 8 + 3 * 4);
+                bytes += stringBytes(entry.title) + stringBytes(entry.author) + stringBytes(entry.normalized);
+            }
+            // Bảng băm của HashMap (load factor 0.75, kích thước lũy thừa của 2)
+            long buckets = Long.highestOneBit(Math.max(1, entries.size() * 4L / 3) * 2 - 1);
+            bytes += align(16 + 4 * buckets);
+            return new Stats(entries.size(), tokens, nodes, idSlots, bytes);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Chuẩn hóa chuỗi để so khớp: chữ thường, bỏ dấu tiếng Việt (kể cả đ), gộp ký tự phân tách
+     *
+     * @param text chuỗi gốc
+     * @return chuỗi các từ cách nhau bởi một dấu cách
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text.toLowerCase(Locale.ROOT), Normalizer.Form.NFD);
+        String stripped = COMBINING_MARKS.matcher(decomposed).replaceAll("").replace('đ', 'd');
+        return NON_WORD.matcher(stripped).replaceAll(" ").trim();
+    }
+
+    private static String[] tokenize(String normalized) {
+        return normalized.isEmpty() ? new String[0] : normalized.split(" ");
+    }
+
+    private Node find(String token) {
+        Node node = root;
+        for (int i = 0; i < token.length() && node != null; i++) {
+            node = node.child(token.charAt(i));
+        }
+        return node;
+    }
+
+    private void addToken(String token, long id) {
+        Node node = root;
+        for (int i = 0; i < token.length(); i++) {
+            node = node.childOrCreate(token.charAt(i));
+        }
+        node.addId(id);
+    }
+
+    private void removeToken(String token, long id) {
+        Node[] path = new Node[token.length() + 1];
+        path[0] = root;
+        for (int i = 0; i < token.length(); i++) {
+            path[i + 1] = path[i].child(token.charAt(i));
+            if (path[i + 1] == null) {
+                return;
+            }
+        }
+        if (!path[token.length()].removeId(id)) {
+            return;
+        }
+        // Cắt các node không còn ID và không còn con
+        for (int i = token.length(); i > 0 && path[i].isEmpty(); i--) {
+            path[i - 1].removeChild(token.charAt(i - 1));
+        }
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    private static long stringBytes(String value) {
+        return value == null ? 0 : align(12 + 4 + 4 + 1) + align(16 + value.length());
+    }
+
+    /**
+     * Node của trie
+     */
+    private static final class Node {
+        private char[] keys = NO_KEYS;
+        private Node[] children = NO_CHILDREN;
+        private long[] ids = NO_IDS;
+        private int idCount;
+
+        private Node child(char key) {
+            int index = Arrays.binarySearch(keys, key);
+            return index >= 0 ? children[index] : null;
+        }
+
+        private Node childOrCreate(char key) {
+            int index = Arrays.binarySearch(keys, key);
+            if (index >= 0) {
+                return children[index];
+            }
+            // Mảng con giữ đúng kích thước: phần lớn node chỉ có 1-2 con
+            int position = -index - 1;
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, position);
+            System.arraycopy(children, 0, newChildren, 0, position);
+            System.arraycopy(keys, position, newKeys, position + 1, keys.length - position);
+            System.arraycopy(children, position, newChildren, position + 1, children.length - position);
+            Node child = new Node();
+            newKeys[position] = key;
+            newChildren[position] = child;
+            keys = newKeys;
+            children = newChildren;
+            return child;
+        }
+
+        private void removeChild(char key) {
+            int index = Arrays.binarySearch(keys, key);
+            if (index < 0) {
+                return;
+            }
+            if (keys.length == 1) {
+                keys = NO_KEYS;
+                children = NO_CHILDREN;
+                return;
+            }
+            char[] newKeys = new char[keys.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(keys, index + 1, newKeys, index, keys.length - index - 1);
+            System.arraycopy(children, index + 1, newChildren, index, children.length - index - 1);
+            keys = newKeys;
+            children = newChildren;
+        }
+
+        private void addId(long id) {
+            int position;
+            if (idCount == 0 || ids[idCount - 1] < id) {
+                // Trường hợp phổ biến khi build: ID tăng dần
+                position = idCount;
+            } else {
+                int index = Arrays.binarySearch(ids, 0, idCount, id);
+                if (index >= 0) {
+                    return;
+                }
+                position = -index - 1;
+            }
+            if (idCount == ids.length) {
+                ids = Arrays.copyOf(ids, Math.max(2, idCount + (idCount >> 1)));
+            }
+            System.arraycopy(ids, position, ids, position + 1, idCount - position);
+            ids[position] = id;
+            idCount++;
+        }
+
+        private boolean removeId(long id) {
+            int index = Arrays.binarySearch(ids, 0, idCount, id);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(ids, index + 1, ids, index, idCount - index - 1);
+            idCount--;
+            if (idCount == 0) {
+                ids = NO_IDS;
+            } else if (idCount < ids.length / 4) {
+                ids = Arrays.copyOf(ids, idCount * 2);
+            }
+            return true;
+        }
+
+        private boolean isEmpty() {
+            return idCount == 0 && children.length == 0;
+        }
+    }
+
+    /**
+     * Sách trong index
+     */
+    @Getter
+    public static final class Entry {
+        private final long id;
+        private final String title;
+        private final String author;
+
+        /**
+         * Các từ đã chuẩn hóa, có dấu cách ở hai đầu để so khớp tiền tố bằng contains(" " + term)
+         */
+        private final String normalized;
+
+        private Entry(long id, String title, String author, String normalized) {
+            this.id = id;
+            this.title = title;
+            this.author = author;
+            this.normalized = normalized;
+        }
+
+        private Set<String> tokens() {
+            return new LinkedHashSet<>(Arrays.asList(tokenize(normalized.trim())));
+        }
+
+        private boolean matchesAll(String[] terms) {
+            for (String term : terms) {
+                if (!normalized.contains(" " + term)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Thống kê index
+     */
+    @Getter
+    public static final class Stats {
+        private final long books;
+        private final long tokens;
+        private final long nodes;
+        private final long idSlots;
+        private final long estimatedBytes;
+
+        private Stats(long books, long tokens, long nodes, long idSlots, long estimatedBytes) {
+            this.books = books;
+            this.tokens = tokens;
+            this.nodes = nodes;
+            this.idSlots = idSlots;
+            this.estimatedBytes = estimatedBytes;
+        }
+    }
+}
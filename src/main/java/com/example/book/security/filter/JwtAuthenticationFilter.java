@@ -1,6 +1,8 @@
 package com.example.book.security.filter;
 
+import com.example.book.security.jwt.JwtPrincipal;
 import com.example.book.security.jwt.JwtUtil;
+import com.example.book.security.jwt.VerifiedTokenCache;
 import com.example.book.security.service.PermissionService;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
@@ -21,6 +23,7 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.Optional;
 
 /**
  * JWT Filter để xác thực và kiểm tra permission
@@ -28,14 +31,14 @@ import java.util.Collections;
  * Luồng xử lý:
  * <ol>
  *     <li>Extract JWT token từ request header</li>
- *     <li>Validate token</li>
- *     <li>Decode token để lấy userId và role</li>
- *     <li>Load permissions từ Enum (RoleEnum) - không hard-code</li>
+ *     <li>Verify token và lấy userId, role trong một lần parse ({@link JwtUtil#verifyToken}),
+ *     kết quả được cache theo token ({@link VerifiedTokenCache})</li>
+ *     <li>Lấy permissions của role từ snapshot trong database ({@link PermissionService})</li>
  *     <li>Match URL + METHOD với permissions</li>
  *     <li>OK → set authentication, FAIL → 403</li>
  * </ol>
  * <p>
- * Tất cả role và permission được định nghĩa trong Enum,
+ * Role và permission được seed từ Enum vào database và có thể sửa qua API admin,
  * không hard-code trong filter này
  */
 @Slf4j
@@ -46,7 +49,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private static final String TOKEN_PREFIX = "Bearer ";
     private static final String HEADER_NAME = "Authorization";
 
-    private final JwtUtil jwtUtil;
+    private final VerifiedTokenCache verifiedTokenCache;
     private final PermissionService permissionService;
 
     @Override
@@ -57,16 +60,20 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String token = extractTokenFromRequest(request);
 
-            if (StringUtils.hasText(token) && jwtUtil.validateToken(token)) {
-                // Lấy userId và role từ token
-                Long userId = jwtUtil.getUserIdFromToken(token);
-                String role = jwtUtil.getRoleFromToken(token);
+            // Token đã verify được lấy từ cache; nếu chưa có thì parse + verify đúng một lần
+            Optional<JwtPrincipal> principal = StringUtils.hasText(token)
+                    ? verifiedTokenCache.getOrVerify(token)
+                    : Optional.empty();
+
+            if (principal.isPresent()) {
+                Long userId = principal.get().getUserId();
+                String role = principal.get().getRole();
 
                 // Kiểm tra permission
                 String requestUrl = request.getRequestURI();
                 String requestMethod = request.getMethod();
 
-                // Load permissions từ Enum và check
+                // Check theo snapshot permission nạp từ database
                 boolean hasPermission = permissionService.hasPermission(role, requestUrl, requestMethod);
 
                 if (!hasPermission) {
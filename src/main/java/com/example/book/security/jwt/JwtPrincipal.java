@@ -0,0 +1,25 @@
+package com.example.book.security.jwt;
+
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * Thông tin đã xác thực từ một JWT token (immutable)
+ * <p>
+ * Được tạo một lần từ kết quả parse + verify chữ ký, các thành phần phía sau
+ * (filter, kiểm tra permission) dùng lại mà không parse token thêm lần nào.
+ */
+@Getter
+public final class JwtPrincipal {
+
+    private final Long userId;
+    private final String role;
+    private final Instant expiresAt;
+
+    public JwtPrincipal(Long userId, String role, Instant expiresAt) {
+        this.userId = userId;
+        this.role = role;
+        this.expiresAt = expiresAt;
+    }
+}
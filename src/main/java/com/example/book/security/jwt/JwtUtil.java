@@ -3,6 +3,7 @@ package com.example.book.security.jwt;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import lombok.extern.slf4j.Slf4j;
@@ -14,6 +15,7 @@ import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 import java.util.function.Function;
 
 /**
@@ -37,19 +39,25 @@ import java.util.function.Function;
 @Slf4j
 public class JwtUtil {
 
-    @Value("${jwt.secret:your-256-bit-secret-key-for-hmac-sha256-algorithm-minimum-32-characters}")
-    private String secret;
+    private final Long expiration;
 
-    @Value("${jwt.expiration:86400000}") // 24 hours default
-    private Long expiration;
+    /**
+     * Khóa ký HMAC, sinh một lần khi khởi động (secret quá ngắn sẽ lỗi ngay khi khởi động)
+     */
+    private final SecretKey signingKey;
 
     /**
-     * Sinh SecretKey từ secret string
-     *
-     * @return SecretKey
+     * Parser đã cấu hình khóa verify; JwtParser của jjwt immutable và thread-safe nên dùng chung cho mọi request
      */
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    private final JwtParser jwtParser;
+
+    public JwtUtil(@Value("${jwt.secret:your-256-bit-secret-key-for-hmac-sha256-algorithm-minimum-32-characters}") String secret,
+                   @Value("${jwt.expiration:86400000}") Long expiration) { // 24 hours default
+        this.expiration = expiration;
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.jwtParser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
     }
 
     /**
@@ -83,10 +91,47 @@ public class JwtUtil {
                 .subject(subject)
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
+    /**
+     * Parse và verify token một lần, trả về thông tin đã xác thực
+     * <p>
+     * Một lần parse kiểm tra đồng thời format, chữ ký và hạn dùng (jjwt ném {@link ExpiredJwtException}
+     * nếu token hết hạn). Token không hợp lệ chỉ được log, không ném exception ra ngoài.
+     *
+     * @param token JWT token
+     * @return JwtPrincipal nếu token hợp lệ, rỗng nếu không hợp lệ
+     */
+    public Optional<JwtPrincipal> verifyToken(String token) {
+        try {
+            Claims claims = getAllClaimsFromToken(token);
+            Long userId = toUserId(claims.get("userId"));
+            Object role = claims.get("role");
+            if (userId == null || !(role instanceof String)) {
+                log.warn("JWT validation failed: missing userId or role claim");
+                return Optional.empty();
+            }
+            Date expiresAt = claims.getExpiration();
+            log.debug("Token validated successfully");
+            return Optional.of(new JwtPrincipal(userId, (String) role, expiresAt == null ? null : expiresAt.toInstant()));
+        } catch (ExpiredJwtException e) {
+            // Token đã hết hạn
+            log.debug("Token expired: {}", e.getMessage());
+            return Optional.empty();
+        } catch (JwtException e) {
+            // JWT malformed, invalid format, signature invalid, ...
+            log.warn("JWT validation failed: {}", e.getMessage());
+            log.debug("JwtException details:", e);
+            return Optional.empty();
+        } catch (IllegalArgumentException e) {
+            // Token null hoặc empty
+            log.debug("Invalid token argument: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
     /**
      * Lấy userId từ token
      *
@@ -94,12 +139,7 @@ public class JwtUtil {
      * @return userId
      */
     public Long getUserIdFromToken(String token) {
-        Claims claims = getAllClaimsFromToken(token);
-        Object userId = claims.get("userId");
-        if (userId instanceof Integer) {
-            return ((Integer) userId).longValue();
-        }
-        return (Long) userId;
+        return toUserId(getAllClaimsFromToken(token).get("userId"));
     }
 
     /**
@@ -143,11 +183,7 @@ public class JwtUtil {
      * @return Claims object
      */
     private Claims getAllClaimsFromToken(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return jwtParser.parseSignedClaims(token).getPayload();
     }
 
     /**
@@ -176,34 +212,10 @@ public class JwtUtil {
      */
     public Boolean validateToken(String token) {
         try {
-            // Parse và verify token (sẽ throw exception nếu invalid)
-            getAllClaimsFromToken(token);
-            
-            // Kiểm tra expiration
-            boolean expired = isTokenExpired(token);
-            if (expired) {
-                log.debug("Token expired");
-                return false;
-            }
-            
-            log.debug("Token validated successfully");
-            return true;
-        } catch (ExpiredJwtException e) {
-            // Token đã hết hạn
-            log.debug("Token expired: {}", e.getMessage());
-            return false;
-        } catch (JwtException e) {
-            // JWT malformed, invalid format, ...
-            log.warn("JWT validation failed: {}", e.getMessage());
-            log.debug("JwtException details:", e);
-            return false;
-        } catch (IllegalArgumentException e) {
-            // Token null hoặc empty
-            log.debug("Invalid token argument: {}", e.getMessage());
-            return false;
+            return verifyToken(token).isPresent();
         } catch (Exception e) {
             /**
-             * Fallback cuối cùng cho các exception chưa được handle ở trên.
+             * Fallback cuối cùng cho các exception chưa được handle trong {@link #verifyToken}.
              * <p>
              * Các exception đã được handle:
              * <ul>
@@ -212,13 +224,6 @@ public class JwtUtil {
              *     <li>IllegalArgumentException - Invalid argument</li>
              * </ul>
              * <p>
-             * Nếu exception rơi vào đây, có thể là:
-             * <ul>
-             *     <li>NullPointerException - token null</li>
-             *     <li>RuntimeException khác - logic error</li>
-             *     <li>Unexpected checked exception - cần thêm handler cụ thể</li>
-             * </ul>
-             * <p>
              * ⚠️ Phải log đầy đủ để debug!
              */
             log.error("Unexpected error validating token: {}", e.getMessage(), e);
@@ -227,6 +232,13 @@ public class JwtUtil {
             return false;
         }
     }
+
+    /**
+     * Chuyển claim userId (Integer hoặc Long tùy độ lớn khi deserialize JSON) sang Long
+     */
+    private static Long toUserId(Object userId) {
+        return userId instanceof Number number ? number.longValue() : null;
+    }
 }
 
 
@@ -0,0 +1,70 @@
+package com.example.book.security.jwt;
+
+import com.example.book.cache.CacheNames;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Cache kết quả verify JWT theo SHA-256 của token
+ * <p>
+ * Client dùng lại cùng một token cho rất nhiều request; cache hit chỉ tốn một lần băm SHA-256
+ * thay vì verify HMAC và decode claims. Chỉ token hợp lệ được cache, entry hết hạn theo claim exp
+ * (cấu hình tại {@link com.example.book.config.CacheConfig}). Key là digest nên token gốc không nằm trong bộ nhớ cache.
+ * <p>
+ * Tắt bằng {@code jwt.cache.enabled=false}: mọi request đều verify trực tiếp qua {@link JwtUtil}.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final JwtUtil jwtUtil;
+
+    /**
+     * null khi cache bị tắt
+     */
+    private final Cache verifiedTokens;
+
+    public VerifiedTokenCache(JwtUtil jwtUtil, CacheManager cacheManager) {
+        this.jwtUtil = jwtUtil;
+        this.verifiedTokens = cacheManager.getCache(CacheNames.VERIFIED_TOKENS);
+    }
+
+    /**
+     * Lấy thông tin đã xác thực của token từ cache, hoặc verify và đưa vào cache nếu hợp lệ
+     *
+     * @param token JWT token
+     * @return JwtPrincipal nếu token hợp lệ, rỗng nếu không hợp lệ
+     */
+    public Optional<JwtPrincipal> getOrVerify(String token) {
+        if (verifiedTokens == null) {
+            return jwtUtil.verifyToken(token);
+        }
+
+        String key = digest(token);
+        JwtPrincipal cached = verifiedTokens.get(key, JwtPrincipal.class);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        Optional<JwtPrincipal> principal = jwtUtil.verifyToken(token);
+        principal.filter(verified -> verified.getExpiresAt() != null)
+                .ifPresent(verified -> verifiedTokens.put(key, verified));
+        return principal;
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 luôn có sẵn trên mọi JVM
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,272 @@
+package com.example.book.security.permission;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Bộ match URL + METHOD được biên dịch sẵn từ danh sách permission của một role
+ * <p>
+ * Kết quả giống hệt {@link com.example.book.security.service.UrlMatcherService#matchesPermission}
+ * áp dụng lần lượt cho từng permission, nhưng không compile regex mỗi request:
+ * <ul>
+ *     <li>Pattern kết thúc bằng {@code /**}: so tiền tố chuỗi (giống {@code startsWith} của matcher cũ)</li>
+ *     <li>Pattern gồm các segment literal và {@code {var}}: đưa vào cây segment (trie),
+ *     duyệt URL theo chỉ số ký tự, không cấp phát, O(số segment)</li>
+ *     <li>Pattern còn lại (literal chứa ký tự đặc biệt của regex, biến nằm giữa segment, ...):
+ *     compile {@link Pattern} một lần khi build</li>
+ * </ul>
+ * Rule được nhóm theo HTTP method; method được so bằng {@code equalsIgnoreCase} như matcher cũ.
+ * Đối tượng immutable sau khi build, dùng chung giữa các thread.
+ */
+public final class CompiledPermissionMatcher {
+
+    /**
+     * Segment dạng biến: toàn bộ segment là {@code {...}}
+     */
+    private static final Pattern VARIABLE_SEGMENT = Pattern.compile("\\{[^}]+\\}");
+
+    /**
+     * Ký tự có nghĩa đặc biệt trong regex; literal chứa các ký tự này phải đi qua regex để giữ nguyên ngữ nghĩa cũ
+     */
+    private static final String REGEX_META_CHARS = "\\^$.|?*+()[]{}";
+
+    private static final String WILDCARD_SUFFIX = "/**";
+
+    private final MethodRules[] rules;
+
+    private CompiledPermissionMatcher(MethodRules[] rules) {
+        this.rules = rules;
+    }
+
+    /**
+     * Biên dịch matcher từ danh sách permission
+     *
+     * @param permissions các permission của role
+     * @return CompiledPermissionMatcher
+     */
+    public static CompiledPermissionMatcher compile(Collection<PermissionEnum> permissions) {
+        Builder builder = builder();
+        permissions.forEach(permission -> builder.add(permission.getMethod(), permission.getUrl()));
+        return builder.build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Kiểm tra request có khớp với ít nhất một permission không
+     *
+     * @param url    URL từ request (ví dụ: /api/books/1)
+     * @param method HTTP method từ request
+     * @return true nếu khớp
+     */
+    public boolean matches(String url, String method) {
+        for (MethodRules methodRules : rules) {
+            if (methodRules.method.equalsIgnoreCase(method) && methodRules.matches(url)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gom rule (method, URL pattern) rồi biên dịch thành {@link CompiledPermissionMatcher}
+     */
+    public static final class Builder {
+
+        private final Map<String, MethodRulesBuilder> byMethod = new LinkedHashMap<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Thêm một rule
+         *
+         * @param method     HTTP method của permission
+         * @param urlPattern URL pattern của permission (exact, {@code /**} hoặc {@code {var}})
+         * @return builder
+         */
+        public Builder add(String method, String urlPattern) {
+            byMethod.computeIfAbsent(method, key -> new MethodRulesBuilder()).add(urlPattern);
+            return this;
+        }
+
+        public CompiledPermissionMatcher build() {
+            MethodRules[] rules = byMethod.entrySet().stream()
+                    .map(entry -> entry.getValue().build(entry.getKey()))
+                    .toArray(MethodRules[]::new);
+            return new CompiledPermissionMatcher(rules);
+        }
+    }
+
+    private static final class MethodRulesBuilder {
+        private final List<String> prefixes = new ArrayList<>();
+        private final List<String> regexSources = new ArrayList<>();
+        private final Node root = new Node();
+
+        void add(String pattern) {
+            if (pattern.endsWith(WILDCARD_SUFFIX)) {
+                prefixes.add(pattern.substring(0, pattern.length() - WILDCARD_SUFFIX.length()));
+                return;
+            }
+
+            String[] segments = pattern.split("/", -1);
+            for (String segment : segments) {
+                if (!isVariable(segment) && !isPlainLiteral(segment)) {
+                    regexSources.add(pattern);
+                    return;
+                }
+            }
+
+            Node node = root;
+            for (String segment : segments) {
+                node = isVariable(segment) ? node.variableChild() : node.literalChild(segment);
+            }
+            node.terminal = true;
+        }
+
+        MethodRules build(String method) {
+            Pattern[] regexes = regexSources.stream()
+                    .map(MethodRulesBuilder::compileRegex)
+                    .toArray(Pattern[]::new);
+            return new MethodRules(method, prefixes.toArray(String[]::new), root.freeze(),
+                    regexSources.toArray(String[]::new), regexes);
+        }
+
+        /**
+         * Regex tương đương matcher cũ; pattern không compile được trả về null
+         * (matcher cũ ném exception và request bị từ chối, trừ khi URL trùng khớp nguyên văn)
+         */
+        private static Pattern compileRegex(String source) {
+            try {
+                return Pattern.compile(VARIABLE_SEGMENT.matcher(source).replaceAll("[^/]+"));
+            } catch (PatternSyntaxException e) {
+                return null;
+            }
+        }
+
+        private static boolean isVariable(String segment) {
+            return VARIABLE_SEGMENT.matcher(segment).matches();
+        }
+
+        private static boolean isPlainLiteral(String segment) {
+            for (int i = 0; i < segment.length(); i++) {
+                if (REGEX_META_CHARS.indexOf(segment.charAt(i)) >= 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Các rule của một HTTP method
+     */
+    private static final class MethodRules {
+        private final String method;
+        private final String[] prefixes;
+        private final FrozenNode root;
+        private final String[] regexSources;
+        private final Pattern[] regexes;
+
+        MethodRules(String method, String[] prefixes, FrozenNode root, String[] regexSources, Pattern[] regexes) {
+            this.method = method;
+            this.prefixes = prefixes;
+            this.root = root;
+            this.regexSources = regexSources;
+            this.regexes = regexes;
+        }
+
+        boolean matches(String url) {
+            for (String prefix : prefixes) {
+                if (url.startsWith(prefix)) {
+                    return true;
+                }
+            }
+            if (root.matches(url, 0)) {
+                return true;
+            }
+            for (int i = 0; i < regexes.length; i++) {
+                if (url.equals(regexSources[i]) || (regexes[i] != null && regexes[i].matcher(url).matches())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Node của cây segment khi đang build
+     */
+    private static final class Node {
+        private final Map<String, Node> literals = new LinkedHashMap<>();
+        private Node variable;
+        private boolean terminal;
+
+        Node literalChild(String segment) {
+            return literals.computeIfAbsent(segment, key -> new Node());
+        }
+
+        Node variableChild() {
+            if (variable == null) {
+                variable = new Node();
+            }
+            return variable;
+        }
+
+        FrozenNode freeze() {
+            String[] keys = literals.keySet().toArray(String[]::new);
+            FrozenNode[] children = literals.values().stream().map(Node::freeze).toArray(FrozenNode[]::new);
+            return new FrozenNode(keys, children, variable == null ? null : variable.freeze(), terminal);
+        }
+    }
+
+    /**
+     * Node immutable của cây segment; segment literal được so bằng {@code regionMatches} nên không cắt chuỗi
+     */
+    private static final class FrozenNode {
+        private final String[] literalKeys;
+        private final FrozenNode[] literalChildren;
+        private final FrozenNode variable;
+        private final boolean terminal;
+
+        FrozenNode(String[] literalKeys, FrozenNode[] literalChildren, FrozenNode variable, boolean terminal) {
+            this.literalKeys = literalKeys;
+            this.literalChildren = literalChildren;
+            this.variable = variable;
+            this.terminal = terminal;
+        }
+
+        /**
+         * Match phần URL bắt đầu từ segmentStart với các con của node này
+         * <p>
+         * Segment được phép khớp cả literal lẫn biến nên thử cả hai nhánh.
+         */
+        boolean matches(String url, int segmentStart) {
+            int slash = url.indexOf('/', segmentStart);
+            boolean last = slash < 0;
+            int segmentEnd = last ? url.length() : slash;
+            int length = segmentEnd - segmentStart;
+
+            for (int i = 0; i < literalKeys.length; i++) {
+                String key = literalKeys[i];
+                if (key.length() == length && url.regionMatches(segmentStart, key, 0, length)
+                        && literalChildren[i].accepts(url, segmentEnd, last)) {
+                    return true;
+                }
+            }
+            // Biến tương đương [^/]+: segment không rỗng
+            return variable != null && length > 0 && variable.accepts(url, segmentEnd, last);
+        }
+
+        private boolean accepts(String url, int segmentEnd, boolean last) {
+            return last ? terminal : matches(url, segmentEnd + 1);
+        }
+    }
+}
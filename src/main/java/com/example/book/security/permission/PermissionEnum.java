@@ -23,8 +23,29 @@ public enum PermissionEnum {
     BOOK_CREATE("POST", "/api/books", "Quyền tạo sách"),
     BOOK_READ("GET", "/api/books/**", "Quyền xem sách"),
     BOOK_UPDATE("PUT", "/api/books/{id}", "Quyền cập nhật sách"),
+    BOOK_PATCH("PATCH", "/api/books/{id}", "Quyền cập nhật một phần sách"),
     BOOK_DELETE("PUT", "/api/books/{id}/delete", "Quyền xóa mềm sách"),
-    BOOK_DELETETT("PUT", "/api/books/{id}/delete", "Quyền xóa mềm sách");
+    BOOK_DELETETT("PUT", "/api/books/{id}/delete", "Quyền xóa mềm sách"),
+    BOOK_BULK_CREATE("POST", "/api/books/bulk", "Quyền tạo sách hàng loạt"),
+    BOOK_IMPORT("POST", "/api/books/import", "Quyền import sách từ file CSV"),
+    BOOK_BULK_DELETE("PUT", "/api/books/bulk/delete", "Quyền xóa mềm sách hàng loạt"),
+    BOOK_BULK_STATUS("PUT", "/api/books/bulk/status", "Quyền đổi trạng thái sách hàng loạt"),
+    BOOK_BATCH_GET("POST", "/api/books/batch-get", "Quyền xem nhiều sách theo danh sách ID"),
+    BOOK_BATCH_GET_BY_ISBN("POST", "/api/books/batch-get-by-isbn", "Quyền tra cứu nhiều sách theo danh sách ISBN"),
+
+    // Category Permissions
+    CATEGORY_STATS_READ("GET", "/api/category-stats/**", "Quyền xem thống kê sách theo danh mục"),
+
+    // Admin Permissions
+    CACHE_READ("GET", "/api/admin/caches", "Quyền xem thống kê cache"),
+    CACHE_EVICT("DELETE", "/api/admin/caches/{name}", "Quyền xóa cache"),
+    SUGGEST_INDEX_READ("GET", "/api/admin/suggest-index", "Quyền xem thống kê index gợi ý sách"),
+    REPRICING_JOB_CREATE("POST", "/api/admin/repricing-jobs", "Quyền tạo job đổi giá sách hàng loạt"),
+    REPRICING_JOB_READ("GET", "/api/admin/repricing-jobs/**", "Quyền xem trạng thái job đổi giá sách"),
+    REPRICING_JOB_CANCEL("POST", "/api/admin/repricing-jobs/{jobId}/cancel", "Quyền hủy job đổi giá sách"),
+    PERMISSION_SNAPSHOT_READ("GET", "/api/admin/permissions", "Quyền xem bộ permission đang áp dụng"),
+    PERMISSION_RELOAD("POST", "/api/admin/permissions/reload", "Quyền nạp lại permission từ database"),
+    ROLE_PERMISSION_UPDATE("PUT", "/api/admin/permissions/roles/{roleName}", "Quyền sửa danh sách permission của role");
 
     private final String method;
     private final String url;
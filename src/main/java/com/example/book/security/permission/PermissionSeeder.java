@@ -2,17 +2,21 @@ package com.example.book.security.permission;
 
 import com.example.book.entity.Permission;
 import com.example.book.entity.Role;
+import com.example.book.event.PermissionsChangedEvent;
 import com.example.book.repository.PermissionRepository;
 import com.example.book.repository.RoleRepository;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.ApplicationListener;
 import org.springframework.context.event.ContextRefreshedEvent;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -24,9 +28,16 @@ import java.util.stream.Collectors;
  * Khi khởi động ứng dụng, seeder này sẽ:
  * 1. Xóa các permissions không còn trong PermissionEnum
  * 2. Thêm/cập nhật permissions từ PermissionEnum
- * 3. Cập nhật role_permissions theo RoleEnum
+ * 3. Tạo role mới theo RoleEnum; role đã tồn tại chỉ được cấp thêm các permission vừa tạo ở bước 2
+ * 4. Phát {@link PermissionsChangedEvent} để PermissionService nạp lại permission từ database
  * <p>
- * Mục đích: Đảm bảo database luôn đồng bộ với enum definitions
+ * Mục đích: danh sách permission trong database luôn khớp PermissionEnum, còn quyền của role
+ * đã tồn tại (sửa qua {@code PUT /api/admin/permissions/roles/{roleName}}) được giữ nguyên,
+ * để instance khởi động lại không ghi đè thay đổi của admin trên toàn hệ thống.
+ * <p>
+ * Permission mới thêm vào PermissionEnum được cấp cho role đã tồn tại nếu RoleEnum khai báo role đó có quyền này,
+ * nên endpoint mới dùng được ngay sau khi nâng cấp. ADMIN luôn có mọi quyền.
+ * Bật {@code permission.sync-role-permissions=true} để đặt lại quyền của mọi role theo RoleEnum.
  */
 @Component
 @RequiredArgsConstructor
@@ -35,10 +46,17 @@ public class PermissionSeeder implements ApplicationListener<ContextRefreshedEve
 
     private final PermissionRepository permissionRepository;
     private final RoleRepository roleRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @PersistenceContext
     private EntityManager entityManager;
 
+    /**
+     * true: role_permissions của mọi role được đặt lại theo RoleEnum mỗi lần khởi động
+     */
+    @Value("${permission.sync-role-permissions:false}")
+    private boolean syncRolePermissions;
+
     private boolean alreadySeeded = false;
 
     @Override
@@ -80,14 +98,19 @@ public class PermissionSeeder implements ApplicationListener<ContextRefreshedEve
         // 3. Thêm/cập nhật permissions từ PermissionEnum
         log.info("Cập nhật permissions từ PermissionEnum...");
         Set<Permission> permissionMap = new HashSet<>();
+        // Permission tạo mới trong lần khởi động này (chưa role nào được cấp)
+        Set<PermissionEnum> createdPermissions = EnumSet.noneOf(PermissionEnum.class);
         for (PermissionEnum permissionEnum : PermissionEnum.values()) {
-            Permission permission = permissionRepository.findByName(permissionEnum.name())
-                    .orElse(new Permission(
-                            permissionEnum.name(),
-                            permissionEnum.getUrl(),
-                            permissionEnum.getMethod(),
-                            permissionEnum.getDescription()
-                    ));
+            Permission permission = permissionRepository.findByName(permissionEnum.name()).orElse(null);
+            if (permission == null) {
+                permission = new Permission(
+                        permissionEnum.name(),
+                        permissionEnum.getUrl(),
+                        permissionEnum.getMethod(),
+                        permissionEnum.getDescription()
+                );
+                createdPermissions.add(permissionEnum);
+            }
 
             // Cập nhật thông tin nếu đã tồn tại
             permission.setUrl(permissionEnum.getUrl());
@@ -102,21 +125,30 @@ public class PermissionSeeder implements ApplicationListener<ContextRefreshedEve
         // 4. Cập nhật role_permissions theo RoleEnum
         log.info("Cập nhật role_permissions theo RoleEnum...");
         for (RoleEnum roleEnum : RoleEnum.values()) {
-            Role role = roleRepository.findByName(roleEnum.getName())
-                    .orElse(new Role(roleEnum.getName(), roleEnum.getDescription()));
+            Role existingRole = roleRepository.findByName(roleEnum.getName()).orElse(null);
+            Role role = existingRole != null ? existingRole : new Role(roleEnum.getName(), roleEnum.getDescription());
 
             // Cập nhật description nếu role đã tồn tại
             role.setDescription(roleEnum.getDescription());
 
+            // Giữ quyền đã chỉnh sửa trong database của role đã tồn tại, chỉ cấp thêm permission mới
+            if (existingRole != null && !syncRolePermissions && roleEnum != RoleEnum.ADMIN) {
+                Set<Permission> rolePermissions = new HashSet<>(role.getPermissions());
+                for (PermissionEnum permissionEnum : roleEnum.getPermissions()) {
+                    if (createdPermissions.contains(permissionEnum)) {
+                        rolePermissions.add(findPermission(permissionMap, permissionEnum));
+                    }
+                }
+                role.setPermissions(rolePermissions);
+                roleRepository.save(role);
+                log.info("Giữ nguyên quyền của role: {} ({} permissions)", role.getName(), rolePermissions.size());
+                continue;
+            }
+
             // Gán permissions cho role
             Set<Permission> rolePermissions = new HashSet<>();
             for (PermissionEnum permissionEnum : roleEnum.getPermissions()) {
-                Permission permission = permissionMap.stream()
-                        .filter(p -> p.getName().equals(permissionEnum.name()))
-                        .findFirst()
-                        .orElseThrow(() -> new RuntimeException(
-                                "Không tìm thấy permission: " + permissionEnum.name()));
-                rolePermissions.add(permission);
+                rolePermissions.add(findPermission(permissionMap, permissionEnum));
             }
             role.setPermissions(rolePermissions);
 
@@ -125,9 +157,17 @@ public class PermissionSeeder implements ApplicationListener<ContextRefreshedEve
                     savedRole.getName(), savedRole.getPermissions().size());
         }
 
+        eventPublisher.publishEvent(new PermissionsChangedEvent());
         log.info("Hoàn thành cập nhật permissions và roles!");
     }
 
+    private static Permission findPermission(Set<Permission> permissions, PermissionEnum permissionEnum) {
+        return permissions.stream()
+                .filter(p -> p.getName().equals(permissionEnum.name()))
+                .findFirst()
+                .orElseThrow(() -> new RuntimeException("Không tìm thấy permission: " + permissionEnum.name()));
+    }
+
     /**
      * Xóa permission và tất cả role_permissions liên quan
      *
@@ -0,0 +1,145 @@
+package com.example.book.security.permission;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Bộ permission đã biên dịch tại một thời điểm: role → danh sách quyền và {@link CompiledPermissionMatcher}
+ * <p>
+ * Immutable, được thay nguyên khối khi permission thay đổi nên request đang chạy luôn thấy một bộ quyền nhất quán.
+ * Tên role được tra không phân biệt hoa thường (giống {@link RoleEnum#fromName}).
+ */
+@Getter
+public final class PermissionSnapshot {
+
+    /**
+     * Nguồn dữ liệu của snapshot
+     */
+    public enum Source {
+        /**
+         * RoleEnum/PermissionEnum, dùng khi khởi động trước khi đọc được database
+         */
+        ENUM,
+
+        /**
+         * Bảng roles/permissions/role_permissions
+         */
+        DATABASE
+    }
+
+    /**
+     * Một quyền của role
+     */
+    @Value
+    public static class Grant implements Comparable<Grant> {
+
+        private static final Comparator<Grant> ORDER = Comparator.comparing(Grant::getName)
+                .thenComparing(Grant::getMethod)
+                .thenComparing(Grant::getUrl);
+
+        String name;
+        String method;
+        String url;
+
+        @Override
+        public int compareTo(Grant other) {
+            return ORDER.compare(this, other);
+        }
+    }
+
+    /**
+     * Tăng mỗi lần thay snapshot
+     */
+    private final long version;
+    private final Source source;
+    private final LocalDateTime loadedAt;
+
+    /**
+     * Role → các quyền, sắp xếp theo tên
+     */
+    private final SortedMap<String, SortedSet<Grant>> grants;
+
+    @Getter(AccessLevel.NONE)
+    private final Map<String, CompiledPermissionMatcher> matchers;
+
+    private PermissionSnapshot(long version, Source source, SortedMap<String, SortedSet<Grant>> grants) {
+        this.version = version;
+        this.source = source;
+        this.loadedAt = LocalDateTime.now();
+        SortedMap<String, SortedSet<Grant>> copy = newGrantMap();
+        TreeMap<String, CompiledPermissionMatcher> compiled = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        grants.forEach((role, roleGrants) -> {
+            copy.put(role, Collections.unmodifiableSortedSet(new TreeSet<>(roleGrants)));
+            CompiledPermissionMatcher.Builder builder = CompiledPermissionMatcher.builder();
+            roleGrants.forEach(grant -> builder.add(grant.getMethod(), grant.getUrl()));
+            compiled.put(role, builder.build());
+        });
+        this.grants = Collections.unmodifiableSortedMap(copy);
+        this.matchers = Collections.unmodifiableMap(compiled);
+    }
+
+    /**
+     * Tạo snapshot từ RoleEnum/PermissionEnum
+     *
+     * @param version số phiên bản của snapshot
+     * @return PermissionSnapshot
+     */
+    public static PermissionSnapshot fromEnums(long version) {
+        SortedMap<String, SortedSet<Grant>> grants = newGrantMap();
+        for (RoleEnum role : RoleEnum.values()) {
+            grants.put(role.getName(), role.getPermissions().stream()
+                    .map(permission -> new Grant(permission.name(), permission.getMethod(), permission.getUrl()))
+                    .collect(Collectors.toCollection(TreeSet::new)));
+        }
+        return new PermissionSnapshot(version, Source.ENUM, grants);
+    }
+
+    /**
+     * Tạo snapshot từ danh sách quyền theo role đọc từ database
+     *
+     * @param version số phiên bản của snapshot
+     * @param grants  role → các quyền (dùng {@link #newGrantMap()})
+     * @return PermissionSnapshot
+     */
+    public static PermissionSnapshot fromDatabase(long version, SortedMap<String, SortedSet<Grant>> grants) {
+        return new PermissionSnapshot(version, Source.DATABASE, grants);
+    }
+
+    /**
+     * Map role → quyền với key không phân biệt hoa thường
+     */
+    public static SortedMap<String, SortedSet<Grant>> newGrantMap() {
+        return new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    }
+
+    /**
+     * Lấy matcher của role
+     *
+     * @param roleName tên role (không phân biệt hoa thường)
+     * @return CompiledPermissionMatcher, null nếu role không tồn tại
+     */
+    public CompiledPermissionMatcher getMatcher(String roleName) {
+        return roleName == null ? null : matchers.get(roleName);
+    }
+
+    /**
+     * So sánh bộ quyền với dữ liệu mới đọc được
+     *
+     * @param other role → các quyền
+     * @return true nếu hoàn toàn giống nhau (không cần thay snapshot)
+     */
+    public boolean hasSameGrants(SortedMap<String, SortedSet<Grant>> other) {
+        return grants.equals(other);
+    }
+}
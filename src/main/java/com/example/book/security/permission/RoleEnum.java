@@ -28,7 +28,8 @@ public enum RoleEnum {
      * Role USER chỉ có quyền đọc sách
      */
     USER("USER", "Người dùng", 
-         PermissionEnum.BOOK_READ, PermissionEnum.BOOK_UPDATE);
+         PermissionEnum.BOOK_READ, PermissionEnum.BOOK_UPDATE, PermissionEnum.BOOK_PATCH, PermissionEnum.BOOK_BATCH_GET,
+         PermissionEnum.BOOK_BATCH_GET_BY_ISBN);
 
     private final String name;
     private final String description;
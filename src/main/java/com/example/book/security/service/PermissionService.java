@@ -1,76 +1,159 @@
 package com.example.book.security.service;
 
-import com.example.book.security.permission.PermissionEnum;
-import com.example.book.security.permission.RoleEnum;
-import lombok.RequiredArgsConstructor;
+import com.example.book.entity.Permission;
+import com.example.book.entity.Role;
+import com.example.book.event.PermissionsChangedEvent;
+import com.example.book.repository.RoleRepository;
+import com.example.book.security.permission.CompiledPermissionMatcher;
+import com.example.book.security.permission.PermissionSnapshot;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
- * Service để load permissions từ Enum và kiểm tra permission
+ * Service để load permissions và kiểm tra permission
  * <p>
  * Luồng check permission:
  * <ol>
  *     <li>Request đến</li>
  *     <li>JWT Filter decode token</li>
  *     <li>Lấy role từ token</li>
- *     <li>Load permissions từ Enum (service này)</li>
- *     <li>Match URL + METHOD (sử dụng UrlMatcherService)</li>
+ *     <li>Lấy matcher của role từ snapshot hiện tại (service này, không query DB)</li>
+ *     <li>Match URL + METHOD (sử dụng CompiledPermissionMatcher của role)</li>
  *     <li>OK → tiếp tục, FAIL → 403</li>
  * </ol>
  * <p>
- * Tất cả role và permission được định nghĩa trong Enum,
- * không hard-code trong code, chỉ cần sửa Enum để thay đổi
+ * Permission được đọc từ bảng roles/permissions/role_permissions ({@link RoleRepository#findAllWithPermissions})
+ * và biên dịch thành {@link PermissionSnapshot} immutable, thay nguyên khối qua {@link AtomicReference}.
+ * Snapshot được nạp lại khi:
+ * <ul>
+ *     <li>Nhận {@link PermissionsChangedEvent} (PermissionSeeder đồng bộ xong, admin sửa quyền của role)</li>
+ *     <li>Định kỳ ({@code permission.reload-interval}), để nhận thay đổi từ instance khác; dữ liệu không đổi thì giữ snapshot cũ</li>
+ *     <li>Admin gọi {@code POST /api/admin/permissions/reload}</li>
+ * </ul>
+ * Khi khởi động (trước khi đọc được database) dùng snapshot từ RoleEnum/PermissionEnum.
  */
 @Service
-@RequiredArgsConstructor
+@Slf4j
 public class PermissionService {
 
-    private final UrlMatcherService urlMatcherService;
+    private final RoleRepository roleRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final AtomicLong versions = new AtomicLong();
+    private final AtomicReference<PermissionSnapshot> snapshot;
+
+    public PermissionService(RoleRepository roleRepository, PlatformTransactionManager transactionManager) {
+        this.roleRepository = roleRepository;
+        // Transaction riêng: reload có thể chạy trong afterCommit của transaction khác
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.snapshot = new AtomicReference<>(PermissionSnapshot.fromEnums(versions.incrementAndGet()));
+    }
 
     /**
      * Kiểm tra xem role có permission cho URL và METHOD cụ thể không
      * <p>
-     * Load từ RoleEnum, không cần query DB
+     * Dùng matcher đã biên dịch trong snapshot hiện tại, không query DB
+     * (cùng kết quả với {@link UrlMatcherService}, không compile regex mỗi request).
      *
-     * @param roleName tên role (phải match với RoleEnum)
+     * @param roleName tên role
      * @param url      URL từ request
      * @param method   HTTP method từ request
      * @return true nếu có permission
      */
     public boolean hasPermission(String roleName, String url, String method) {
-        RoleEnum role = RoleEnum.fromName(roleName);
-        
-        if (role == null) {
-            return false;
+        CompiledPermissionMatcher matcher = snapshot.get().getMatcher(roleName);
+        return matcher != null && matcher.matches(url, method);
+    }
+
+    /**
+     * Lấy snapshot permission đang dùng
+     *
+     * @return PermissionSnapshot
+     */
+    public PermissionSnapshot getSnapshot() {
+        return snapshot.get();
+    }
+
+    /**
+     * Đọc lại permission từ database và thay snapshot nếu dữ liệu thay đổi
+     * <p>
+     * Database chưa có role nào (chưa seed) thì giữ snapshot hiện tại.
+     *
+     * @return snapshot đang dùng sau khi nạp lại
+     */
+    public synchronized PermissionSnapshot reload() {
+        SortedMap<String, SortedSet<PermissionSnapshot.Grant>> grants = readOnlyTransaction.execute(status -> loadGrants());
+        PermissionSnapshot current = snapshot.get();
+
+        if (grants == null || grants.isEmpty()) {
+            log.warn("No roles found in database, keeping permission snapshot v{} ({})",
+                    current.getVersion(), current.getSource());
+            return current;
+        }
+        if (current.getSource() == PermissionSnapshot.Source.DATABASE && current.hasSameGrants(grants)) {
+            return current;
         }
-        
-        // Kiểm tra từng permission của role
-        return role.getPermissions().stream()
-                .anyMatch(permission -> urlMatcherService.matchesPermission(
-                        permission.getUrl(),
-                        permission.getMethod(),
-                        url,
-                        method
-                ));
+
+        PermissionSnapshot next = PermissionSnapshot.fromDatabase(versions.incrementAndGet(), grants);
+        snapshot.set(next);
+        log.info("Loaded permission snapshot v{} from database: {} roles", next.getVersion(), grants.size());
+        return next;
     }
 
     /**
-     * Lấy tất cả permissions của một role từ Enum
+     * Nạp lại snapshot khi permission được đồng bộ/sửa (sau khi transaction commit)
      *
-     * @param roleName tên role
-     * @return Set các PermissionEnum
+     * @param event sự kiện thay đổi permission
      */
-//    public Set<PermissionEnum> getPermissionsByRole(String roleName) {
-//        RoleEnum role = RoleEnum.fromName(roleName);
-//
-//        if (role == null) {
-//            return Set.of();
-//        }
-//
-//        return role.getPermissions();
-//    }
-}
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPermissionsChanged(PermissionsChangedEvent event) {
+        reloadQuietly();
+    }
+
+    /**
+     * Định kỳ đối chiếu với database để nhận thay đổi từ instance khác
+     */
+    @Scheduled(fixedDelayString = "${permission.reload-interval:PT1M}",
+            initialDelayString = "${permission.reload-interval:PT1M}")
+    public void pollForChanges() {
+        reloadQuietly();
+    }
 
+    /**
+     * Lỗi khi đọc database không được làm hỏng phân quyền: giữ snapshot hiện tại
+     */
+    private void reloadQuietly() {
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            PermissionSnapshot current = snapshot.get();
+            log.warn("Failed to reload permissions, keeping snapshot v{} ({}): {}",
+                    current.getVersion(), current.getSource(), e.getMessage());
+        }
+    }
+
+    private SortedMap<String, SortedSet<PermissionSnapshot.Grant>> loadGrants() {
+        SortedMap<String, SortedSet<PermissionSnapshot.Grant>> grants = PermissionSnapshot.newGrantMap();
+        for (Role role : roleRepository.findAllWithPermissions()) {
+            SortedSet<PermissionSnapshot.Grant> roleGrants = new TreeSet<>();
+            for (Permission permission : role.getPermissions()) {
+                roleGrants.add(new PermissionSnapshot.Grant(permission.getName(), permission.getMethod(), permission.getUrl()));
+            }
+            grants.put(role.getName(), roleGrants);
+        }
+        return grants;
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.book.service;
+
+import com.example.book.dto.request.BulkDeleteBookRequest;
+import com.example.book.dto.request.BulkStatusChangeRequest;
+import com.example.book.dto.request.CreateBookRequest;
+import com.example.book.dto.response.BulkCreateBookResponse;
+import com.example.book.dto.response.BulkStatusChangeResponse;
+
+import java.util.List;
+
+/**
+ * Interface service cho các thao tác hàng loạt trên sách
+ */
+public interface BookBulkService {
+
+    /**
+     * Tạo nhiều sách trong một request
+     * <p>
+     * Phần tử không hợp lệ bị bỏ qua và được báo lỗi, các phần tử hợp lệ vẫn được tạo
+     *
+     * @param requests danh sách thông tin tạo sách
+     * @return BulkCreateBookResponse chứa số lượng đã tạo và lỗi của từng phần tử
+     */
+    BulkCreateBookResponse createBooks(List<CreateBookRequest> requests);
+
+    /**
+     * Xóa mềm nhiều sách theo danh sách ID, theo danh mục, hoặc theo danh sách ISBN
+     *
+     * @param request điều kiện chọn sách (đúng một điều kiện)
+     * @return BulkStatusChangeResponse chứa số sách bị xóa mềm
+     */
+    BulkStatusChangeResponse deleteBooks(BulkDeleteBookRequest request);
+
+    /**
+     * Đổi trạng thái nhiều sách theo danh sách ID
+     *
+     * @param request danh sách ID và trạng thái mới
+     * @return BulkStatusChangeResponse chứa số sách được cập nhật
+     */
+    BulkStatusChangeResponse changeStatus(BulkStatusChangeRequest request);
+}
@@ -0,0 +1,25 @@
+package com.example.book.service;
+
+import com.example.book.dto.response.BookCountResponse;
+
+/**
+ * Interface service cung cấp tổng số sách đang hoạt động mà không cần COUNT(*) trên mỗi request
+ */
+public interface BookCountService {
+
+    /**
+     * Lấy tổng số sách ACTIVE (xấp xỉ)
+     * <p>
+     * Giá trị được tăng/giảm theo các thao tác ghi và đối soát định kỳ với database
+     *
+     * @return BookCountResponse chứa tổng số sách và thời điểm đối soát gần nhất
+     */
+    BookCountResponse getActiveBookCount();
+
+    /**
+     * Đối soát lại tổng số sách ACTIVE bằng COUNT(*) trên database
+     *
+     * @return tổng số sách ACTIVE sau khi đối soát
+     */
+    long reconcile();
+}
@@ -0,0 +1,25 @@
+package com.example.book.service;
+
+import com.example.book.dto.request.BookExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Interface service cho việc export toàn bộ catalog sách
+ */
+public interface BookExportService {
+
+    /**
+     * Ghi toàn bộ sách đang hoạt động ra output stream theo dạng streaming
+     * <p>
+     * Dữ liệu được đọc bằng cursor forward-only và ghi ngay từng dòng,
+     * không giữ toàn bộ kết quả trong bộ nhớ
+     *
+     * @param format định dạng export
+     * @param outputStream stream đích (thường là response body)
+     * @return số sách đã export
+     * @throws IOException nếu ghi ra stream thất bại
+     */
+    long exportActiveBooks(BookExportFormat format, OutputStream outputStream) throws IOException;
+}
@@ -0,0 +1,16 @@
+package com.example.book.service;
+
+import com.example.book.dto.response.BookFacetsResponse;
+
+/**
+ * Interface service cho thống kê catalog (facets)
+ */
+public interface BookFacetService {
+
+    /**
+     * Lấy số sách ACTIVE theo danh mục, khoảng giá và tác giả
+     *
+     * @return BookFacetsResponse
+     */
+    BookFacetsResponse getFacets();
+}
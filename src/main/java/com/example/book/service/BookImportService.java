@@ -0,0 +1,22 @@
+package com.example.book.service;
+
+import com.example.book.dto.response.BookImportResponse;
+
+import java.io.InputStream;
+
+/**
+ * Interface service cho việc import sách từ file CSV
+ */
+public interface BookImportService {
+
+    /**
+     * Import sách từ CSV dạng stream, upsert theo ISBN trong từng chunk transaction riêng
+     * <p>
+     * CSV cần có header với các cột: isbn, title, author, price, categoryId.
+     * Chunk lỗi bị rollback nhưng không ảnh hưởng các chunk đã commit trước đó.
+     *
+     * @param inputStream nội dung file CSV
+     * @return BookImportResponse chứa tiến độ từng chunk và lỗi từng dòng
+     */
+    BookImportResponse importBooks(InputStream inputStream);
+}
@@ -0,0 +1,43 @@
+package com.example.book.service;
+
+import com.example.book.dto.request.RepricingJobRequest;
+import com.example.book.dto.response.RepricingJobResponse;
+
+import java.util.List;
+
+/**
+ * Interface service cho job đổi giá sách hàng loạt theo danh mục
+ */
+public interface BookRepricingService {
+
+    /**
+     * Tạo job đổi giá và đưa vào hàng đợi chạy nền
+     *
+     * @param request danh mục, cách tính giá mới và chế độ dry-run
+     * @return RepricingJobResponse trạng thái ban đầu của job
+     */
+    RepricingJobResponse startJob(RepricingJobRequest request);
+
+    /**
+     * Lấy trạng thái và tiến độ của một job
+     *
+     * @param jobId ID job
+     * @return RepricingJobResponse
+     */
+    RepricingJobResponse getJob(String jobId);
+
+    /**
+     * Lấy danh sách job còn được giữ trong bộ nhớ, mới nhất trước
+     *
+     * @return danh sách RepricingJobResponse
+     */
+    List<RepricingJobResponse> getJobs();
+
+    /**
+     * Yêu cầu hủy job; job đang chạy dừng sau lô hiện tại
+     *
+     * @param jobId ID job
+     * @return RepricingJobResponse trạng thái của job sau khi yêu cầu hủy
+     */
+    RepricingJobResponse cancelJob(String jobId);
+}
@@ -1,10 +1,19 @@
 package com.example.book.service;
 
+import com.example.book.dto.request.BookFilterRequest;
 import com.example.book.dto.request.CreateBookRequest;
+import com.example.book.dto.request.PatchBookRequest;
 import com.example.book.dto.request.UpdateBookRequest;
+import com.example.book.dto.response.BatchGetBooksByIsbnResponse;
+import com.example.book.dto.response.BatchGetBooksResponse;
 import com.example.book.dto.response.BookResponse;
+import com.example.book.dto.response.CursorPageResponse;
+import com.example.book.pagination.BookSortKey;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
 
 /**
  * Interface service cho các thao tác quản lý sách
@@ -24,9 +33,20 @@ public interface BookService {
      *
      * @param id mã ID của sách
      * @param request thông tin cập nhật sách
+     * @param expectedVersion phiên bản client đang giữ (từ header If-Match), null nếu không kiểm tra
      * @return BookResponse chứa thông tin chi tiết sách đã cập nhật
      */
-    BookResponse updateBook(Long id, UpdateBookRequest request);
+    BookResponse updateBook(Long id, UpdateBookRequest request, Long expectedVersion);
+
+    /**
+     * Cập nhật một phần thông tin sách, chỉ các field có trong request
+     *
+     * @param id mã ID của sách
+     * @param request các field cần cập nhật
+     * @param expectedVersion phiên bản client đang giữ (từ header If-Match), null nếu không kiểm tra
+     * @return BookResponse chứa thông tin chi tiết sách sau khi cập nhật
+     */
+    BookResponse patchBook(Long id, PatchBookRequest request, Long expectedVersion);
 
     /**
      * Xóa mềm một cuốn sách theo ID (cập nhật trạng thái thành DELETED)
@@ -37,12 +57,32 @@ public interface BookService {
     BookResponse deleteBook(Long id);
 
     /**
-     * Lấy danh sách tất cả sách có phân trang
+     * Lấy danh sách sách có phân trang, lọc theo điều kiện tùy chọn
      *
+     * @param filter điều kiện lọc (các trường null bị bỏ qua)
      * @param pageable thông tin phân trang
      * @return Page chứa danh sách BookResponse
      */
-    Page<BookResponse> getAllBooks(Pageable pageable);
+    Page<BookResponse> getAllBooks(BookFilterRequest filter, Pageable pageable);
+
+    /**
+     * Tìm kiếm sách theo tiêu đề/tác giả (full-text), sắp xếp theo độ liên quan
+     *
+     * @param query chuỗi tìm kiếm
+     * @param pageable thông tin phân trang
+     * @return Page chứa danh sách BookResponse
+     */
+    Page<BookResponse> searchBooks(String query, Pageable pageable);
+
+    /**
+     * Lấy danh sách sách dạng Slice (không tính tổng số bản ghi)
+     * <p>
+     * Client cần tổng số dùng {@link BookCountService#getActiveBookCount()}
+     *
+     * @param pageable thông tin phân trang
+     * @return Slice chứa danh sách BookResponse
+     */
+    Slice<BookResponse> getBookSlice(Pageable pageable);
 
     /**
      * Lấy chi tiết sách theo ID
@@ -51,5 +91,32 @@ public interface BookService {
      * @return BookResponse chứa thông tin chi tiết sách
      */
     BookResponse getBookDetail(Long id);
-}
 
+    /**
+     * Lấy nhiều sách đang hoạt động theo danh sách ID
+     *
+     * @param ids danh sách ID sách
+     * @return các sách tìm thấy theo thứ tự request và các ID không tìm thấy
+     */
+    BatchGetBooksResponse getBooksByIds(List<Long> ids);
+
+    /**
+     * Tra cứu nhiều sách đang hoạt động theo danh sách ISBN
+     *
+     * @param isbns danh sách ISBN
+     * @return map ISBN -> sách và các ISBN không tìm thấy
+     */
+    BatchGetBooksByIsbnResponse getBooksByIsbns(List<String> isbns);
+
+    /**
+     * Lấy danh sách sách theo cursor (keyset pagination), không tính tổng số bản ghi
+     * <p>
+     * Phù hợp cho catalog lớn: chi phí mỗi trang không tăng theo độ sâu của trang
+     *
+     * @param after cursor trả về từ trang trước, null để lấy trang đầu tiên
+     * @param size số bản ghi mỗi trang
+     * @param sortKey khóa sắp xếp
+     * @return một trang BookResponse kèm cursor của trang tiếp theo
+     */
+    CursorPageResponse<BookResponse> getBooksByCursor(String after, int size, BookSortKey sortKey);
+}
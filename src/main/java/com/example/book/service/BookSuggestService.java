@@ -0,0 +1,28 @@
+package com.example.book.service;
+
+import com.example.book.dto.response.BookSuggestionResponse;
+import com.example.book.dto.response.SuggestIndexStatsResponse;
+
+import java.util.List;
+
+/**
+ * Interface service cho gợi ý sách theo tiền tố (autocomplete)
+ */
+public interface BookSuggestService {
+
+    /**
+     * Gợi ý sách có tiêu đề/tác giả chứa các từ bắt đầu bằng những từ người dùng đang gõ
+     *
+     * @param query chuỗi người dùng đang gõ
+     * @param limit số gợi ý tối đa
+     * @return danh sách gợi ý
+     */
+    List<BookSuggestionResponse> suggest(String query, int limit);
+
+    /**
+     * Lấy thống kê và ước lượng bộ nhớ của index gợi ý
+     *
+     * @return SuggestIndexStatsResponse
+     */
+    SuggestIndexStatsResponse getIndexStats();
+}
@@ -0,0 +1,58 @@
+package com.example.book.service;
+
+import com.example.book.dto.response.CategoryStatsResponse;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Interface service cho bảng thống kê sách theo danh mục (category_stats)
+ */
+public interface CategoryStatsService {
+
+    /**
+     * Cộng một sách ACTIVE vào thống kê danh mục, chạy trong transaction của thao tác ghi sách
+     *
+     * @param categoryId ID danh mục
+     * @param price giá sách
+     */
+    void bookAdded(Long categoryId, BigDecimal price);
+
+    /**
+     * Trừ một sách ACTIVE khỏi thống kê danh mục, chạy trong transaction của thao tác ghi sách
+     *
+     * @param categoryId ID danh mục
+     * @param price giá sách
+     */
+    void bookRemoved(Long categoryId, BigDecimal price);
+
+    /**
+     * Tính lại thống kê của các danh mục từ bảng books (dùng cho thao tác hàng loạt)
+     *
+     * @param categoryIds danh sách ID danh mục
+     */
+    void recompute(Collection<Long> categoryIds);
+
+    /**
+     * Tính lại toàn bộ thống kê từ bảng books, chạy định kỳ
+     *
+     * @return số danh mục có thống kê bị lệch và đã được sửa
+     */
+    int reconcile();
+
+    /**
+     * Lấy thống kê của tất cả danh mục
+     *
+     * @return danh sách thống kê
+     */
+    List<CategoryStatsResponse> getAllStats();
+
+    /**
+     * Lấy thống kê của một danh mục
+     *
+     * @param categoryId ID danh mục
+     * @return thống kê danh mục
+     */
+    CategoryStatsResponse getStats(Long categoryId);
+}
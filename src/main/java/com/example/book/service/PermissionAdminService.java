@@ -0,0 +1,34 @@
+package com.example.book.service;
+
+import com.example.book.dto.request.UpdateRolePermissionsRequest;
+import com.example.book.dto.response.PermissionSnapshotResponse;
+import com.example.book.dto.response.RolePermissionsResponse;
+
+/**
+ * Interface service cho việc xem và sửa permission của role lúc đang chạy
+ */
+public interface PermissionAdminService {
+
+    /**
+     * Lấy bộ permission đang được áp dụng khi kiểm tra quyền
+     *
+     * @return PermissionSnapshotResponse
+     */
+    PermissionSnapshotResponse getSnapshot();
+
+    /**
+     * Nạp lại permission từ database ngay lập tức
+     *
+     * @return PermissionSnapshotResponse bộ permission sau khi nạp lại
+     */
+    PermissionSnapshotResponse reload();
+
+    /**
+     * Thay toàn bộ danh sách permission của một role
+     *
+     * @param roleName tên role
+     * @param request  danh sách tên permission mới
+     * @return RolePermissionsResponse danh sách permission của role sau khi sửa
+     */
+    RolePermissionsResponse updateRolePermissions(String roleName, UpdateRolePermissionsRequest request);
+}
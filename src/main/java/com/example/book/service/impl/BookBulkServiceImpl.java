@@ -0,0 +1,322 @@
+package com.example.book.service.impl;
+
+import com.example.book.cache.CategoryCache;
+import com.example.book.dto.request.BulkDeleteBookRequest;
+import com.example.book.dto.request.BulkStatusChangeRequest;
+import com.example.book.dto.request.CreateBookRequest;
+import com.example.book.dto.response.BulkCreateBookResponse;
+import com.example.book.dto.response.BulkItemError;
+import com.example.book.dto.response.BulkStatusChangeResponse;
+import com.example.book.entity.Book;
+import com.example.book.entity.BookStatus;
+import com.example.book.entity.Category;
+import com.example.book.event.BookChangedEvent;
+import com.example.book.exception.BusinessException;
+import com.example.book.exception.ErrorCode;
+import com.example.book.mapper.BookMapper;
+import com.example.book.repository.BookRepository;
+import com.example.book.service.BookBulkService;
+import com.example.book.service.CategoryStatsService;
+import com.example.book.util.Batches;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Triển khai của BookBulkService
+ * <p>
+ * Tạo sách hàng loạt theo các bước:
+ * <ol>
+ *     <li>Validate từng phần tử theo rule của {@link CreateBookRequest}</li>
+ *     <li>Kiểm tra trùng ISBN trong request và trong DB bằng một query IN (chia lô)</li>
+ *     <li>Resolve mỗi danh mục một lần qua {@link CategoryCache}</li>
+ *     <li>INSERT theo JDBC batch, flush/clear persistence context sau mỗi lô</li>
+ * </ol>
+ * Xóa mềm / đổi trạng thái hàng loạt dùng câu UPDATE theo lô ID, không load entity.
+ * Xóa theo danh mục không giới hạn số sách nên duyệt keyset theo ID, mỗi lô một transaction riêng
+ * (như job đổi giá), không load toàn bộ ID vào bộ nhớ.
+ */
+@Service
+@Slf4j
+@Transactional
+public class BookBulkServiceImpl implements BookBulkService {
+
+    private final BookRepository bookRepository;
+    private final CategoryCache categoryCache;
+    private final BookMapper bookMapper;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CategoryStatsService categoryStatsService;
+    private final TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${book.bulk.max-items:10000}")
+    private int maxItems;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
+
+    public BookBulkServiceImpl(BookRepository bookRepository,
+                               CategoryCache categoryCache,
+                               BookMapper bookMapper,
+                               Validator validator,
+                               ApplicationEventPublisher eventPublisher,
+                               CategoryStatsService categoryStatsService,
+                               PlatformTransactionManager transactionManager) {
+        this.bookRepository = bookRepository;
+        this.categoryCache = categoryCache;
+        this.bookMapper = bookMapper;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.categoryStatsService = categoryStatsService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Tạo nhiều sách trong một request
+     *
+     * @param requests danh sách thông tin tạo sách
+     * @return BulkCreateBookResponse chứa số lượng đã tạo và lỗi của từng phần tử
+     * @throws BusinessException nếu số phần tử vượt quá giới hạn
+     */
+    @Override
+    public BulkCreateBookResponse createBooks(List<CreateBookRequest> requests) {
+        checkLimit(requests.size());
+
+        Map<Integer, List<String>> errorsByIndex = new TreeMap<>();
+
+        // 1. Validate từng phần tử
+        for (int i = 0; i < requests.size(); i++) {
+            CreateBookRequest request = requests.get(i);
+            if (request == null) {
+                addError(errorsByIndex, i, "Item must not be null");
+                continue;
+            }
+            for (ConstraintViolation<CreateBookRequest> violation : validator.validate(request)) {
+                addError(errorsByIndex, i, violation.getMessage());
+            }
+        }
+
+        // 2. Trùng ISBN trong chính request
+        Set<String> seenIsbns = new HashSet<>();
+        for (int i = 0; i < requests.size(); i++) {
+            if (!errorsByIndex.containsKey(i) && !seenIsbns.add(requests.get(i).getIsbn())) {
+                addError(errorsByIndex, i, "Duplicate ISBN " + requests.get(i).getIsbn() + " in request");
+            }
+        }
+
+        // 3. Trùng ISBN trong DB: một query IN cho mỗi lô ISBN
+        Set<String> existingIsbns = new HashSet<>();
+        for (List<String> chunk : Batches.partition(new ArrayList<>(seenIsbns), Batches.IN_CLAUSE_CHUNK_SIZE)) {
+            existingIsbns.addAll(bookRepository.findExistingIsbns(chunk));
+        }
+
+        // 4. Resolve mỗi danh mục một lần
+        Map<Long, Optional<Category>> categories = new HashMap<>();
+        List<Book> books = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            if (errorsByIndex.containsKey(i)) {
+                continue;
+            }
+            CreateBookRequest request = requests.get(i);
+            if (existingIsbns.contains(request.getIsbn())) {
+                addError(errorsByIndex, i, "Book with ISBN " + request.getIsbn() + " already exists");
+                continue;
+            }
+            Optional<Category> category = categories.computeIfAbsent(request.getCategoryId(), categoryCache::getReference);
+            if (category.isEmpty()) {
+                addError(errorsByIndex, i, "Category with ID " + request.getCategoryId() + " not found");
+                continue;
+            }
+            Book book = bookMapper.toEntity(request, category.get());
+            book.setStatus(BookStatus.ACTIVE);
+            books.add(book);
+        }
+
+        // 5. INSERT theo lô, clear persistence context để bộ nhớ không tăng theo số sách
+        List<Long> createdIds = new ArrayList<>(books.size());
+        for (List<Book> chunk : Batches.partition(books, batchSize)) {
+            bookRepository.saveAll(chunk);
+            entityManager.flush();
+            entityManager.clear();
+            chunk.forEach(book -> createdIds.add(book.getId()));
+        }
+        if (!createdIds.isEmpty()) {
+            categoryStatsService.recompute(categories.values().stream()
+                    .flatMap(Optional::stream)
+                    .map(Category::getId)
+                    .toList());
+            eventPublisher.publishEvent(new BookChangedEvent(BookChangedEvent.Type.CREATED, createdIds));
+        }
+        log.info("Bulk created {} of {} books", createdIds.size(), requests.size());
+
+        List<BulkItemError> errors = errorsByIndex.entrySet().stream()
+                .map(entry -> BulkItemError.builder()
+                        .index(entry.getKey())
+                        .isbn(requests.get(entry.getKey()) != null ? requests.get(entry.getKey()).getIsbn() : null)
+                        .messages(entry.getValue())
+                        .build())
+                .toList();
+
+        return BulkCreateBookResponse.builder()
+                .total(requests.size())
+                .created(createdIds.size())
+                .failed(errors.size())
+                .errors(errors)
+                .build();
+    }
+
+    /**
+     * Xóa mềm nhiều sách theo danh sách ID, theo danh mục, hoặc theo danh sách ISBN
+     *
+     * @param request điều kiện chọn sách (đúng một điều kiện)
+     * @return BulkStatusChangeResponse chứa số sách bị xóa mềm
+     * @throws BusinessException nếu điều kiện không hợp lệ hoặc danh sách vượt quá giới hạn
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BulkStatusChangeResponse deleteBooks(BulkDeleteBookRequest request) {
+        boolean byIds = request.getIds() != null && !request.getIds().isEmpty();
+        boolean byCategory = request.getCategoryId() != null;
+        boolean byIsbns = request.getIsbns() != null && !request.getIsbns().isEmpty();
+        if ((byIds ? 1 : 0) + (byCategory ? 1 : 0) + (byIsbns ? 1 : 0) != 1) {
+            throw new BusinessException(ErrorCode.INVALID_BULK_CRITERIA,
+                    "Exactly one of ids, categoryId or isbns must be provided");
+        }
+
+        if (byCategory) {
+            return deleteByCategory(request.getCategoryId());
+        }
+
+        List<Long> ids;
+        if (byIds) {
+            checkLimit(request.getIds().size());
+            ids = new ArrayList<>(new LinkedHashSet<>(request.getIds()));
+        } else {
+            checkLimit(request.getIsbns().size());
+            ids = new ArrayList<>();
+            for (List<String> chunk : Batches.partition(new ArrayList<>(new LinkedHashSet<>(request.getIsbns())),
+                    Batches.IN_CLAUSE_CHUNK_SIZE)) {
+                ids.addAll(bookRepository.findIdsByStatusAndIsbnIn(BookStatus.ACTIVE, chunk));
+            }
+        }
+
+        List<Long> targetIds = ids;
+        return transactionTemplate.execute(status -> updateStatus(targetIds, BookStatus.DELETED));
+    }
+
+    /**
+     * Xóa mềm toàn bộ sách ACTIVE của một danh mục
+     * <p>
+     * Duyệt keyset theo ID, mỗi lô UPDATE trong transaction riêng và phát sự kiện sau khi lô commit.
+     * Thống kê danh mục được tính lại một lần ở cuối.
+     */
+    private BulkStatusChangeResponse deleteByCategory(Long categoryId) {
+        int matched = 0;
+        int affected = 0;
+        long afterId = 0;
+        while (true) {
+            List<Long> ids = bookRepository.findIdsByCategoryIdAndStatusAfter(
+                    categoryId, BookStatus.ACTIVE, afterId, PageRequest.of(0, Batches.IN_CLAUSE_CHUNK_SIZE));
+            if (ids.isEmpty()) {
+                break;
+            }
+            afterId = ids.get(ids.size() - 1);
+            matched += ids.size();
+            affected += transactionTemplate.execute(status -> {
+                int updated = bookRepository.updateStatusByIdIn(ids, BookStatus.ACTIVE, BookStatus.DELETED, LocalDateTime.now());
+                eventPublisher.publishEvent(new BookChangedEvent(BookChangedEvent.Type.DELETED, ids));
+                return updated;
+            });
+        }
+        if (affected > 0) {
+            transactionTemplate.executeWithoutResult(status -> categoryStatsService.recompute(List.of(categoryId)));
+        }
+        log.info("Bulk deleted {} books of category {}", affected, categoryId);
+
+        return BulkStatusChangeResponse.builder()
+                .status(BookStatus.DELETED)
+                .matched(matched)
+                .affected(affected)
+                .build();
+    }
+
+    /**
+     * Đổi trạng thái nhiều sách theo danh sách ID
+     *
+     * @param request danh sách ID và trạng thái mới
+     * @return BulkStatusChangeResponse chứa số sách được cập nhật
+     * @throws BusinessException nếu danh sách vượt quá giới hạn
+     */
+    @Override
+    public BulkStatusChangeResponse changeStatus(BulkStatusChangeRequest request) {
+        checkLimit(request.getIds().size());
+        return updateStatus(new ArrayList<>(new LinkedHashSet<>(request.getIds())), request.getStatus());
+    }
+
+    /**
+     * Chuyển các sách trong danh sách ID sang trạng thái mới bằng UPDATE theo lô
+     * <p>
+     * Mỗi lô chỉ SELECT lại các ID đang ở trạng thái cũ (để phát sự kiện đúng tập sách bị đổi)
+     * rồi UPDATE có điều kiện trạng thái cũ.
+     */
+    private BulkStatusChangeResponse updateStatus(List<Long> ids, BookStatus newStatus) {
+        BookStatus currentStatus = newStatus == BookStatus.ACTIVE ? BookStatus.DELETED : BookStatus.ACTIVE;
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Long> matchedIds = new ArrayList<>();
+        Set<Long> categoryIds = new HashSet<>();
+        int affected = 0;
+        for (List<Long> chunk : Batches.partition(ids, Batches.IN_CLAUSE_CHUNK_SIZE)) {
+            List<Long> candidates = bookRepository.findIdsByStatusAndIdIn(currentStatus, chunk);
+            if (candidates.isEmpty()) {
+                continue;
+            }
+            matchedIds.addAll(candidates);
+            categoryIds.addAll(bookRepository.findCategoryIdsByIdIn(candidates));
+            affected += bookRepository.updateStatusByIdIn(candidates, currentStatus, newStatus, now);
+        }
+        categoryStatsService.recompute(categoryIds);
+
+        // Sách kích hoạt lại coi như được thêm vào tập ACTIVE
+        if (!matchedIds.isEmpty()) {
+            BookChangedEvent.Type type = newStatus == BookStatus.ACTIVE
+                    ? BookChangedEvent.Type.CREATED
+                    : BookChangedEvent.Type.DELETED;
+            eventPublisher.publishEvent(new BookChangedEvent(type, matchedIds));
+        }
+        log.info("Bulk changed status of {} books to {}", affected, newStatus);
+
+        return BulkStatusChangeResponse.builder()
+                .status(newStatus)
+                .matched(matchedIds.size())
+                .affected(affected)
+                .build();
+    }
+
+    private void checkLimit(int size) {
+        if (size > maxItems) {
+            throw new BusinessException(ErrorCode.BULK_LIMIT_EXCEEDED,
+                    "Bulk request contains " + size + " items, maximum is " + maxItems);
+        }
+    }
+
+    private static void addError(Map<Integer, List<String>> errorsByIndex, int index, String message) {
+        errorsByIndex.computeIfAbsent(index, key -> new ArrayList<>()).add(message);
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.book.service.impl;
+
+import com.example.book.dto.response.BookCountResponse;
+import com.example.book.entity.BookStatus;
+import com.example.book.event.BookChangedEvent;
+import com.example.book.repository.BookRepository;
+import com.example.book.service.BookCountService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Triển khai của BookCountService
+ * <p>
+ * Tổng số sách ACTIVE được giữ trong bộ nhớ:
+ * <ul>
+ *     <li>Khởi tạo lười bằng COUNT(*) ở lần đọc đầu tiên</li>
+ *     <li>Tăng/giảm theo {@link BookChangedEvent} sau khi transaction commit</li>
+ *     <li>Đối soát định kỳ để sửa sai lệch (ghi trực tiếp vào DB, nhiều instance, ...)</li>
+ * </ul>
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BookCountServiceImpl implements BookCountService {
+
+    /**
+     * Giá trị đánh dấu bộ đếm chưa được khởi tạo
+     */
+    private static final long UNINITIALIZED = -1L;
+
+    private final BookRepository bookRepository;
+
+    private final AtomicLong activeCount = new AtomicLong(UNINITIALIZED);
+    private volatile LocalDateTime reconciledAt;
+
+    /**
+     * Lấy tổng số sách ACTIVE (xấp xỉ)
+     *
+     * @return BookCountResponse chứa tổng số sách và thời điểm đối soát gần nhất
+     */
+    @Override
+    public BookCountResponse getActiveBookCount() {
+        long total = activeCount.get();
+        if (total == UNINITIALIZED) {
+            total = reconcile();
+        }
+        return BookCountResponse.builder()
+                .total(total)
+                .reconciledAt(reconciledAt)
+                .build();
+    }
+
+    /**
+     * Đối soát lại tổng số sách ACTIVE bằng COUNT(*), chạy định kỳ
+     *
+     * @return tổng số sách ACTIVE sau khi đối soát
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${book.count.reconcile-interval:PT5M}",
+            initialDelayString = "${book.count.reconcile-interval:PT5M}")
+    public long reconcile() {
+        long total = bookRepository.countByStatus(BookStatus.ACTIVE);
+        long previous = activeCount.getAndSet(total);
+        reconciledAt = LocalDateTime.now();
+        if (previous != UNINITIALIZED && previous != total) {
+            log.info("Reconciled active book count: {} -> {}", previous, total);
+        }
+        return total;
+    }
+
+    /**
+     * Cập nhật bộ đếm khi sách được tạo hoặc xóa mềm (sau khi transaction commit)
+     *
+     * @param event sự kiện thay đổi sách
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        int delta = switch (event.getType()) {
+            case CREATED -> event.getBookIds().size();
+            case DELETED -> -event.getBookIds().size();
+            case UPDATED -> 0;
+        };
+        if (delta != 0) {
+            // Chưa khởi tạo thì bỏ qua, lần đọc đầu tiên sẽ COUNT(*) lại từ DB
+            activeCount.updateAndGet(current -> current == UNINITIALIZED ? current : current + delta);
+        }
+    }
+}
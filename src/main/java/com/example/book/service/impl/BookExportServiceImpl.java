@@ -0,0 +1,114 @@
+package com.example.book.service.impl;
+
+import com.example.book.dto.request.BookExportFormat;
+import com.example.book.dto.response.BookResponse;
+import com.example.book.entity.Book;
+import com.example.book.entity.BookStatus;
+import com.example.book.mapper.BookMapper;
+import com.example.book.repository.BookRepository;
+import com.example.book.service.BookExportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Triển khai của BookExportService
+ * <p>
+ * Mỗi sách được map sang {@link BookResponse}, ghi ra stream rồi detach khỏi persistence context
+ * ngay lập tức, nên bộ nhớ không tăng theo số dòng export.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BookExportServiceImpl implements BookExportService {
+
+    /**
+     * Header của file CSV export (cũng là định dạng cột mà import CSV đọc được)
+     */
+    static final String[] CSV_HEADER = {
+            "id", "isbn", "title", "author", "price",
+            "categoryId", "categoryCode", "categoryName",
+            "status", "createdAt", "updatedAt"
+    };
+
+    /**
+     * Số dòng giữa hai lần flush writer xuống response
+     */
+    private static final int FLUSH_INTERVAL = 1000;
+
+    private final BookRepository bookRepository;
+    private final BookMapper bookMapper;
+    private final ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Ghi toàn bộ sách đang hoạt động ra output stream theo dạng streaming
+     *
+     * @param format định dạng export
+     * @param outputStream stream đích (thường là response body)
+     * @return số sách đã export
+     * @throws IOException nếu ghi ra stream thất bại
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long exportActiveBooks(BookExportFormat format, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        CSVPrinter csvPrinter = format == BookExportFormat.CSV
+                ? new CSVPrinter(writer, CSVFormat.DEFAULT.builder().setHeader(CSV_HEADER).build())
+                : null;
+
+        long count = 0;
+        try (Stream<Book> books = bookRepository.streamByStatus(BookStatus.ACTIVE)) {
+            Iterator<Book> iterator = books.iterator();
+            while (iterator.hasNext()) {
+                Book book = iterator.next();
+                BookResponse response = bookMapper.toResponse(book);
+                if (csvPrinter != null) {
+                    writeCsvRow(csvPrinter, response);
+                } else {
+                    writer.write(objectMapper.writeValueAsString(response));
+                    writer.write('\n');
+                }
+                // Detach để persistence context không giữ lại các entity đã ghi
+                entityManager.detach(book);
+
+                if (++count % FLUSH_INTERVAL == 0) {
+                    writer.flush();
+                }
+            }
+        }
+        writer.flush();
+
+        log.info("Exported {} books as {}", count, format);
+        return count;
+    }
+
+    private static void writeCsvRow(CSVPrinter csvPrinter, BookResponse book) throws IOException {
+        csvPrinter.printRecord(
+                book.getId(),
+                book.getIsbn(),
+                book.getTitle(),
+                book.getAuthor(),
+                book.getPrice(),
+                book.getCategory() != null ? book.getCategory().getId() : null,
+                book.getCategory() != null ? book.getCategory().getCode() : null,
+                book.getCategory() != null ? book.getCategory().getName() : null,
+                book.getStatus(),
+                book.getCreatedAt(),
+                book.getUpdatedAt()
+        );
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.book.service.impl;
+
+import com.example.book.cache.CacheNames;
+import com.example.book.dto.response.BookFacetsResponse;
+import com.example.book.dto.response.PriceBucketResponse;
+import com.example.book.entity.BookStatus;
+import com.example.book.event.BookChangedEvent;
+import com.example.book.repository.BookRepository;
+import com.example.book.service.BookFacetService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Triển khai của BookFacetService
+ * <p>
+ * Mỗi loại thống kê là một query GROUP BY / SUM(CASE) (3 query cho cả response).
+ * Kết quả được cache với TTL ngắn ({@link CacheNames#BOOK_FACETS}) và bị xóa khi sách thay đổi.
+ */
+@Service
+public class BookFacetServiceImpl implements BookFacetService {
+
+    private final BookRepository bookRepository;
+    private final List<BigDecimal> priceBoundaries;
+
+    @Value("${book.facets.author-limit:20}")
+    private int authorLimit;
+
+    public BookFacetServiceImpl(BookRepository bookRepository,
+                                @Value("${book.facets.price-boundaries:50000,100000,200000,500000}") List<BigDecimal> priceBoundaries) {
+        this.bookRepository = bookRepository;
+        this.priceBoundaries = priceBoundaries.stream().distinct().sorted().toList();
+    }
+
+    /**
+     * Lấy số sách ACTIVE theo danh mục, khoảng giá và tác giả
+     *
+     * @return BookFacetsResponse
+     */
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheNames.BOOK_FACETS, key = "'all'")
+    public BookFacetsResponse getFacets() {
+        List<Long> bucketCounts = bookRepository.countByPriceBuckets(BookStatus.ACTIVE, priceBoundaries);
+
+        List<PriceBucketResponse> priceBuckets = new ArrayList<>(bucketCounts.size());
+        long total = 0;
+        for (int i = 0; i < bucketCounts.size(); i++) {
+            priceBuckets.add(PriceBucketResponse.builder()
+                    .from(i == 0 ? null : priceBoundaries.get(i - 1))
+                    .to(i == priceBoundaries.size() ? null : priceBoundaries.get(i))
+                    .count(bucketCounts.get(i))
+                    .build());
+            total += bucketCounts.get(i);
+        }
+
+        return BookFacetsResponse.builder()
+                .total(total)
+                .categories(bookRepository.countByCategory(BookStatus.ACTIVE))
+                .priceBuckets(priceBuckets)
+                .authors(bookRepository.countByAuthor(BookStatus.ACTIVE, PageRequest.of(0, authorLimit)))
+                .generatedAt(LocalDateTime.now())
+                .build();
+    }
+
+    /**
+     * Xóa cache facets khi sách thay đổi (sau khi transaction commit)
+     *
+     * @param event sự kiện thay đổi sách
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @CacheEvict(cacheNames = CacheNames.BOOK_FACETS, allEntries = true)
+    public void onBookChanged(BookChangedEvent event) {
+        // Chỉ cần xóa cache, thực hiện bởi @CacheEvict
+    }
+}
@@ -0,0 +1,381 @@
+package com.example.book.service.impl;
+
+import com.example.book.cache.CategoryCache;
+import com.example.book.dto.request.CreateBookRequest;
+import com.example.book.dto.response.BookImportResponse;
+import com.example.book.dto.response.BulkItemError;
+import com.example.book.dto.response.ImportChunkResult;
+import com.example.book.entity.Book;
+import com.example.book.entity.BookStatus;
+import com.example.book.entity.Category;
+import com.example.book.event.BookChangedEvent;
+import com.example.book.exception.BusinessException;
+import com.example.book.exception.ErrorCode;
+import com.example.book.mapper.BookMapper;
+import com.example.book.repository.BookRepository;
+import com.example.book.service.BookImportService;
+import com.example.book.service.CategoryStatsService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Triển khai của BookImportService
+ * <p>
+ * File CSV được đọc tuần tự từng dòng, gom thành chunk cố định ({@code book.import.chunk-size}).
+ * Mỗi chunk được validate rồi upsert trong một transaction riêng ({@link TransactionTemplate}),
+ * sau đó persistence context được clear. Bộ nhớ chỉ phụ thuộc vào kích thước chunk,
+ * không phụ thuộc kích thước file.
+ */
+@Service
+@Slf4j
+public class BookImportServiceImpl implements BookImportService {
+
+    /**
+     * Các cột bắt buộc trong header CSV
+     */
+    static final List<String> REQUIRED_COLUMNS = List.of("isbn", "title", "author", "price", "categoryId");
+
+    /**
+     * Số chunk / lỗi tối đa giữ lại trong response
+     */
+    private static final int MAX_REPORTED_ITEMS = 1000;
+
+    private static final CSVFormat CSV_FORMAT = CSVFormat.DEFAULT.builder()
+            .setHeader()
+            .setSkipHeaderRecord(true)
+            .setIgnoreEmptyLines(true)
+            .setTrim(true)
+            .build();
+
+    private final BookRepository bookRepository;
+    private final CategoryCache categoryCache;
+    private final BookMapper bookMapper;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CategoryStatsService categoryStatsService;
+    private final TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${book.import.chunk-size:500}")
+    private int chunkSize;
+
+    public BookImportServiceImpl(BookRepository bookRepository,
+                                 CategoryCache categoryCache,
+                                 BookMapper bookMapper,
+                                 Validator validator,
+                                 ApplicationEventPublisher eventPublisher,
+                                 CategoryStatsService categoryStatsService,
+                                 PlatformTransactionManager transactionManager) {
+        this.bookRepository = bookRepository;
+        this.categoryCache = categoryCache;
+        this.bookMapper = bookMapper;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.categoryStatsService = categoryStatsService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Import sách từ CSV dạng stream, upsert theo ISBN trong từng chunk transaction riêng
+     *
+     * @param inputStream nội dung file CSV
+     * @return BookImportResponse chứa tiến độ từng chunk và lỗi từng dòng
+     * @throws BusinessException nếu file không đọc được hoặc thiếu cột bắt buộc
+     */
+    @Override
+    public BookImportResponse importBooks(InputStream inputStream) {
+        ImportProgress progress = new ImportProgress();
+
+        try (Reader reader = skipBom(new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8)));
+             CSVParser parser = CSV_FORMAT.parse(reader)) {
+
+            List<String> missingColumns = REQUIRED_COLUMNS.stream()
+                    .filter(column -> !parser.getHeaderMap().containsKey(column))
+                    .toList();
+            if (!missingColumns.isEmpty()) {
+                throw new BusinessException(ErrorCode.INVALID_IMPORT_FILE,
+                        "Import file is missing required columns: " + missingColumns);
+            }
+
+            List<ImportRow> chunk = new ArrayList<>(chunkSize);
+            Iterator<CSVRecord> records = parser.iterator();
+            while (true) {
+                CSVRecord record;
+                try {
+                    if (!records.hasNext()) {
+                        break;
+                    }
+                    record = records.next();
+                } catch (UncheckedIOException | IllegalStateException e) {
+                    // CSV sai cú pháp (ví dụ: thiếu dấu đóng nháy): dừng đọc, vẫn xử lý các dòng đã đọc
+                    progress.addError(parser.getCurrentLineNumber(), null,
+                            List.of("Malformed CSV, import stopped: " + e.getMessage()));
+                    break;
+                }
+
+                progress.totalRows++;
+                chunk.add(new ImportRow(record.getRecordNumber() + 1, record));
+                if (chunk.size() >= chunkSize) {
+                    processChunk(chunk, progress);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                processChunk(chunk, progress);
+            }
+        } catch (IOException e) {
+            throw new BusinessException(ErrorCode.INVALID_IMPORT_FILE, "Cannot read import file: " + e.getMessage());
+        }
+
+        log.info("Imported books: {} rows, {} created, {} updated, {} failed",
+                progress.totalRows, progress.created, progress.updated, progress.failed);
+
+        return BookImportResponse.builder()
+                .totalRows(progress.totalRows)
+                .created(progress.created)
+                .updated(progress.updated)
+                .failed(progress.failed)
+                .chunks(progress.chunks)
+                .errors(progress.errors)
+                .truncated(progress.truncated)
+                .build();
+    }
+
+    /**
+     * Validate và upsert một chunk trong transaction riêng
+     */
+    private void processChunk(List<ImportRow> rows, ImportProgress progress) {
+        int chunkNumber = progress.chunkCount + 1;
+
+        // 1. Validate từng dòng ngoài transaction
+        Map<String, ImportRow> validRows = new LinkedHashMap<>();
+        for (ImportRow row : rows) {
+            List<String> messages = parseAndValidate(row);
+            if (messages.isEmpty() && validRows.containsKey(row.request.getIsbn())) {
+                messages = List.of("Duplicate ISBN " + row.request.getIsbn()
+                        + " in chunk, first seen at line " + validRows.get(row.request.getIsbn()).line);
+            }
+            if (messages.isEmpty()) {
+                validRows.put(row.request.getIsbn(), row);
+            } else {
+                progress.addError(row.line, row.request != null ? row.request.getIsbn() : null, messages);
+            }
+        }
+        int invalid = rows.size() - validRows.size();
+
+        // 2. Upsert trong transaction riêng, lỗi chỉ rollback chunk hiện tại
+        ImportChunkResult.ImportChunkResultBuilder result = ImportChunkResult.builder()
+                .chunkNumber(chunkNumber)
+                .firstLine(rows.get(0).line)
+                .lastLine(rows.get(rows.size() - 1).line);
+        try {
+            int[] counts = validRows.isEmpty()
+                    ? new int[]{0, 0}
+                    : transactionTemplate.execute(status -> upsert(validRows.values()));
+            result.created(counts[0]).updated(counts[1]).failed(invalid).committed(true);
+            progress.created += counts[0];
+            progress.updated += counts[1];
+            progress.failed += invalid;
+        } catch (RuntimeException e) {
+            log.warn("Import chunk {} (lines {}-{}) rolled back: {}", chunkNumber,
+                    rows.get(0).line, rows.get(rows.size() - 1).line, e.getMessage());
+            String message = "Chunk rolled back: " + e.getMessage();
+            validRows.values().forEach(row -> progress.addError(row.line, row.request.getIsbn(), List.of(message)));
+            result.failed(rows.size()).committed(false).message(message);
+            progress.failed += rows.size();
+        }
+
+        progress.addChunk(result.build());
+        log.info("Import chunk {} done, {} rows processed so far", chunkNumber, progress.totalRows);
+    }
+
+    /**
+     * Upsert các dòng hợp lệ theo ISBN, chạy trong transaction của chunk
+     *
+     * @return mảng {số sách tạo mới, số sách cập nhật}
+     */
+    private int[] upsert(Collection<ImportRow> rows) {
+        Map<String, Book> existing = bookRepository.findAllByIsbnIn(
+                        rows.stream().map(row -> row.request.getIsbn()).toList())
+                .stream()
+                .collect(Collectors.toMap(Book::getIsbn, Function.identity()));
+
+        List<Book> newBooks = new ArrayList<>();
+        List<Book> activatedBooks = new ArrayList<>();
+        List<Book> updatedBooks = new ArrayList<>();
+        List<Long> textChangedIds = new ArrayList<>();
+        Set<Long> categoryIds = new HashSet<>();
+        for (ImportRow row : rows) {
+            Category category = categoryCache.getReference(row.request.getCategoryId()).orElseThrow();
+            categoryIds.add(category.getId());
+            Book book = existing.get(row.request.getIsbn());
+            if (book != null) {
+                // Danh mục cũ cũng bị ảnh hưởng khi sách đổi danh mục
+                categoryIds.add(book.getCategory().getId());
+            }
+            if (book == null) {
+                book = bookMapper.toEntity(row.request, category);
+                book.setStatus(BookStatus.ACTIVE);
+                newBooks.add(book);
+            } else {
+                boolean wasActive = book.getStatus() == BookStatus.ACTIVE;
+                boolean textChanged = !book.getTitle().equals(row.request.getTitle())
+                        || !book.getAuthor().equals(row.request.getAuthor());
+                bookMapper.updateEntity(book, row.request, category);
+                book.setStatus(BookStatus.ACTIVE);
+                (wasActive ? updatedBooks : activatedBooks).add(book);
+                if (wasActive && textChanged) {
+                    textChangedIds.add(book.getId());
+                }
+            }
+        }
+
+        bookRepository.saveAll(newBooks);
+        entityManager.flush();
+        categoryStatsService.recompute(categoryIds);
+        // Clear để persistence context (có thể kéo dài cả request) không giữ entity của các chunk trước
+        entityManager.clear();
+
+        // Sách đã xóa mềm được kích hoạt lại coi như được thêm vào tập ACTIVE
+        List<Long> createdIds = new ArrayList<>(newBooks.size() + activatedBooks.size());
+        newBooks.forEach(book -> createdIds.add(book.getId()));
+        activatedBooks.forEach(book -> createdIds.add(book.getId()));
+        if (!createdIds.isEmpty()) {
+            eventPublisher.publishEvent(new BookChangedEvent(BookChangedEvent.Type.CREATED, createdIds));
+        }
+        // Tách sách đổi tiêu đề/tác giả để index gợi ý chỉ đọc lại các sách này
+        if (!textChangedIds.isEmpty()) {
+            eventPublisher.publishEvent(new BookChangedEvent(BookChangedEvent.Type.UPDATED, textChangedIds, true));
+        }
+        if (updatedBooks.size() > textChangedIds.size()) {
+            Set<Long> textChanged = new HashSet<>(textChangedIds);
+            eventPublisher.publishEvent(new BookChangedEvent(BookChangedEvent.Type.UPDATED,
+                    updatedBooks.stream().map(Book::getId).filter(id -> !textChanged.contains(id)).toList(), false));
+        }
+
+        return new int[]{createdIds.size(), updatedBooks.size()};
+    }
+
+    /**
+     * Chuyển một dòng CSV thành CreateBookRequest và validate theo cùng rule với API tạo sách
+     *
+     * @return danh sách lỗi, rỗng nếu hợp lệ
+     */
+    private List<String> parseAndValidate(ImportRow row) {
+        List<String> messages = new ArrayList<>();
+        CreateBookRequest request = new CreateBookRequest();
+        request.setIsbn(value(row.record, "isbn"));
+        request.setTitle(value(row.record, "title"));
+        request.setAuthor(value(row.record, "author"));
+
+        String price = value(row.record, "price");
+        if (price != null) {
+            try {
+                request.setPrice(new BigDecimal(price));
+            } catch (NumberFormatException e) {
+                messages.add("Price format is invalid");
+            }
+        }
+        String categoryId = value(row.record, "categoryId");
+        if (categoryId != null) {
+            try {
+                request.setCategoryId(Long.valueOf(categoryId));
+            } catch (NumberFormatException e) {
+                messages.add("Category ID is invalid");
+            }
+        }
+        row.request = request;
+
+        for (ConstraintViolation<CreateBookRequest> violation : validator.validate(request)) {
+            messages.add(violation.getMessage());
+        }
+        if (messages.isEmpty() && categoryCache.findById(request.getCategoryId()).isEmpty()) {
+            messages.add("Category with ID " + request.getCategoryId() + " not found");
+        }
+        return messages;
+    }
+
+    private static String value(CSVRecord record, String column) {
+        if (!record.isSet(column)) {
+            return null;
+        }
+        String value = record.get(column);
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Bỏ qua BOM UTF-8 ở đầu file (thường gặp với file CSV xuất từ Excel)
+     */
+    private static Reader skipBom(BufferedReader reader) throws IOException {
+        reader.mark(1);
+        if (reader.read() != '\uFEFF') {
+            reader.reset();
+        }
+        return reader;
+    }
+
+    /**
+     * Một dòng CSV cùng số dòng trong file
+     */
+    private static final class ImportRow {
+        private final long line;
+        private final CSVRecord record;
+        private CreateBookRequest request;
+
+        private ImportRow(long line, CSVRecord record) {
+            this.line = line;
+            this.record = record;
+        }
+    }
+
+    /**
+     * Tiến độ import, số chunk/lỗi giữ lại bị giới hạn để bộ nhớ không tăng theo kích thước file
+     */
+    private static final class ImportProgress {
+        private long totalRows;
+        private long created;
+        private long updated;
+        private long failed;
+        private int chunkCount;
+        private boolean truncated;
+        private final List<ImportChunkResult> chunks = new ArrayList<>();
+        private final List<BulkItemError> errors = new ArrayList<>();
+
+        private void addChunk(ImportChunkResult chunk) {
+            chunkCount++;
+            if (chunks.size() < MAX_REPORTED_ITEMS) {
+                chunks.add(chunk);
+            } else {
+                truncated = true;
+            }
+        }
+
+        private void addError(long line, String isbn, List<String> messages) {
+            if (errors.size() < MAX_REPORTED_ITEMS) {
+                errors.add(BulkItemError.builder().index(line).isbn(isbn).messages(messages).build());
+            } else {
+                truncated = true;
+            }
+        }
+    }
+}
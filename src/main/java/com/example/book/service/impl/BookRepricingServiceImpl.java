@@ -0,0 +1,374 @@
+package com.example.book.service.impl;
+
+import com.example.book.cache.CategoryCache;
+import com.example.book.dto.request.RepricingJobRequest;
+import com.example.book.dto.request.RepricingMode;
+import com.example.book.dto.response.RepricingJobResponse;
+import com.example.book.dto.response.RepricingJobStatus;
+import com.example.book.entity.BookStatus;
+import com.example.book.event.BookChangedEvent;
+import com.example.book.exception.BusinessException;
+import com.example.book.exception.ErrorCode;
+import com.example.book.exception.ResourceNotFoundException;
+import com.example.book.repository.BookRepository;
+import com.example.book.service.BookRepricingService;
+import com.example.book.service.CategoryStatsService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Triển khai của BookRepricingService
+ * <p>
+ * Mỗi job duyệt sách ACTIVE của danh mục theo keyset trên ID, mỗi lô ({@code book.repricing.chunk-size})
+ * là một câu UPDATE set-based trong transaction riêng:
+ * {@code price = ROUND(price * multiplier / divisor + delta, 2)} (làm tròn HALF_UP theo scale 2 của cột price).
+ * <ul>
+ *     <li>Các job chạy lần lượt trên một thread riêng, hai job cùng danh mục không chạy chồng nhau</li>
+ *     <li>Hủy / lỗi giữa chừng: các lô đã commit được giữ nguyên, thống kê danh mục vẫn được tính lại</li>
+ *     <li>Dry-run dùng cùng điều kiện với câu UPDATE nhưng chỉ đếm</li>
+ * </ul>
+ * Trạng thái job chỉ nằm trong bộ nhớ, mất khi ứng dụng khởi động lại.
+ */
+@Service
+@Slf4j
+public class BookRepricingServiceImpl implements BookRepricingService, DisposableBean {
+
+    /**
+     * Giá lớn nhất cột books.price chứa được (precision 14, scale 2)
+     */
+    static final BigDecimal MAX_PRICE = new BigDecimal("999999999999.99");
+
+    private static final BigDecimal MIN_PERCENTAGE = BigDecimal.valueOf(-100);
+    private static final BigDecimal MAX_PERCENTAGE = BigDecimal.valueOf(1000);
+
+    private final BookRepository bookRepository;
+    private final CategoryCache categoryCache;
+    private final CategoryStatsService categoryStatsService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskExecutor executor;
+    private final int chunkSize;
+    private final int maxRetainedJobs;
+
+    /**
+     * Job theo thứ tự tạo (cũ nhất trước), truy cập trong synchronized (jobs)
+     */
+    private final Map<String, RepricingJob> jobs = new LinkedHashMap<>();
+
+    public BookRepricingServiceImpl(BookRepository bookRepository,
+                                    CategoryCache categoryCache,
+                                    CategoryStatsService categoryStatsService,
+                                    ApplicationEventPublisher eventPublisher,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${book.repricing.chunk-size:1000}") int chunkSize,
+                                    @Value("${book.repricing.queue-capacity:10}") int queueCapacity,
+                                    @Value("${book.repricing.max-retained-jobs:100}") int maxRetainedJobs) {
+        this.bookRepository = bookRepository;
+        this.categoryCache = categoryCache;
+        this.categoryStatsService = categoryStatsService;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.maxRetainedJobs = maxRetainedJobs;
+
+        // Không khai báo thành bean để không thay thế applicationTaskExecutor mặc định của Spring Boot
+        this.executor = new ThreadPoolTaskExecutor();
+        this.executor.setCorePoolSize(1);
+        this.executor.setMaxPoolSize(1);
+        this.executor.setQueueCapacity(queueCapacity);
+        this.executor.setThreadNamePrefix("repricing-");
+        this.executor.initialize();
+    }
+
+    /**
+     * Tạo job đổi giá và đưa vào hàng đợi chạy nền
+     *
+     * @param request danh mục, cách tính giá mới và chế độ dry-run
+     * @return RepricingJobResponse trạng thái ban đầu của job
+     * @throws ResourceNotFoundException nếu không tìm thấy danh mục
+     * @throws BusinessException nếu giá trị đổi giá không hợp lệ hoặc hàng đợi đã đầy
+     */
+    @Override
+    public RepricingJobResponse startJob(RepricingJobRequest request) {
+        categoryCache.findById(request.getCategoryId())
+                .orElseThrow(() -> new ResourceNotFoundException(ErrorCode.CATEGORY_NOT_FOUND, "Category with ID " + request.getCategoryId() + " not found"));
+
+        BigDecimal value = request.getValue();
+        if (value.signum() == 0) {
+            throw new BusinessException(ErrorCode.INVALID_REPRICING_REQUEST, "Value must not be zero");
+        }
+        BigDecimal factor;
+        BigDecimal delta;
+        if (request.getMode() == RepricingMode.PERCENTAGE) {
+            if (value.compareTo(MIN_PERCENTAGE) <= 0 || value.compareTo(MAX_PERCENTAGE) > 0) {
+                throw new BusinessException(ErrorCode.INVALID_REPRICING_REQUEST, "Percentage must be greater than -100 and at most 1000");
+            }
+            factor = BigDecimal.ONE.add(value.movePointLeft(2)).stripTrailingZeros();
+            delta = BigDecimal.ZERO;
+        } else {
+            if (value.stripTrailingZeros().scale() > 2) {
+                throw new BusinessException(ErrorCode.INVALID_REPRICING_REQUEST, "Absolute value must have at most 2 decimal places");
+            }
+            factor = BigDecimal.ONE;
+            delta = value;
+        }
+        if (factor.scale() < 0) {
+            factor = factor.setScale(0);
+        }
+
+        RepricingJob job = new RepricingJob(request, factor.unscaledValue().longValueExact(),
+                BigInteger.TEN.pow(factor.scale()).longValueExact(), delta);
+        register(job);
+        try {
+            executor.execute(() -> run(job));
+        } catch (TaskRejectedException e) {
+            synchronized (jobs) {
+                jobs.remove(job.id);
+            }
+            throw new BusinessException(ErrorCode.REPRICING_QUEUE_FULL, "Too many repricing jobs are waiting, try again later");
+        }
+        log.info("Queued repricing job {}: category {}, {} {}, dryRun={}",
+                job.id, job.categoryId, job.mode, job.value, job.dryRun);
+        return job.toResponse();
+    }
+
+    /**
+     * Lấy trạng thái và tiến độ của một job
+     *
+     * @param jobId ID job
+     * @return RepricingJobResponse
+     * @throws ResourceNotFoundException nếu không tìm thấy job
+     */
+    @Override
+    public RepricingJobResponse getJob(String jobId) {
+        return findJob(jobId).toResponse();
+    }
+
+    /**
+     * Lấy danh sách job còn được giữ trong bộ nhớ, mới nhất trước
+     *
+     * @return danh sách RepricingJobResponse
+     */
+    @Override
+    public List<RepricingJobResponse> getJobs() {
+        List<RepricingJob> snapshot;
+        synchronized (jobs) {
+            snapshot = new ArrayList<>(jobs.values());
+        }
+        Collections.reverse(snapshot);
+        return snapshot.stream().map(RepricingJob::toResponse).toList();
+    }
+
+    /**
+     * Yêu cầu hủy job; job đang chờ bị hủy ngay, job đang chạy dừng sau lô hiện tại.
+     * Job đã kết thúc được trả về nguyên trạng.
+     *
+     * @param jobId ID job
+     * @return RepricingJobResponse trạng thái của job sau khi yêu cầu hủy
+     * @throws ResourceNotFoundException nếu không tìm thấy job
+     */
+    @Override
+    public RepricingJobResponse cancelJob(String jobId) {
+        RepricingJob job = findJob(jobId);
+        job.cancel();
+        return job.toResponse();
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    /**
+     * Chạy job trên thread của executor
+     */
+    private void run(RepricingJob job) {
+        if (!job.start()) {
+            return;
+        }
+
+        RepricingJobStatus finalStatus = RepricingJobStatus.COMPLETED;
+        String error = null;
+        try {
+            job.totalBooks = bookRepository.countByCategoryIdAndStatus(job.categoryId, BookStatus.ACTIVE);
+            long afterId = 0;
+            while (true) {
+                if (job.cancelRequested) {
+                    finalStatus = RepricingJobStatus.CANCELLED;
+                    break;
+                }
+                List<Long> ids = bookRepository.findIdsByCategoryIdAndStatusAfter(
+                        job.categoryId, BookStatus.ACTIVE, afterId, PageRequest.of(0, chunkSize));
+                if (ids.isEmpty()) {
+                    break;
+                }
+                afterId = ids.get(ids.size() - 1);
+                job.chunkProcessed(ids.size(), job.dryRun ? countChunk(job, ids) : updateChunk(job, ids));
+            }
+        } catch (RuntimeException e) {
+            log.error("Repricing job {} failed after {} books", job.id, job.processedBooks, e);
+            finalStatus = RepricingJobStatus.FAILED;
+            error = e.getMessage();
+        }
+
+        if (!job.dryRun && job.updatedBooks > 0) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> categoryStatsService.recompute(List.of(job.categoryId)));
+            } catch (RuntimeException e) {
+                // Lần đối soát định kỳ sẽ sửa lại thống kê
+                log.warn("Failed to recompute category stats after repricing job {}", job.id, e);
+            }
+        }
+        job.finish(finalStatus, error);
+        log.info("Repricing job {} {}: {} of {} books processed, {} updated, {} skipped",
+                job.id, finalStatus, job.processedBooks, job.totalBooks, job.updatedBooks, job.skippedBooks);
+    }
+
+    private long updateChunk(RepricingJob job, List<Long> ids) {
+        Integer updated = transactionTemplate.execute(status -> {
+            int count = bookRepository.repriceByIdIn(ids, BookStatus.ACTIVE,
+                    job.multiplier, job.divisor, job.delta, MAX_PRICE, LocalDateTime.now());
+            if (count > 0) {
+                // Listener chạy sau khi lô commit (cache chi tiết sách, facets, ...)
+                // Chỉ đổi giá: tiêu đề/tác giả giữ nguyên
+                eventPublisher.publishEvent(new BookChangedEvent(BookChangedEvent.Type.UPDATED, ids, false));
+            }
+            return count;
+        });
+        return updated == null ? 0 : updated;
+    }
+
+    private long countChunk(RepricingJob job, List<Long> ids) {
+        return bookRepository.countRepriceableByIdIn(ids, BookStatus.ACTIVE, job.multiplier, job.divisor, job.delta, MAX_PRICE);
+    }
+
+    private void register(RepricingJob job) {
+        synchronized (jobs) {
+            jobs.put(job.id, job);
+            // Dọn các job đã kết thúc cũ nhất khi vượt giới hạn
+            Iterator<RepricingJob> iterator = jobs.values().iterator();
+            while (jobs.size() > maxRetainedJobs && iterator.hasNext()) {
+                if (iterator.next().isFinished()) {
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    private RepricingJob findJob(String jobId) {
+        RepricingJob job;
+        synchronized (jobs) {
+            job = jobs.get(jobId);
+        }
+        if (job == null) {
+            throw new ResourceNotFoundException(ErrorCode.REPRICING_JOB_NOT_FOUND, "Repricing job " + jobId + " not found");
+        }
+        return job;
+    }
+
+    /**
+     * Trạng thái một job; tiến độ chỉ được ghi bởi thread của executor
+     */
+    private static final class RepricingJob {
+        private final String id = UUID.randomUUID().toString();
+        private final Long categoryId;
+        private final RepricingMode mode;
+        private final BigDecimal value;
+        private final boolean dryRun;
+        /**
+         * Hệ số nhân dạng phân số nguyên multiplier / divisor
+         */
+        private final long multiplier;
+        private final long divisor;
+        private final BigDecimal delta;
+        private final LocalDateTime createdAt = LocalDateTime.now();
+
+        private volatile RepricingJobStatus status = RepricingJobStatus.PENDING;
+        private volatile boolean cancelRequested;
+        private volatile long totalBooks;
+        private volatile long processedBooks;
+        private volatile long updatedBooks;
+        private volatile long skippedBooks;
+        private volatile String error;
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+
+        private RepricingJob(RepricingJobRequest request, long multiplier, long divisor, BigDecimal delta) {
+            this.categoryId = request.getCategoryId();
+            this.mode = request.getMode();
+            this.value = request.getValue();
+            this.dryRun = request.isDryRun();
+            this.multiplier = multiplier;
+            this.divisor = divisor;
+            this.delta = delta;
+        }
+
+        /**
+         * @return false nếu job đã bị hủy trước khi bắt đầu
+         */
+        synchronized boolean start() {
+            if (status != RepricingJobStatus.PENDING) {
+                return false;
+            }
+            status = RepricingJobStatus.RUNNING;
+            startedAt = LocalDateTime.now();
+            return true;
+        }
+
+        synchronized void cancel() {
+            cancelRequested = true;
+            if (status == RepricingJobStatus.PENDING) {
+                status = RepricingJobStatus.CANCELLED;
+                finishedAt = LocalDateTime.now();
+            }
+        }
+
+        synchronized void finish(RepricingJobStatus finalStatus, String errorMessage) {
+            status = finalStatus;
+            error = errorMessage;
+            finishedAt = LocalDateTime.now();
+        }
+
+        void chunkProcessed(int size, long updated) {
+            processedBooks += size;
+            updatedBooks += updated;
+            skippedBooks += size - updated;
+        }
+
+        boolean isFinished() {
+            return status != RepricingJobStatus.PENDING && status != RepricingJobStatus.RUNNING;
+        }
+
+        RepricingJobResponse toResponse() {
+            return RepricingJobResponse.builder()
+                    .id(id)
+                    .status(status)
+                    .categoryId(categoryId)
+                    .mode(mode)
+                    .value(value)
+                    .dryRun(dryRun)
+                    .totalBooks(totalBooks)
+                    .processedBooks(processedBooks)
+                    .updatedBooks(updatedBooks)
+                    .skippedBooks(skippedBooks)
+                    .error(error)
+                    .createdAt(createdAt)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .build();
+        }
+    }
+}
@@ -1,24 +1,55 @@
 package com.example.book.service.impl;
 
+import com.example.book.cache.BookDetailCache;
+import com.example.book.cache.CategoryCache;
+import com.example.book.dto.request.BookFilterRequest;
 import com.example.book.dto.request.CreateBookRequest;
+import com.example.book.dto.request.PatchBookRequest;
 import com.example.book.dto.request.UpdateBookRequest;
+import com.example.book.dto.response.BatchGetBooksByIsbnResponse;
+import com.example.book.dto.response.BatchGetBooksResponse;
 import com.example.book.dto.response.BookResponse;
+import com.example.book.dto.response.CursorPageResponse;
 import com.example.book.entity.Book;
 import com.example.book.entity.BookStatus;
 import com.example.book.entity.Category;
+import com.example.book.event.BookChangedEvent;
 import com.example.book.exception.BusinessException;
 import com.example.book.exception.ErrorCode;
+import com.example.book.exception.PreconditionFailedException;
 import com.example.book.exception.ResourceNotFoundException;
 import com.example.book.mapper.BookMapper;
+import com.example.book.pagination.BookCursor;
+import com.example.book.pagination.BookSortKey;
 import com.example.book.repository.BookRepository;
-import com.example.book.repository.CategoryRepository;
+import com.example.book.repository.BookSpecifications;
+import com.example.book.search.BookSearchQuery;
 import com.example.book.service.BookService;
+import com.example.book.service.CategoryStatsService;
+import com.example.book.util.Batches;
 import org.springframework.transaction.annotation.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 /**
  * Triển khai của BookService
  */
@@ -27,9 +58,28 @@ import org.springframework.stereotype.Service;
 @Transactional
 public class BookServiceImpl implements BookService {
 
+    /**
+     * Số bản ghi tối đa mỗi trang khi phân trang theo cursor
+     */
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+
+    /**
+     * Các trường được phép sắp xếp khi phân trang (đều là cột của bảng books)
+     */
+    private static final Set<String> SORTABLE_PROPERTIES = Set.of("id", "title", "author", "price", "createdAt", "updatedAt");
+
     private final BookRepository bookRepository;
-    private final CategoryRepository categoryRepository;
+    private final CategoryCache categoryCache;
     private final BookMapper bookMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CategoryStatsService categoryStatsService;
+    private final BookDetailCache bookDetailCache;
+
+    @Value("${book.batch-get.max-ids:500}")
+    private int maxBatchGetIds;
+
+    @Value("${book.batch-get.max-isbns:10000}")
+    private int maxBatchGetIsbns;
 
     /**
      * Tạo một cuốn sách mới
@@ -45,12 +95,14 @@ public class BookServiceImpl implements BookService {
             throw new BusinessException(ErrorCode.BOOK_ISBN_EXISTS, "Book with ISBN " + request.getIsbn() + " already exists");
         }
 
-        Category category = categoryRepository.findById(request.getCategoryId())
+        Category category = categoryCache.getReference(request.getCategoryId())
                 .orElseThrow(() -> new ResourceNotFoundException(ErrorCode.CATEGORY_NOT_FOUND, "Category with ID " + request.getCategoryId() + " not found"));
 
         Book book = bookMapper.toEntity(request, category);
         book.setStatus(BookStatus.ACTIVE);
         Book savedBook = bookRepository.save(book);
+        categoryStatsService.bookAdded(category.getId(), savedBook.getPrice());
+        eventPublisher.publishEvent(BookChangedEvent.created(savedBook.getId()));
 
         return bookMapper.toResponse(savedBook);
     }
@@ -60,25 +112,103 @@ public class BookServiceImpl implements BookService {
      *
      * @param id mã ID của sách
      * @param request thông tin cập nhật sách
+     * @param expectedVersion phiên bản client đang giữ (từ header If-Match), null nếu không kiểm tra
      * @return BookResponse chứa thông tin chi tiết sách đã cập nhật
      * @throws ResourceNotFoundException nếu không tìm thấy sách hoặc danh mục
      * @throws BusinessException nếu ISBN đã tồn tại cho sách khác
+     * @throws PreconditionFailedException nếu phiên bản hiện tại khác expectedVersion
      */
     @Override
-    public BookResponse updateBook(Long id, UpdateBookRequest request) {
+    public BookResponse updateBook(Long id, UpdateBookRequest request, Long expectedVersion) {
         Book book = bookRepository.findByIdAndStatus(id, BookStatus.ACTIVE)
                 .orElseThrow(() -> new ResourceNotFoundException(ErrorCode.BOOK_NOT_FOUND, "Book with ID " + id + " not found"));
 
+        if (expectedVersion != null && !expectedVersion.equals(book.getVersion())) {
+            throw new PreconditionFailedException(ErrorCode.PRECONDITION_FAILED,
+                    "Book with ID " + id + " has version " + book.getVersion() + ", expected " + expectedVersion);
+        }
+
         // Kiểm tra nếu ISBN đang được thay đổi và ISBN mới đã tồn tại cho các sách đang hoạt động
         if (!book.getIsbn().equals(request.getIsbn()) && bookRepository.existsByIsbnAndStatus(request.getIsbn(), BookStatus.ACTIVE)) {
             throw new BusinessException(ErrorCode.BOOK_ISBN_EXISTS, "Book with ISBN " + request.getIsbn() + " already exists");
         }
 
-        Category category = categoryRepository.findById(request.getCategoryId())
+        Category category = categoryCache.getReference(request.getCategoryId())
                 .orElseThrow(() -> new ResourceNotFoundException(ErrorCode.CATEGORY_NOT_FOUND, "Category with ID " + request.getCategoryId() + " not found"));
 
+        Long oldCategoryId = book.getCategory().getId();
+        BigDecimal oldPrice = book.getPrice();
+        String oldTitle = book.getTitle();
+        String oldAuthor = book.getAuthor();
+
         bookMapper.updateEntity(book, request, category);
-        Book updatedBook = bookRepository.save(book);
+        // Flush ngay để xung đột version (transaction khác cập nhật sau khi đọc) được phát hiện tại đây
+        // và response chứa version mới
+        Book updatedBook = bookRepository.saveAndFlush(book);
+        // Đổi danh mục hoặc đổi giá: bỏ giá trị cũ khỏi thống kê rồi thêm giá trị mới
+        if (!oldCategoryId.equals(category.getId()) || oldPrice.compareTo(updatedBook.getPrice()) != 0) {
+            categoryStatsService.bookRemoved(oldCategoryId, oldPrice);
+            categoryStatsService.bookAdded(category.getId(), updatedBook.getPrice());
+        }
+        eventPublisher.publishEvent(BookChangedEvent.updated(id,
+                !oldTitle.equals(updatedBook.getTitle()) || !oldAuthor.equals(updatedBook.getAuthor())));
+
+        return bookMapper.toResponse(updatedBook);
+    }
+
+    /**
+     * Cập nhật một phần thông tin sách
+     * <p>
+     * Chỉ kiểm tra trùng ISBN khi ISBN thay đổi và chỉ tra danh mục khi categoryId thay đổi.
+     * Book dùng {@code @DynamicUpdate} nên câu UPDATE chỉ chứa các cột thực sự thay đổi;
+     * request không đổi gì thì không ghi database và không tăng version.
+     *
+     * @param id mã ID của sách
+     * @param request các field cần cập nhật
+     * @param expectedVersion phiên bản client đang giữ (từ header If-Match), null nếu không kiểm tra
+     * @return BookResponse chứa thông tin chi tiết sách sau khi cập nhật
+     * @throws ResourceNotFoundException nếu không tìm thấy sách hoặc danh mục
+     * @throws BusinessException nếu ISBN đã tồn tại cho sách khác
+     * @throws PreconditionFailedException nếu phiên bản hiện tại khác expectedVersion
+     */
+    @Override
+    public BookResponse patchBook(Long id, PatchBookRequest request, Long expectedVersion) {
+        Book book = bookRepository.findByIdAndStatus(id, BookStatus.ACTIVE)
+                .orElseThrow(() -> new ResourceNotFoundException(ErrorCode.BOOK_NOT_FOUND, "Book with ID " + id + " not found"));
+
+        if (expectedVersion != null && !expectedVersion.equals(book.getVersion())) {
+            throw new PreconditionFailedException(ErrorCode.PRECONDITION_FAILED,
+                    "Book with ID " + id + " has version " + book.getVersion() + ", expected " + expectedVersion);
+        }
+
+        if (request.getIsbn() != null && !book.getIsbn().equals(request.getIsbn())
+                && bookRepository.existsByIsbnAndStatus(request.getIsbn(), BookStatus.ACTIVE)) {
+            throw new BusinessException(ErrorCode.BOOK_ISBN_EXISTS, "Book with ISBN " + request.getIsbn() + " already exists");
+        }
+
+        Long oldCategoryId = book.getCategory().getId();
+        BigDecimal oldPrice = book.getPrice();
+        String oldTitle = book.getTitle();
+        String oldAuthor = book.getAuthor();
+
+        Category category = null;
+        if (request.getCategoryId() != null && !request.getCategoryId().equals(oldCategoryId)) {
+            category = categoryCache.getReference(request.getCategoryId())
+                    .orElseThrow(() -> new ResourceNotFoundException(ErrorCode.CATEGORY_NOT_FOUND, "Category with ID " + request.getCategoryId() + " not found"));
+        }
+
+        if (!bookMapper.applyPatch(book, request, category)) {
+            return bookMapper.toResponse(book);
+        }
+
+        Book updatedBook = bookRepository.saveAndFlush(book);
+        Long newCategoryId = updatedBook.getCategory().getId();
+        if (!oldCategoryId.equals(newCategoryId) || oldPrice.compareTo(updatedBook.getPrice()) != 0) {
+            categoryStatsService.bookRemoved(oldCategoryId, oldPrice);
+            categoryStatsService.bookAdded(newCategoryId, updatedBook.getPrice());
+        }
+        eventPublisher.publishEvent(BookChangedEvent.updated(id,
+                !oldTitle.equals(updatedBook.getTitle()) || !oldAuthor.equals(updatedBook.getAuthor())));
 
         return bookMapper.toResponse(updatedBook);
     }
@@ -97,25 +227,90 @@ public class BookServiceImpl implements BookService {
 
         book.setStatus(BookStatus.DELETED);
         Book updatedBook = bookRepository.save(book);
+        categoryStatsService.bookRemoved(book.getCategory().getId(), book.getPrice());
+        eventPublisher.publishEvent(BookChangedEvent.deleted(id));
 
         return bookMapper.toResponse(updatedBook);
     }
 
     /**
-     * Lấy danh sách tất cả sách có phân trang
+     * Lấy danh sách sách có phân trang, lọc theo điều kiện tùy chọn
+     * <p>
+     * Không có điều kiện lọc: đọc thẳng vào DTO bằng projection.
+     * Có điều kiện lọc: dùng Specification (xem {@link BookSpecifications}).
+     *
+     * @param filter điều kiện lọc (các trường null bị bỏ qua)
+     * @param pageable thông tin phân trang
+     * @return Page chứa danh sách BookResponse
+     * @throws BusinessException nếu trường sắp xếp không được phép hoặc khoảng giá không hợp lệ
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<BookResponse> getAllBooks(BookFilterRequest filter, Pageable pageable) {
+        validateSort(pageable.getSort());
+        if (filter.isEmpty()) {
+            // Đọc thẳng vào DTO, không hydrate entity Book/Category
+            return bookRepository.findResponsesByStatus(BookStatus.ACTIVE, pageable);
+        }
+
+        if (filter.getMinPrice() != null && filter.getMaxPrice() != null
+                && filter.getMinPrice().compareTo(filter.getMaxPrice()) > 0) {
+            throw new BusinessException(ErrorCode.INVALID_FILTER, "minPrice must not be greater than maxPrice");
+        }
+        return bookRepository.findAll(BookSpecifications.matching(BookStatus.ACTIVE, filter), pageable)
+                .map(bookMapper::toResponse);
+    }
+
+    /**
+     * Tìm kiếm sách theo tiêu đề/tác giả (full-text), sắp xếp theo độ liên quan
+     * <p>
+     * Bước 1 lấy trang ID từ FULLTEXT index, bước 2 đọc BookResponse của các ID đó bằng projection
+     * và sắp lại theo thứ tự liên quan.
      *
+     * @param query chuỗi tìm kiếm
      * @param pageable thông tin phân trang
      * @return Page chứa danh sách BookResponse
      */
     @Override
     @Transactional(readOnly = true)
-    public Page<BookResponse> getAllBooks(Pageable pageable) {
-        return bookRepository.findByStatus(BookStatus.ACTIVE, pageable)
+    public Page<BookResponse> searchBooks(String query, Pageable pageable) {
+        String expression = BookSearchQuery.toBooleanMode(query);
+        Pageable pageRequest = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+
+        Page<Long> ids = bookRepository.searchActiveIds(expression, pageRequest);
+        if (ids.isEmpty()) {
+            return new PageImpl<>(List.of(), pageRequest, ids.getTotalElements());
+        }
+
+        Map<Long, BookResponse> responses = bookRepository.findResponsesByIdInAndStatus(ids.getContent(), BookStatus.ACTIVE)
+                .stream()
+                .collect(Collectors.toMap(BookResponse::getId, Function.identity()));
+        List<BookResponse> content = ids.getContent().stream()
+                .map(responses::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return new PageImpl<>(content, pageRequest, ids.getTotalElements());
+    }
+
+    /**
+     * Lấy danh sách sách dạng Slice (không tính tổng số bản ghi)
+     *
+     * @param pageable thông tin phân trang
+     * @return Slice chứa danh sách BookResponse
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<BookResponse> getBookSlice(Pageable pageable) {
+        validateSort(pageable.getSort());
+        return bookRepository.findSliceByStatus(BookStatus.ACTIVE, pageable)
                 .map(bookMapper::toResponse);
     }
 
     /**
      * Lấy chi tiết sách theo ID
+     * <p>
+     * Kết quả được cache theo ID (read-through). Ghi cache qua {@link BookDetailCache#putIfFresh}
+     * nên kết quả đọc song song với một lần cập nhật/xóa không thể đưa dữ liệu cũ trở lại cache.
      *
      * @param id mã ID của sách
      * @return BookResponse chứa thông tin chi tiết sách
@@ -124,9 +319,164 @@ public class BookServiceImpl implements BookService {
     @Override
     @Transactional(readOnly = true)
     public BookResponse getBookDetail(Long id) {
-        Book book = bookRepository.findByIdAndStatus(id, BookStatus.ACTIVE)
+        BookResponse cached = bookDetailCache.get(id);
+        if (cached != null) {
+            return cached;
+        }
+
+        long stamp = bookDetailCache.stamp(id);
+        // Đọc thẳng vào DTO, không hydrate entity Book/Category
+        BookResponse response = bookRepository.findResponseByIdAndStatus(id, BookStatus.ACTIVE)
                 .orElseThrow(() -> new ResourceNotFoundException(ErrorCode.BOOK_NOT_FOUND, "Book with ID " + id + " not found"));
+        bookDetailCache.putIfFresh(response, stamp);
+        return response;
+    }
+
+    /**
+     * Lấy nhiều sách đang hoạt động theo danh sách ID
+     * <p>
+     * Sách có trong cache chi tiết được lấy từ cache, phần còn lại đọc bằng một query IN (projection)
+     * và được đưa vào cache qua {@link BookDetailCache#putIfFresh} như {@link #getBookDetail}.
+     *
+     * @param ids danh sách ID sách
+     * @return các sách tìm thấy theo thứ tự request và các ID không tìm thấy
+     * @throws BusinessException nếu số ID vượt quá giới hạn
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public BatchGetBooksResponse getBooksByIds(List<Long> ids) {
+        List<Long> distinctIds = ids.stream().distinct().toList();
+        if (distinctIds.size() > maxBatchGetIds) {
+            throw new BusinessException(ErrorCode.BULK_LIMIT_EXCEEDED,
+                    "Batch get contains " + distinctIds.size() + " ids, maximum is " + maxBatchGetIds);
+        }
+
+        Map<Long, BookResponse> found = new HashMap<>();
+        // ID chưa có trong cache -> stamp lấy trước khi query
+        Map<Long, Long> missStamps = new HashMap<>();
+        for (Long id : distinctIds) {
+            BookResponse cached = bookDetailCache.get(id);
+            if (cached != null) {
+                found.put(id, cached);
+            } else {
+                missStamps.put(id, bookDetailCache.stamp(id));
+            }
+        }
+        if (!missStamps.isEmpty()) {
+            for (BookResponse response : bookRepository.findResponsesByIdInAndStatus(missStamps.keySet(), BookStatus.ACTIVE)) {
+                found.put(response.getId(), response);
+                bookDetailCache.putIfFresh(response, missStamps.get(response.getId()));
+            }
+        }
+
+        List<BookResponse> books = new ArrayList<>(found.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : distinctIds) {
+            BookResponse response = found.get(id);
+            if (response != null) {
+                books.add(response);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return BatchGetBooksResponse.builder()
+                .books(books)
+                .missingIds(missingIds)
+                .build();
+    }
 
-        return bookMapper.toResponse(book);
+    /**
+     * Tra cứu nhiều sách đang hoạt động theo danh sách ISBN
+     * <p>
+     * Danh sách lớn được chia lô, mỗi lô một query IN trên cột isbn (unique index).
+     *
+     * @param isbns danh sách ISBN
+     * @return map ISBN -> sách (theo thứ tự request) và các ISBN không tìm thấy
+     * @throws BusinessException nếu số ISBN vượt quá giới hạn
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public BatchGetBooksByIsbnResponse getBooksByIsbns(List<String> isbns) {
+        List<String> distinctIsbns = isbns.stream().map(String::trim).distinct().toList();
+        if (distinctIsbns.size() > maxBatchGetIsbns) {
+            throw new BusinessException(ErrorCode.BULK_LIMIT_EXCEEDED,
+                    "ISBN lookup contains " + distinctIsbns.size() + " ISBNs, maximum is " + maxBatchGetIsbns);
+        }
+
+        Map<String, BookResponse> found = new HashMap<>();
+        for (List<String> chunk : Batches.partition(distinctIsbns, Batches.IN_CLAUSE_CHUNK_SIZE)) {
+            bookRepository.findResponsesByIsbnInAndStatus(chunk, BookStatus.ACTIVE)
+                    .forEach(response -> found.put(response.getIsbn(), response));
+        }
+
+        Map<String, BookResponse> books = new LinkedHashMap<>();
+        List<String> missingIsbns = new ArrayList<>();
+        for (String isbn : distinctIsbns) {
+            BookResponse response = found.get(isbn);
+            if (response != null) {
+                books.put(isbn, response);
+            } else {
+                missingIsbns.add(isbn);
+            }
+        }
+        return BatchGetBooksByIsbnResponse.builder()
+                .books(books)
+                .missingIsbns(missingIsbns)
+                .build();
+    }
+
+    /**
+     * Lấy danh sách sách theo cursor (keyset pagination), không tính tổng số bản ghi
+     * <p>
+     * Lấy thừa 1 bản ghi để biết còn trang tiếp theo hay không thay vì chạy COUNT(*)
+     *
+     * @param after cursor trả về từ trang trước, null để lấy trang đầu tiên
+     * @param size số bản ghi mỗi trang
+     * @param sortKey khóa sắp xếp
+     * @return một trang BookResponse kèm cursor của trang tiếp theo
+     * @throws BusinessException nếu cursor không hợp lệ
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<BookResponse> getBooksByCursor(String after, int size, BookSortKey sortKey) {
+        int pageSize = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        BookCursor cursor = (after == null || after.isBlank()) ? null : BookCursor.decode(after, sortKey);
+
+        List<Book> books;
+        if (sortKey == BookSortKey.CREATED_AT) {
+            books = cursor == null
+                    ? bookRepository.findFirstByStatusOrderByCreatedAt(BookStatus.ACTIVE, limit)
+                    : bookRepository.findNextByStatusOrderByCreatedAt(BookStatus.ACTIVE, cursor.getLastCreatedAt(), cursor.getLastId(), limit);
+        } else {
+            books = cursor == null
+                    ? bookRepository.findByStatusOrderByIdAsc(BookStatus.ACTIVE, limit)
+                    : bookRepository.findByStatusAndIdGreaterThanOrderByIdAsc(BookStatus.ACTIVE, cursor.getLastId(), limit);
+        }
+
+        boolean hasNext = books.size() > pageSize;
+        List<Book> pageContent = hasNext ? books.subList(0, pageSize) : books;
+        String nextCursor = hasNext
+                ? BookCursor.of(sortKey, pageContent.get(pageContent.size() - 1)).encode()
+                : null;
+
+        return CursorPageResponse.<BookResponse>builder()
+                .content(pageContent.stream().map(bookMapper::toResponse).toList())
+                .size(pageSize)
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
+                .build();
+    }
+
+    /**
+     * Chỉ cho phép sắp xếp theo các trường trong {@link #SORTABLE_PROPERTIES}
+     */
+    private static void validateSort(Sort sort) {
+        for (Sort.Order order : sort) {
+            if (!SORTABLE_PROPERTIES.contains(order.getProperty())) {
+                throw new BusinessException(ErrorCode.INVALID_SORT,
+                        "Sorting by '" + order.getProperty() + "' is not allowed, allowed fields: " + SORTABLE_PROPERTIES);
+            }
+        }
     }
 }
@@ -0,0 +1,201 @@
+package com.example.book.service.impl;
+
+import com.example.book.dto.response.BookSuggestionResponse;
+import com.example.book.dto.response.SuggestIndexStatsResponse;
+import com.example.book.entity.Book;
+import com.example.book.entity.BookStatus;
+import com.example.book.event.BookChangedEvent;
+import com.example.book.repository.BookRepository;
+import com.example.book.search.PrefixIndex;
+import com.example.book.service.BookSuggestService;
+import com.example.book.util.Batches;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Triển khai của BookSuggestService
+ * <p>
+ * Index gợi ý ({@link PrefixIndex}) nằm trong bộ nhớ của ứng dụng:
+ * <ul>
+ *     <li>Build trên thread nền khi khởi động bằng cách stream toàn bộ sách ACTIVE từ database;
+ *     build lỗi chỉ được log, ứng dụng vẫn chạy và thống kê index báo {@code ready=false}</li>
+ *     <li>Cập nhật theo {@link BookChangedEvent} sau khi transaction commit</li>
+ * </ul>
+ * Sách thay đổi trong lúc đang build được ghi nhận để bước build không ghi đè dữ liệu mới hơn.
+ */
+@Service
+@Slf4j
+public class BookSuggestServiceImpl implements BookSuggestService, ApplicationRunner, DisposableBean {
+
+    /**
+     * Số gợi ý tối đa cho một request
+     */
+    static final int MAX_LIMIT = 50;
+
+    private final BookRepository bookRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ThreadPoolTaskExecutor executor;
+    private final PrefixIndex index = new PrefixIndex();
+
+    /**
+     * ID sách thay đổi trong lúc build, null khi không build
+     */
+    private volatile Set<Long> changedDuringBuild;
+    private volatile boolean ready;
+    private volatile Long buildMillis;
+    private volatile LocalDateTime builtAt;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public BookSuggestServiceImpl(BookRepository bookRepository, PlatformTransactionManager transactionManager) {
+        this.bookRepository = bookRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+
+        // Không khai báo thành bean để không thay thế applicationTaskExecutor mặc định của Spring Boot
+        this.executor = new ThreadPoolTaskExecutor();
+        this.executor.setCorePoolSize(1);
+        this.executor.setMaxPoolSize(1);
+        this.executor.setThreadNamePrefix("suggest-index-");
+        this.executor.initialize();
+    }
+
+    /**
+     * Bắt đầu build index trên thread nền khi ứng dụng khởi động, không chặn việc khởi động
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        executor.execute(this::buildIndex);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    /**
+     * Build index từ database; lỗi được log và index giữ trạng thái chưa sẵn sàng
+     */
+    void buildIndex() {
+        long start = System.currentTimeMillis();
+        changedDuringBuild = ConcurrentHashMap.newKeySet();
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<Book> books = bookRepository.streamByStatus(BookStatus.ACTIVE)) {
+                    books.forEach(book -> {
+                        if (!changedDuringBuild.contains(book.getId())) {
+                            index.put(book.getId(), book.getTitle(), book.getAuthor());
+                        }
+                        // Không giữ entity trong persistence context
+                        entityManager.detach(book);
+                    });
+                }
+            });
+        } catch (RuntimeException e) {
+            log.error("Failed to build suggest index after {} books, suggestions only cover books changed since startup",
+                    index.size(), e);
+            return;
+        } finally {
+            changedDuringBuild = null;
+        }
+        buildMillis = System.currentTimeMillis() - start;
+        builtAt = LocalDateTime.now();
+        ready = true;
+
+        PrefixIndex.Stats stats = index.stats();
+        log.info("Built suggest index: {} books, {} tokens, {} nodes, ~{} KB in {} ms",
+                stats.getBooks(), stats.getTokens(), stats.getNodes(), stats.getEstimatedBytes() / 1024, buildMillis);
+    }
+
+    /**
+     * Gợi ý sách theo tiền tố
+     *
+     * @param query chuỗi người dùng đang gõ
+     * @param limit số gợi ý tối đa (tối đa {@value #MAX_LIMIT})
+     * @return danh sách gợi ý
+     */
+    @Override
+    public List<BookSuggestionResponse> suggest(String query, int limit) {
+        return index.search(query, Math.min(Math.max(limit, 1), MAX_LIMIT)).stream()
+                .map(entry -> BookSuggestionResponse.builder()
+                        .id(entry.getId())
+                        .title(entry.getTitle())
+                        .author(entry.getAuthor())
+                        .build())
+                .toList();
+    }
+
+    /**
+     * Lấy thống kê và ước lượng bộ nhớ của index gợi ý
+     *
+     * @return SuggestIndexStatsResponse
+     */
+    @Override
+    public SuggestIndexStatsResponse getIndexStats() {
+        PrefixIndex.Stats stats = index.stats();
+        long perMillion = stats.getBooks() == 0 ? 0 : stats.getEstimatedBytes() * 1_000_000L / stats.getBooks();
+        return SuggestIndexStatsResponse.builder()
+                .ready(ready)
+                .books(stats.getBooks())
+                .tokens(stats.getTokens())
+                .nodes(stats.getNodes())
+                .estimatedBytes(stats.getEstimatedBytes())
+                .estimatedBytesPerMillionBooks(perMillion)
+                .buildMillis(buildMillis)
+                .builtAt(builtAt)
+                .build();
+    }
+
+    /**
+     * Cập nhật index khi sách thay đổi (sau khi transaction commit)
+     * <p>
+     * Sự kiện không đổi tiêu đề/tác giả (ví dụ: đổi giá) được bỏ qua, không đọc lại sách.
+     *
+     * @param event sự kiện thay đổi sách
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        if (event.getType() == BookChangedEvent.Type.UPDATED && !event.isTextChanged()) {
+            return;
+        }
+        Set<Long> changed = changedDuringBuild;
+        if (changed != null) {
+            changed.addAll(event.getBookIds());
+        }
+
+        if (event.getType() == BookChangedEvent.Type.DELETED) {
+            event.getBookIds().forEach(index::remove);
+            return;
+        }
+        for (List<Long> chunk : Batches.partition(event.getBookIds(), Batches.IN_CLAUSE_CHUNK_SIZE)) {
+            Set<Long> missing = new HashSet<>(chunk);
+            for (Book book : bookRepository.findAllById(chunk)) {
+                missing.remove(book.getId());
+                if (book.getStatus() == BookStatus.ACTIVE) {
+                    index.put(book.getId(), book.getTitle(), book.getAuthor());
+                } else {
+                    index.remove(book.getId());
+                }
+            }
+            // Sách không còn trong database
+            missing.forEach(index::remove);
+        }
+    }
+}
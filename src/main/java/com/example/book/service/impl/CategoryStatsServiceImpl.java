@@ -0,0 +1,192 @@
+package com.example.book.service.impl;
+
+import com.example.book.cache.CategoryCache;
+import com.example.book.dto.response.CategoryStatsResponse;
+import com.example.book.entity.BookStatus;
+import com.example.book.entity.CategoryStats;
+import com.example.book.exception.ErrorCode;
+import com.example.book.exception.ResourceNotFoundException;
+import com.example.book.repository.CategoryStatsRepository;
+import com.example.book.service.CategoryStatsService;
+import com.example.book.util.Batches;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Triển khai của CategoryStatsService
+ * <p>
+ * Bảng category_stats được duy trì theo hai cách:
+ * <ul>
+ *     <li>Delta: BookServiceImpl gọi {@link #bookAdded}/{@link #bookRemoved} trong cùng transaction với thao tác ghi sách
+ *     (đổi danh mục hoặc đổi giá = bỏ giá trị cũ + thêm giá trị mới)</li>
+ *     <li>Tính lại: thao tác hàng loạt gọi {@link #recompute} cho các danh mục bị ảnh hưởng,
+ *     và {@link #reconcile} tính lại toàn bộ định kỳ để sửa sai lệch</li>
+ * </ul>
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class CategoryStatsServiceImpl implements CategoryStatsService {
+
+    private final CategoryStatsRepository categoryStatsRepository;
+    private final CategoryCache categoryCache;
+
+    /**
+     * Cộng một sách ACTIVE vào thống kê danh mục
+     *
+     * @param categoryId ID danh mục
+     * @param price giá sách
+     */
+    @Override
+    public void bookAdded(Long categoryId, BigDecimal price) {
+        if (categoryStatsRepository.addBook(categoryId, price, LocalDateTime.now()) == 0) {
+            // Danh mục chưa có dòng thống kê: tính từ bảng books (đã bao gồm sách vừa thêm)
+            recompute(List.of(categoryId));
+        }
+    }
+
+    /**
+     * Trừ một sách ACTIVE khỏi thống kê danh mục
+     * <p>
+     * Nếu giá bị loại bỏ đang là giá thấp nhất/cao nhất, giá trị biên được tính lại từ bảng books.
+     *
+     * @param categoryId ID danh mục
+     * @param price giá sách
+     */
+    @Override
+    public void bookRemoved(Long categoryId, BigDecimal price) {
+        if (categoryStatsRepository.removeBook(categoryId, price, LocalDateTime.now()) == 0) {
+            recompute(List.of(categoryId));
+            return;
+        }
+        categoryStatsRepository.recomputeExtremes(categoryId, price, BookStatus.ACTIVE);
+    }
+
+    /**
+     * Tính lại thống kê của các danh mục từ bảng books
+     *
+     * @param categoryIds danh sách ID danh mục
+     */
+    @Override
+    public void recompute(Collection<Long> categoryIds) {
+        List<Long> ids = categoryIds.stream().filter(Objects::nonNull).distinct().toList();
+        for (List<Long> chunk : Batches.partition(ids, Batches.IN_CLAUSE_CHUNK_SIZE)) {
+            Map<Long, CategoryStats> computed = categoryStatsRepository
+                    .aggregateByStatusAndCategoryIdIn(BookStatus.ACTIVE, chunk).stream()
+                    .collect(Collectors.toMap(CategoryStats::getCategoryId, Function.identity()));
+            Map<Long, CategoryStats> existing = categoryStatsRepository.findAllById(chunk).stream()
+                    .collect(Collectors.toMap(CategoryStats::getCategoryId, Function.identity()));
+
+            for (Long categoryId : chunk) {
+                apply(existing.get(categoryId), computed.getOrDefault(categoryId, new CategoryStats(categoryId)));
+            }
+        }
+    }
+
+    /**
+     * Tính lại toàn bộ thống kê từ bảng books (một query GROUP BY), chạy định kỳ
+     *
+     * @return số danh mục có thống kê bị lệch và đã được sửa
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${category.stats.reconcile-interval:PT10M}")
+    public int reconcile() {
+        Map<Long, CategoryStats> computed = categoryStatsRepository.aggregateByStatus(BookStatus.ACTIVE).stream()
+                .collect(Collectors.toMap(CategoryStats::getCategoryId, Function.identity()));
+        Map<Long, CategoryStats> existing = categoryStatsRepository.findAll().stream()
+                .collect(Collectors.toMap(CategoryStats::getCategoryId, Function.identity()));
+
+        Set<Long> categoryIds = new HashSet<>(computed.keySet());
+        categoryIds.addAll(existing.keySet());
+
+        int drifted = 0;
+        for (Long categoryId : categoryIds) {
+            if (apply(existing.get(categoryId), computed.getOrDefault(categoryId, new CategoryStats(categoryId)))) {
+                drifted++;
+            }
+        }
+        if (drifted > 0) {
+            log.info("Reconciled category stats: {} of {} categories corrected", drifted, categoryIds.size());
+        }
+        return drifted;
+    }
+
+    /**
+     * Lấy thống kê của tất cả danh mục
+     *
+     * @return danh sách thống kê theo ID danh mục
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<CategoryStatsResponse> getAllStats() {
+        return categoryStatsRepository.findAll().stream()
+                .sorted(Comparator.comparing(CategoryStats::getCategoryId))
+                .map(CategoryStatsServiceImpl::toResponse)
+                .toList();
+    }
+
+    /**
+     * Lấy thống kê của một danh mục
+     *
+     * @param categoryId ID danh mục
+     * @return thống kê danh mục (toàn số 0 nếu danh mục chưa có sách)
+     * @throws ResourceNotFoundException nếu không tìm thấy danh mục
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CategoryStatsResponse getStats(Long categoryId) {
+        return categoryStatsRepository.findById(categoryId)
+                .map(CategoryStatsServiceImpl::toResponse)
+                .orElseGet(() -> {
+                    categoryCache.findById(categoryId)
+                            .orElseThrow(() -> new ResourceNotFoundException(ErrorCode.CATEGORY_NOT_FOUND, "Category with ID " + categoryId + " not found"));
+                    return toResponse(new CategoryStats(categoryId));
+                });
+    }
+
+    /**
+     * Ghi số liệu đã tính vào dòng thống kê (tạo mới nếu chưa có)
+     * <p>
+     * Dòng mới được tạo bằng {@link CategoryStatsRepository#insertIfAbsent}: transaction khác có thể vừa tạo
+     * dòng của cùng danh mục, {@code save} sẽ lỗi trùng khóa chính và làm hỏng cả thao tác ghi sách.
+     *
+     * @return true nếu số liệu thay đổi
+     */
+    private boolean apply(CategoryStats row, CategoryStats computed) {
+        if (row == null) {
+            if (computed.getBookCount() == 0) {
+                return false;
+            }
+            categoryStatsRepository.insertIfAbsent(computed.getCategoryId(), LocalDateTime.now());
+            row = categoryStatsRepository.findById(computed.getCategoryId())
+                    .orElseThrow(() -> new IllegalStateException("Category stats row " + computed.getCategoryId() + " not found"));
+        }
+        return row.replaceWith(computed);
+    }
+
+    private static CategoryStatsResponse toResponse(CategoryStats stats) {
+        BigDecimal average = stats.getBookCount() == 0
+                ? null
+                : stats.getPriceSum().divide(BigDecimal.valueOf(stats.getBookCount()), 2, RoundingMode.HALF_UP);
+        return CategoryStatsResponse.builder()
+                .categoryId(stats.getCategoryId())
+                .bookCount(stats.getBookCount())
+                .priceSum(stats.getPriceSum())
+                .averagePrice(average)
+                .minPrice(stats.getMinPrice())
+                .maxPrice(stats.getMaxPrice())
+                .updatedAt(stats.getUpdatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.book.service.impl;
+
+import com.example.book.dto.request.UpdateRolePermissionsRequest;
+import com.example.book.dto.response.PermissionSnapshotResponse;
+import com.example.book.dto.response.RolePermissionsResponse;
+import com.example.book.entity.Permission;
+import com.example.book.entity.Role;
+import com.example.book.event.PermissionsChangedEvent;
+import com.example.book.exception.BusinessException;
+import com.example.book.exception.ErrorCode;
+import com.example.book.exception.ResourceNotFoundException;
+import com.example.book.repository.PermissionRepository;
+import com.example.book.repository.RoleRepository;
+import com.example.book.security.permission.PermissionSnapshot;
+import com.example.book.security.permission.RoleEnum;
+import com.example.book.security.service.PermissionService;
+import com.example.book.service.PermissionAdminService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Triển khai của PermissionAdminService
+ * <p>
+ * Sửa quyền chỉ ghi vào bảng role_permissions rồi phát {@link PermissionsChangedEvent};
+ * {@link PermissionService} nạp lại snapshot sau khi transaction commit, các instance khác nhận thay đổi
+ * qua lần đối chiếu định kỳ.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PermissionAdminServiceImpl implements PermissionAdminService {
+
+    private final RoleRepository roleRepository;
+    private final PermissionRepository permissionRepository;
+    private final PermissionService permissionService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Lấy bộ permission đang được áp dụng khi kiểm tra quyền
+     *
+     * @return PermissionSnapshotResponse
+     */
+    @Override
+    public PermissionSnapshotResponse getSnapshot() {
+        return toResponse(permissionService.getSnapshot());
+    }
+
+    /**
+     * Nạp lại permission từ database ngay lập tức
+     *
+     * @return PermissionSnapshotResponse bộ permission sau khi nạp lại
+     */
+    @Override
+    public PermissionSnapshotResponse reload() {
+        return toResponse(permissionService.reload());
+    }
+
+    /**
+     * Thay toàn bộ danh sách permission của một role
+     * <p>
+     * Không cho sửa ADMIN: ADMIN luôn có mọi quyền theo RoleEnum (tránh tự khóa quyền quản trị).
+     *
+     * @param roleName tên role
+     * @param request  danh sách tên permission mới
+     * @return RolePermissionsResponse danh sách permission của role sau khi sửa
+     * @throws ResourceNotFoundException nếu không tìm thấy role
+     * @throws BusinessException         nếu role là ADMIN hoặc có tên permission không tồn tại
+     */
+    @Override
+    @Transactional
+    public RolePermissionsResponse updateRolePermissions(String roleName, UpdateRolePermissionsRequest request) {
+        Role role = roleRepository.findByName(roleName)
+                .orElseThrow(() -> new ResourceNotFoundException(ErrorCode.ROLE_NOT_FOUND, "Role " + roleName + " not found"));
+        if (RoleEnum.ADMIN.getName().equalsIgnoreCase(role.getName())) {
+            throw new BusinessException(ErrorCode.INVALID_ROLE_PERMISSIONS,
+                    "Permissions of role " + role.getName() + " cannot be changed");
+        }
+
+        List<Permission> permissions = permissionRepository.findByNameIn(request.getPermissions());
+        if (permissions.size() != request.getPermissions().size()) {
+            Set<String> found = permissions.stream().map(Permission::getName).collect(Collectors.toSet());
+            Set<String> unknown = request.getPermissions().stream()
+                    .filter(name -> !found.contains(name))
+                    .collect(Collectors.toCollection(TreeSet::new));
+            throw new BusinessException(ErrorCode.INVALID_ROLE_PERMISSIONS, "Unknown permissions: " + unknown);
+        }
+
+        role.setPermissions(new HashSet<>(permissions));
+        roleRepository.save(role);
+        eventPublisher.publishEvent(new PermissionsChangedEvent());
+        log.info("Updated role {} with {} permissions", role.getName(), permissions.size());
+
+        return RolePermissionsResponse.builder()
+                .role(role.getName())
+                .permissions(permissions.stream().map(Permission::getName).sorted().toList())
+                .build();
+    }
+
+    private static PermissionSnapshotResponse toResponse(PermissionSnapshot snapshot) {
+        List<RolePermissionsResponse> roles = snapshot.getGrants().entrySet().stream()
+                .map(entry -> RolePermissionsResponse.builder()
+                        .role(entry.getKey())
+                        .permissions(entry.getValue().stream()
+                                .map(PermissionSnapshot.Grant::getName)
+                                .toList())
+                        .build())
+                .toList();
+        return PermissionSnapshotResponse.builder()
+                .version(snapshot.getVersion())
+                .source(snapshot.getSource().name())
+                .loadedAt(snapshot.getLoadedAt())
+                .roles(roles)
+                .build();
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.book.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tiện ích chia danh sách lớn thành các lô nhỏ (batch)
+ * <p>
+ * Dùng để giới hạn số tham số trong mệnh đề IN và số bản ghi mỗi lần flush.
+ */
+public final class Batches {
+
+    /**
+     * Số tham số tối đa trong một mệnh đề IN
+     */
+    public static final int IN_CLAUSE_CHUNK_SIZE = 1000;
+
+    private Batches() {
+        // Utility class - do not instantiate
+    }
+
+    /**
+     * Chia danh sách thành các lô liên tiếp, mỗi lô tối đa {@code size} phần tử
+     *
+     * @param list danh sách nguồn
+     * @param size kích thước tối đa mỗi lô
+     * @param <T>  kiểu phần tử
+     * @return danh sách các lô (view trên danh sách nguồn)
+     */
+    public static <T> List<List<T>> partition(List<T> list, int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Batch size must be greater than 0");
+        }
+        List<List<T>> batches = new ArrayList<>((list.size() + size - 1) / size);
+        for (int from = 0; from < list.size(); from += size) {
+            batches.add(list.subList(from, Math.min(from + size, list.size())));
+        }
+        return batches;
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.book.cache;
+
+import com.example.book.dto.response.BookResponse;
+import com.example.book.event.BookChangedEvent;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Kiểm tra {@link BookDetailCache} không để kết quả đọc cũ quay lại cache sau khi sách thay đổi
+ */
+class BookDetailCacheTest {
+
+    private BookDetailCache cache;
+
+    @BeforeEach
+    void setUp() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCacheNames(List.of());
+        cacheManager.registerCustomCache(CacheNames.BOOK_DETAILS, Caffeine.newBuilder().build());
+        cache = new BookDetailCache(cacheManager);
+    }
+
+    @Test
+    void putIfFreshStoresResponseWhenNothingChanged() {
+        long stamp = cache.stamp(1L);
+        cache.putIfFresh(book(1L, 0L, "v0"), stamp);
+
+        assertThat(cache.get(1L).getTitle()).isEqualTo("v0");
+    }
+
+    @Test
+    void readStartedBeforeInvalidationIsNotCached() {
+        // Luồng đọc lấy stamp và đọc bản v0 trước khi transaction cập nhật commit
+        long stamp = cache.stamp(1L);
+        BookResponse staleRead = book(1L, 0L, "v0");
+
+        cache.onBookChanged(BookChangedEvent.updated(1L));
+        cache.putIfFresh(staleRead, stamp);
+
+        assertThat(cache.get(1L)).isNull();
+    }
+
+    @Test
+    void readStartedAfterInvalidationIsCached() {
+        cache.putIfFresh(book(1L, 0L, "v0"), cache.stamp(1L));
+        cache.invalidate(1L);
+
+        long stamp = cache.stamp(1L);
+        cache.putIfFresh(book(1L, 1L, "v1"), stamp);
+
+        assertThat(cache.get(1L).getVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    void olderVersionNeverReplacesNewerEntry() {
+        long slowStamp = cache.stamp(1L);
+        long fastStamp = cache.stamp(1L);
+        cache.putIfFresh(book(1L, 2L, "v2"), fastStamp);
+
+        cache.putIfFresh(book(1L, 1L, "v1"), slowStamp);
+
+        assertThat(cache.get(1L).getTitle()).isEqualTo("v2");
+    }
+
+    @Test
+    void invalidationOfOneIdDoesNotAffectOthersEntries() {
+        cache.putIfFresh(book(2L, 0L, "other"), cache.stamp(2L));
+
+        cache.invalidate(1L);
+
+        assertThat(cache.get(2L).getTitle()).isEqualTo("other");
+    }
+
+    @Test
+    void constructorRejectsMissingCache() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCacheNames(List.of());
+
+        assertThatThrownBy(() -> new BookDetailCache(cacheManager))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private static BookResponse book(Long id, Long version, String title) {
+        return BookResponse.builder().id(id).version(version).title(title).build();
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.book.cache;
+
+import com.example.book.config.CacheConfig;
+import com.example.book.entity.Category;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link CategoryCache} chỉ giữ bản sao immutable và gán danh mục cho Book bằng reference, không query thêm
+ */
+@DataJpaTest(properties = {
+        "spring.sql.init.mode=never",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({CacheConfig.class, CategoryCache.class})
+class CategoryCacheTest {
+
+    @Autowired
+    private CategoryCache categoryCache;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Long categoryId;
+
+    @BeforeEach
+    void setUp() {
+        categoryCache.invalidateAll();
+        Category category = new Category("CACHED", "Cached");
+        entityManager.persist(category);
+        entityManager.flush();
+        entityManager.clear();
+        categoryId = category.getId();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findByIdLoadsOnceAndServesBothLookups() {
+        CategoryView byId = categoryCache.findById(categoryId).orElseThrow();
+        CategoryView byCode = categoryCache.findByCode("CACHED").orElseThrow();
+
+        assertThat(byId.getName()).isEqualTo("Cached");
+        assertThat(byId.getCreatedAt()).isNotNull();
+        assertThat(byCode).isSameAs(byId);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void cachedViewIsNotAttachedToPersistenceContext() {
+        categoryCache.findById(categoryId).orElseThrow();
+        // Request sau: persistence context mới
+        entityManager.clear();
+
+        Category managed = entityManager.find(Category.class, categoryId);
+
+        // Entity của transaction hiện tại được load riêng, không phải đối tượng trong cache
+        assertThat(managed).isNotNull();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void getReferenceReturnsUninitializedProxyWithoutQueryingCategories() {
+        categoryCache.findById(categoryId).orElseThrow();
+        entityManager.clear();
+        statistics.clear();
+
+        Category reference = categoryCache.getReference(categoryId).orElseThrow();
+
+        assertThat(reference.getId()).isEqualTo(categoryId);
+        assertThat(Hibernate.isInitialized(reference)).isFalse();
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void unknownCategoryIsNotCached() {
+        assertThat(categoryCache.getReference(-1L)).isEmpty();
+        assertThat(categoryCache.findById(-1L)).isEmpty();
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.book.controller;
+
+import com.example.book.dto.request.UpdateBookRequest;
+import com.example.book.entity.Book;
+import com.example.book.entity.Category;
+import com.example.book.repository.BookRepository;
+import com.example.book.repository.CategoryRepository;
+import com.example.book.security.jwt.JwtUtil;
+import com.example.book.service.BookService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * ETag/If-None-Match/If-Match của {@link BookController} trên H2: 304, 412, 409
+ * và ETag không bị cache chi tiết giữ lại phiên bản cũ sau khi cập nhật
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:conditional;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.sql.init.mode=never",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureMockMvc
+class BookControllerConditionalRequestTest {
+
+    @SpyBean
+    private BookService bookService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    private String token;
+    private Category category;
+    private Long bookId;
+
+    @BeforeEach
+    void setUp() {
+        token = jwtUtil.generateToken(1L, "ADMIN");
+        category = categoryRepository.findByCode("CONDITIONAL")
+                .orElseGet(() -> categoryRepository.save(new Category("CONDITIONAL", "Conditional")));
+        bookId = bookRepository.save(new Book("978-" + System.nanoTime() % 1_000_000_000L, "Title", "Author",
+                new BigDecimal("10.00"), category)).getId();
+    }
+
+    @Test
+    void getReturnsNotModifiedWhenIfNoneMatchIsCurrentVersion() throws Exception {
+        mockMvc.perform(authorized(get("/api/books/{id}", bookId)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""));
+
+        mockMvc.perform(authorized(get("/api/books/{id}", bookId)).header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void etagFollowsUpdateEvenWhenDetailWasCached() throws Exception {
+        // Đưa bản v0 vào cache chi tiết
+        mockMvc.perform(authorized(get("/api/books/{id}", bookId)))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""));
+
+        mockMvc.perform(authorized(put("/api/books/{id}", bookId)).header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON).content(updateBody("Second")))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+
+        mockMvc.perform(authorized(get("/api/books/{id}", bookId)))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(jsonPath("$.data.title").value("Second"));
+        mockMvc.perform(authorized(put("/api/books/{id}", bookId)).header(HttpHeaders.IF_MATCH, "\"1\"")
+                        .contentType(MediaType.APPLICATION_JSON).content(updateBody("Third")))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"2\""));
+    }
+
+    @Test
+    void putReturnsPreconditionFailedWhenIfMatchIsOutdated() throws Exception {
+        mockMvc.perform(authorized(put("/api/books/{id}", bookId)).header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON).content(updateBody("Second")))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(authorized(put("/api/books/{id}", bookId)).header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON).content(updateBody("Lost update")))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void putReturnsPreconditionFailedForWeakOrMalformedIfMatch() throws Exception {
+        for (String ifMatch : new String[]{"W/\"0\"", "0", "\"abc\"", "\"\""}) {
+            mockMvc.perform(authorized(put("/api/books/{id}", bookId)).header(HttpHeaders.IF_MATCH, ifMatch)
+                            .contentType(MediaType.APPLICATION_JSON).content(updateBody("Ignored")))
+                    .andExpect(status().isPreconditionFailed());
+        }
+
+        mockMvc.perform(authorized(get("/api/books/{id}", bookId)))
+                .andExpect(jsonPath("$.data.title").value("Title"));
+    }
+
+    @Test
+    void putWithoutIfMatchOrWithWildcardSkipsVersionCheck() throws Exception {
+        mockMvc.perform(authorized(put("/api/books/{id}", bookId))
+                        .contentType(MediaType.APPLICATION_JSON).content(updateBody("Second")))
+                .andExpect(status().isOk());
+        mockMvc.perform(authorized(put("/api/books/{id}", bookId)).header(HttpHeaders.IF_MATCH, "*")
+                        .contentType(MediaType.APPLICATION_JSON).content(updateBody("Third")))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"2\""));
+    }
+
+    @Test
+    void putReturnsConflictWhenConcurrentWriteWinsAtFlush() throws Exception {
+        // Phiên bản khớp lúc đọc nhưng transaction khác ghi trước khi flush
+        doThrow(new ObjectOptimisticLockingFailureException(Book.class, bookId))
+                .when(bookService).updateBook(eq(bookId), any(), any());
+
+        mockMvc.perform(authorized(put("/api/books/{id}", bookId)).header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON).content(updateBody("Second")))
+                .andExpect(status().isConflict());
+    }
+
+    private MockHttpServletRequestBuilder authorized(MockHttpServletRequestBuilder request) {
+        return request.header(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+    }
+
+    private String updateBody(String title) throws Exception {
+        UpdateBookRequest request = new UpdateBookRequest(
+                "978-" + bookId, title, "Author", new BigDecimal("12.50"), category.getId());
+        return objectMapper.writeValueAsString(request);
+    }
+}
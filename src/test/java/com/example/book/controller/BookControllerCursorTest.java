@@ -0,0 +1,185 @@
+package com.example.book.controller;
+
+import com.example.book.dto.response.BookResponse;
+import com.example.book.dto.response.CursorPageResponse;
+import com.example.book.entity.Book;
+import com.example.book.entity.BookStatus;
+import com.example.book.entity.Category;
+import com.example.book.pagination.BookSortKey;
+import com.example.book.repository.BookRepository;
+import com.example.book.repository.CategoryRepository;
+import com.example.book.repository.CategoryStatsRepository;
+import com.example.book.security.jwt.JwtUtil;
+import com.example.book.service.BookService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Phân trang theo cursor ({@code GET /api/books/cursor}): không trùng / sót bản ghi qua ranh giới trang,
+ * trang cuối không có cursor, cursor sai hoặc bị sửa trả 400
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:book-cursor;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.sql.init.mode=never",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureMockMvc
+class BookControllerCursorTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private CategoryStatsRepository categoryStatsRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Book> active = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        Category category = categoryRepository.save(new Category("CURSOR", "Cursor"));
+        for (int i = 0; i < 7; i++) {
+            Book book = new Book("ISBN-C" + i, "Title " + i, "Author", new BigDecimal("10.00"), category);
+            if (i == 3) {
+                book.setStatus(BookStatus.DELETED);
+                bookRepository.save(book);
+            } else {
+                active.add(bookRepository.save(book));
+            }
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        categoryStatsRepository.deleteAllInBatch();
+        bookRepository.deleteAllInBatch();
+        categoryRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void idPagesCoverEveryActiveBookOnceAndLastPageHasNoCursor() {
+        // 6 sách ACTIVE, 3 sách/trang: trang cuối vừa đủ, không được báo còn trang sau
+        List<CursorPageResponse<BookResponse>> pages = readAll(BookSortKey.ID, 3);
+
+        assertThat(pages).hasSize(2);
+        assertThat(pages.get(0).isHasNext()).isTrue();
+        assertThat(pages.get(0).getNextCursor()).isNotNull();
+        assertThat(pages.get(1).isHasNext()).isFalse();
+        assertThat(pages.get(1).getNextCursor()).isNull();
+        assertThat(ids(pages)).containsExactlyElementsOf(active.stream().map(Book::getId).toList());
+    }
+
+    @Test
+    void partialLastPage() {
+        List<CursorPageResponse<BookResponse>> pages = readAll(BookSortKey.ID, 4);
+
+        assertThat(pages).extracting(page -> page.getContent().size()).containsExactly(4, 2);
+        assertThat(pages.get(1).getNextCursor()).isNull();
+        assertThat(ids(pages)).doesNotHaveDuplicates().hasSize(active.size());
+    }
+
+    @Test
+    void createdAtPagesBreakTiesById() {
+        // Bốn sách cùng createdAt, ranh giới trang rơi vào giữa nhóm đồng hạng
+        LocalDateTime tie = LocalDateTime.of(2024, 1, 1, 12, 0);
+        for (Book book : active.subList(1, 5)) {
+            jdbcTemplate.update("UPDATE books SET created_at = ? WHERE id = ?", Timestamp.valueOf(tie), book.getId());
+        }
+        jdbcTemplate.update("UPDATE books SET created_at = ? WHERE id = ?",
+                Timestamp.valueOf(tie.plusDays(1)), active.get(0).getId());
+        jdbcTemplate.update("UPDATE books SET created_at = ? WHERE id = ?",
+                Timestamp.valueOf(tie.minusDays(1)), active.get(5).getId());
+
+        List<CursorPageResponse<BookResponse>> pages = readAll(BookSortKey.CREATED_AT, 2);
+
+        List<Long> expected = new ArrayList<>();
+        expected.add(active.get(0).getId());
+        active.subList(1, 5).stream().map(Book::getId).sorted(Comparator.reverseOrder()).forEach(expected::add);
+        expected.add(active.get(5).getId());
+        assertThat(pages).hasSize(3);
+        assertThat(ids(pages)).containsExactlyElementsOf(expected);
+        assertThat(pages.get(2).getNextCursor()).isNull();
+    }
+
+    @Test
+    void malformedOrTamperedCursorReturnsBadRequest() throws Exception {
+        String token = jwtUtil.generateToken(1L, "ADMIN");
+        String idCursor = bookService.getBooksByCursor(null, 1, BookSortKey.ID).getNextCursor();
+        List<String[]> invalid = List.of(
+                new String[]{"not base64!", "ID"},
+                new String[]{encode("ID|abc|"), "ID"},
+                new String[]{encode("ID|1"), "ID"},
+                new String[]{encode("ID|1||extra"), "ID"},
+                new String[]{encode("TITLE|1|"), "ID"},
+                new String[]{encode("CREATED_AT|1|"), "CREATED_AT"},
+                new String[]{encode("CREATED_AT|1|yesterday"), "CREATED_AT"},
+                // Cursor hợp lệ nhưng được cấp cho khóa sắp xếp khác
+                new String[]{idCursor, "CREATED_AT"});
+
+        for (String[] request : invalid) {
+            mockMvc.perform(get("/api/books/cursor").param("after", request[0]).param("sort", request[1])
+                            .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.data.errorCode").value("INVALID_CURSOR"));
+        }
+    }
+
+    private List<CursorPageResponse<BookResponse>> readAll(BookSortKey sortKey, int size) {
+        List<CursorPageResponse<BookResponse>> pages = new ArrayList<>();
+        String after = null;
+        do {
+            CursorPageResponse<BookResponse> page = bookService.getBooksByCursor(after, size, sortKey);
+            pages.add(page);
+            after = page.getNextCursor();
+        } while (after != null && pages.size() <= active.size());
+        return pages;
+    }
+
+    private static List<Long> ids(List<CursorPageResponse<BookResponse>> pages) {
+        return pages.stream().flatMap(page -> page.getContent().stream()).map(BookResponse::getId).toList();
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
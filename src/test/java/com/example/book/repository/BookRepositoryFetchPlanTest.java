@@ -0,0 +1,144 @@
+package com.example.book.repository;
+
+import com.example.book.dto.request.BookFilterRequest;
+import com.example.book.dto.response.BookResponse;
+import com.example.book.entity.Book;
+import com.example.book.entity.BookStatus;
+import com.example.book.entity.Category;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Đảm bảo số câu SQL khi load một trang sách kèm category không phụ thuộc vào kích thước trang (không N+1)
+ */
+@DataJpaTest(properties = {
+        "spring.sql.init.mode=never",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class BookRepositoryFetchPlanTest {
+
+    private static final int BOOK_COUNT = 60;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        // Mỗi sách thuộc một category riêng để N+1 (nếu có) thể hiện rõ theo kích thước trang
+        for (int i = 0; i < BOOK_COUNT; i++) {
+            Category category = new Category("CAT-" + i, "Category " + i);
+            entityManager.persist(category);
+            entityManager.persist(new Book("ISBN-" + i, "Title " + i, "Author " + i, BigDecimal.TEN, category));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void findByStatusIssuesSameNumberOfStatementsForAnyPageSize() {
+        long smallPage = countStatements(() -> touchCategories(bookRepository.findByStatus(BookStatus.ACTIVE, PageRequest.of(0, 10)).getContent()));
+        long largePage = countStatements(() -> touchCategories(bookRepository.findByStatus(BookStatus.ACTIVE, PageRequest.of(0, 50)).getContent()));
+
+        // 1 câu select (kèm join category) + 1 câu count
+        assertThat(smallPage).isEqualTo(2);
+        assertThat(largePage).isEqualTo(smallPage);
+    }
+
+    @Test
+    void findSliceByStatusIssuesSingleStatementForAnyPageSize() {
+        long smallPage = countStatements(() -> {
+            Slice<Book> slice = bookRepository.findSliceByStatus(BookStatus.ACTIVE, PageRequest.of(0, 10));
+            touchCategories(slice.getContent());
+        });
+        long largePage = countStatements(() -> {
+            Slice<Book> slice = bookRepository.findSliceByStatus(BookStatus.ACTIVE, PageRequest.of(0, 50));
+            touchCategories(slice.getContent());
+        });
+
+        assertThat(smallPage).isEqualTo(1);
+        assertThat(largePage).isEqualTo(smallPage);
+    }
+
+    @Test
+    void findByIdAndStatusLoadsCategoryInSameStatement() {
+        Page<Book> firstPage = bookRepository.findByStatus(BookStatus.ACTIVE, PageRequest.of(0, 1));
+        Long id = firstPage.getContent().get(0).getId();
+        entityManager.clear();
+
+        long statements = countStatements(() -> touchCategories(List.of(
+                bookRepository.findByIdAndStatus(id, BookStatus.ACTIVE).orElseThrow())));
+
+        assertThat(statements).isEqualTo(1);
+    }
+
+    @Test
+    void filteredFindAllLoadsCategoryInSameStatement() {
+        BookFilterRequest filter = new BookFilterRequest();
+        filter.setAuthor("Author 1");
+        filter.setMinPrice(BigDecimal.ONE);
+
+        long statements = countStatements(() -> {
+            Page<Book> page = bookRepository.findAll(BookSpecifications.matching(BookStatus.ACTIVE, filter),
+                    PageRequest.of(0, 5, Sort.by("price", "id")));
+            // "Author 1" và "Author 10".."Author 19"
+            assertThat(page.getTotalElements()).isEqualTo(11);
+            touchCategories(page.getContent());
+        });
+
+        // 1 câu select (kèm join category) + 1 câu count
+        assertThat(statements).isEqualTo(2);
+    }
+
+    @Test
+    void responseProjectionDoesNotLoadEntities() {
+        long statements = countStatements(() -> {
+            Page<BookResponse> page = bookRepository.findResponsesByStatus(BookStatus.ACTIVE, PageRequest.of(0, 50));
+            assertThat(page.getContent()).hasSize(50);
+            assertThat(page.getContent()).allSatisfy(book -> assertThat(book.getCategory().getCode()).startsWith("CAT-"));
+            assertThat(page.getTotalElements()).isEqualTo(BOOK_COUNT);
+        });
+
+        assertThat(statements).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    private long countStatements(Runnable action) {
+        entityManager.clear();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    /**
+     * Truy cập field của category giống như BookMapper.toResponse
+     */
+    private void touchCategories(List<Book> books) {
+        books.forEach(book -> assertThat(book.getCategory().getName()).isNotNull());
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.book.repository;
+
+import com.example.book.entity.Book;
+import com.example.book.entity.BookStatus;
+import com.example.book.entity.Category;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Câu UPDATE/COUNT đổi giá hàng loạt: {@code ROUND(price * multiplier / divisor + delta, 2)} và các trường hợp bị bỏ qua
+ */
+@DataJpaTest(properties = {
+        "spring.sql.init.mode=never",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+class BookRepositoryRepricingTest {
+
+    private static final BigDecimal MAX_PRICE = new BigDecimal("999999999999.99");
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        category = new Category("REPRICE", "Reprice");
+        entityManager.persist(category);
+    }
+
+    @Test
+    void repriceAppliesFractionalMultiplierAndRoundsHalfUp() {
+        Long even = persist("1", "10.00");
+        Long rounded = persist("2", "9.99");
+
+        // 1.125 = 1125 / 1000
+        int updated = reprice(List.of(even, rounded), 1125, 1000, BigDecimal.ZERO);
+
+        assertThat(updated).isEqualTo(2);
+        assertThat(price(even)).isEqualByComparingTo("11.25");
+        // 9.99 * 1.125 = 11.23875
+        assertThat(price(rounded)).isEqualByComparingTo("11.24");
+        assertThat(version(even)).isEqualTo(1L);
+    }
+
+    @Test
+    void repriceAddsDeltaAfterMultiplying() {
+        Long id = persist("1", "20.00");
+
+        reprice(List.of(id), 9, 10, new BigDecimal("-0.01"));
+
+        assertThat(price(id)).isEqualByComparingTo("17.99");
+    }
+
+    @Test
+    void repriceSkipsNonPositiveOverflowingAndUnchangedPrices() {
+        Long negative = persist("1", "5.00");
+        Long overflow = persist("2", "600000000000.00");
+        Long unchanged = persist("3", "0.01");
+        Long changed = persist("4", "100.00");
+
+        // 5 * 2 - 10 = 0 (không dương); 600000000000 * 2 - 10 > MAX_PRICE (tràn cột)
+        int updated = reprice(List.of(negative, overflow, changed), 2, 1, new BigDecimal("-10"));
+        // 0.01 * 1.001 = 0.01001 -> 0.01 (giá không đổi)
+        updated += reprice(List.of(unchanged), 1001, 1000, BigDecimal.ZERO);
+
+        assertThat(updated).isEqualTo(1);
+        assertThat(price(negative)).isEqualByComparingTo("5.00");
+        assertThat(price(overflow)).isEqualByComparingTo("600000000000.00");
+        assertThat(price(unchanged)).isEqualByComparingTo("0.01");
+        assertThat(price(changed)).isEqualByComparingTo("190.00");
+        assertThat(version(unchanged)).isZero();
+        assertThat(version(changed)).isEqualTo(1L);
+    }
+
+    @Test
+    void repriceIgnoresDeletedBooks() {
+        Long id = persist("1", "10.00");
+        Book book = entityManager.find(Book.class, id);
+        book.setStatus(BookStatus.DELETED);
+        entityManager.flush();
+
+        assertThat(reprice(List.of(id), 2, 1, BigDecimal.ZERO)).isZero();
+        assertThat(price(id)).isEqualByComparingTo("10.00");
+    }
+
+    @Test
+    void dryRunCountMatchesUpdateWithoutChangingPrices() {
+        List<Long> ids = List.of(
+                persist("1", "5.00"),
+                persist("2", "600000000000.00"),
+                persist("3", "100.00"),
+                persist("4", "250.00"));
+
+        long counted = bookRepository.countRepriceableByIdIn(ids, BookStatus.ACTIVE, 2L, 1L, new BigDecimal("-10"), MAX_PRICE);
+        assertThat(counted).isEqualTo(2);
+        assertThat(price(ids.get(2))).isEqualByComparingTo("100.00");
+
+        assertThat(reprice(ids, 2, 1, new BigDecimal("-10"))).isEqualTo((int) counted);
+    }
+
+    @Test
+    void keysetPagingWalksCategoryInIdOrder() {
+        Long first = persist("1", "1.00");
+        Long second = persist("2", "2.00");
+        Long third = persist("3", "3.00");
+
+        List<Long> page = bookRepository.findIdsByCategoryIdAndStatusAfter(
+                category.getId(), BookStatus.ACTIVE, 0L, PageRequest.of(0, 2));
+        List<Long> next = bookRepository.findIdsByCategoryIdAndStatusAfter(
+                category.getId(), BookStatus.ACTIVE, page.get(page.size() - 1), PageRequest.of(0, 2));
+
+        assertThat(page).containsExactly(first, second);
+        assertThat(next).containsExactly(third);
+        assertThat(bookRepository.countByCategoryIdAndStatus(category.getId(), BookStatus.ACTIVE)).isEqualTo(3);
+    }
+
+    private Long persist(String suffix, String price) {
+        Book book = new Book("ISBN-R" + suffix, "Title " + suffix, "Author", new BigDecimal(price), category);
+        entityManager.persist(book);
+        entityManager.flush();
+        return book.getId();
+    }
+
+    private int reprice(List<Long> ids, long multiplier, long divisor, BigDecimal delta) {
+        return bookRepository.repriceByIdIn(ids, BookStatus.ACTIVE, multiplier, divisor, delta, MAX_PRICE, LocalDateTime.now());
+    }
+
+    private BigDecimal price(Long id) {
+        entityManager.clear();
+        return entityManager.find(Book.class, id).getPrice();
+    }
+
+    private Long version(Long id) {
+        entityManager.clear();
+        return entityManager.find(Book.class, id).getVersion();
+    }
+}
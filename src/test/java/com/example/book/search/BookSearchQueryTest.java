@@ -0,0 +1,60 @@
+package com.example.book.search;
+
+import com.example.book.exception.BusinessException;
+import com.example.book.exception.ErrorCode;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * {@link BookSearchQuery}: biểu thức BOOLEAN MODE an toàn, chuỗi rỗng / quá ngắn / quá dài bị từ chối
+ */
+class BookSearchQueryTest {
+
+    @Test
+    void eachWordBecomesRequiredPrefixTerm() {
+        assertThat(BookSearchQuery.toBooleanMode("Clean Code")).isEqualTo("+clean* +code*");
+        assertThat(BookSearchQuery.toBooleanMode("Tô Hoài 2024")).isEqualTo("+tô* +hoài* +2024*");
+    }
+
+    @Test
+    void operatorsAreStrippedAndDuplicatesDropped() {
+        assertThat(BookSearchQuery.toBooleanMode("+java -\"spring\" (boot)* java@2 ~x"))
+                .isEqualTo("+java* +spring* +boot*");
+    }
+
+    @Test
+    void termCountIsCapped() {
+        String query = "aa bb cc dd ee ff gg hh ii jj kk ll";
+
+        assertThat(BookSearchQuery.toBooleanMode(query).split(" ")).hasSize(BookSearchQuery.MAX_TERMS);
+    }
+
+    @Test
+    void blankQueryIsRejected() {
+        assertInvalid(null);
+        assertInvalid("");
+        assertInvalid("   ");
+    }
+
+    @Test
+    void queryWithoutLongEnoughWordIsRejected() {
+        assertInvalid("a");
+        assertInvalid("a b c");
+        assertInvalid("+-*\"()");
+        assertThat(BookSearchQuery.toBooleanMode("c programming")).isEqualTo("+programming*");
+    }
+
+    @Test
+    void tooLongQueryIsRejected() {
+        assertInvalid("x".repeat(BookSearchQuery.MAX_QUERY_LENGTH + 1));
+    }
+
+    private static void assertInvalid(String query) {
+        assertThatThrownBy(() -> BookSearchQuery.toBooleanMode(query))
+                .isInstanceOf(BusinessException.class)
+                .extracting(e -> ((BusinessException) e).getErrorCode())
+                .isEqualTo(ErrorCode.INVALID_SEARCH_QUERY);
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.book.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link PrefixIndex}: chuẩn hóa từ, tìm theo tiền tố trên tiêu đề/tác giả, cập nhật / xóa và thống kê
+ */
+class PrefixIndexTest {
+
+    private final PrefixIndex index = new PrefixIndex();
+
+    @Test
+    void normalizeLowercasesStripsVietnameseMarksAndSeparators() {
+        assertThat(PrefixIndex.normalize("Đắc Nhân Tâm!")).isEqualTo("dac nhan tam");
+        assertThat(PrefixIndex.normalize("  C++ / Java-Spring  ")).isEqualTo("c java spring");
+        assertThat(PrefixIndex.normalize("Tiếng Việt 2024")).isEqualTo("tieng viet 2024");
+        assertThat(PrefixIndex.normalize("  --  ")).isEmpty();
+        assertThat(PrefixIndex.normalize(null)).isEmpty();
+    }
+
+    @Test
+    void queryIsNormalizedLikeIndexedText() {
+        index.put(1, "Đắc Nhân Tâm", "Dale Carnegie");
+
+        assertThat(ids("DẮC nhân")).containsExactly(1L);
+        assertThat(ids("dac-nhan")).containsExactly(1L);
+        assertThat(ids("  ")).isEmpty();
+        assertThat(ids("!!")).isEmpty();
+    }
+
+    @Test
+    void everyTermMustPrefixAWordInTitleOrAuthor() {
+        index.put(1, "Clean Code", "Robert Martin");
+        index.put(2, "Clean Architecture", "Robert Martin");
+        index.put(3, "Refactoring", "Martin Fowler");
+
+        assertThat(ids("cle")).containsExactly(1L, 2L);
+        assertThat(ids("clean rob")).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(ids("mart")).containsExactlyInAnyOrder(1L, 2L, 3L);
+        assertThat(ids("code martin")).containsExactly(1L);
+        assertThat(ids("fowler refac")).containsExactly(3L);
+        // Chỉ khớp đầu từ, không khớp giữa từ
+        assertThat(ids("ode")).isEmpty();
+        assertThat(ids("clean fowler")).isEmpty();
+    }
+
+    @Test
+    void resultsFollowMatchedWordOrderThenIdAndRespectLimit() {
+        index.put(5, "Java Basics", "Alice");
+        index.put(2, "JavaScript Guide", "Bob");
+        index.put(3, "Jakarta EE", "Carol");
+        index.put(4, "Java Streams", "Dave");
+
+        // jakarta < java < javascript, cùng từ thì theo ID
+        assertThat(ids("ja")).containsExactly(3L, 4L, 5L, 2L);
+        assertThat(ids("ja", 2)).containsExactly(3L, 4L);
+        assertThat(ids("ja", 0)).isEmpty();
+    }
+
+    @Test
+    void bookMatchingSeveralWordsIsReturnedOnce() {
+        index.put(1, "Data Data", "Dan");
+
+        assertThat(ids("da")).containsExactly(1L);
+    }
+
+    @Test
+    void reputWithChangedTitleDropsOldWords() {
+        assertThat(index.put(1, "Old Title", "Author")).isTrue();
+
+        assertThat(index.put(1, "New Name", "Author")).isTrue();
+
+        assertThat(ids("old")).isEmpty();
+        assertThat(ids("title")).isEmpty();
+        assertThat(ids("new name")).containsExactly(1L);
+        assertThat(ids("author")).containsExactly(1L);
+        assertThat(index.search("new", 10).get(0).getTitle()).isEqualTo("New Name");
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void reputWithSameTextIsNoOp() {
+        index.put(1, "Title", "Author");
+        PrefixIndex.Stats before = index.stats();
+
+        assertThat(index.put(1, "Title", "Author")).isFalse();
+
+        PrefixIndex.Stats after = index.stats();
+        assertThat(after.getNodes()).isEqualTo(before.getNodes());
+        assertThat(after.getTokens()).isEqualTo(before.getTokens());
+        assertThat(ids("title")).containsExactly(1L);
+    }
+
+    @Test
+    void removeDropsBookAndPrunesEmptyNodes() {
+        index.put(1, "Shared Word", "Alpha");
+        index.put(2, "Shared Other", "Beta");
+
+        assertThat(index.remove(1)).isTrue();
+        assertThat(index.remove(1)).isFalse();
+        assertThat(index.remove(99)).isFalse();
+
+        assertThat(ids("shared")).containsExactly(2L);
+        assertThat(ids("word")).isEmpty();
+        assertThat(ids("alpha")).isEmpty();
+        assertThat(index.size()).isEqualTo(1);
+
+        index.remove(2);
+        assertThat(index.stats().getNodes()).isEqualTo(1);
+    }
+
+    @Test
+    void statsCountBooksWordsNodesAndIdSlots() {
+        PrefixIndex.Stats empty = index.stats();
+        assertThat(empty.getBooks()).isZero();
+        assertThat(empty.getTokens()).isZero();
+        assertThat(empty.getNodes()).isEqualTo(1);
+        assertThat(empty.getIdSlots()).isZero();
+
+        // Từ "ab" và "ac": root -> a -> {b, c}
+        index.put(1, "ab", "ac");
+        index.put(2, "ab", "ab");
+
+        PrefixIndex.Stats stats = index.stats();
+        assertThat(stats.getBooks()).isEqualTo(2);
+        assertThat(stats.getTokens()).isEqualTo(2);
+        assertThat(stats.getNodes()).isEqualTo(4);
+        assertThat(stats.getIdSlots()).isGreaterThanOrEqualTo(3);
+        assertThat(stats.getEstimatedBytes()).isGreaterThan(empty.getEstimatedBytes());
+    }
+
+    private List<Long> ids(String query) {
+        return ids(query, 10);
+    }
+
+    private List<Long> ids(String query, int limit) {
+        return index.search(query, limit).stream().map(PrefixIndex.Entry::getId).toList();
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.book.security.jwt;
+
+import com.example.book.cache.CacheNames;
+import com.example.book.config.CacheConfig;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link VerifiedTokenCache}: chỉ cache token hợp lệ, entry hết hạn đúng theo claim exp và đọc không gia hạn
+ */
+@SpringBootTest(classes = CacheConfig.class)
+class VerifiedTokenCacheTest {
+
+    private static final String SECRET = "test-secret-key-for-hmac-sha256-algorithm-minimum-32-characters";
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Cache<Object, Object> nativeCache;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        org.springframework.cache.Cache cache = cacheManager.getCache(CacheNames.VERIFIED_TOKENS);
+        cache.clear();
+        nativeCache = (Cache<Object, Object>) cache.getNativeCache();
+    }
+
+    @Test
+    void validTokenIsVerifiedOnceAndExpiresAtExpClaim() {
+        VerifiedTokenCache tokenCache = tokenCache(Duration.ofMinutes(10));
+        String token = new JwtUtil(SECRET, Duration.ofMinutes(10).toMillis()).generateToken(1L, "ADMIN");
+
+        // Thống kê cộng dồn qua các test dùng chung context
+        long hitsBefore = nativeCache.stats().hitCount();
+        JwtPrincipal first = tokenCache.getOrVerify(token).orElseThrow();
+        JwtPrincipal second = tokenCache.getOrVerify(token).orElseThrow();
+
+        assertThat(second).isSameAs(first);
+        assertThat(nativeCache.stats().hitCount() - hitsBefore).isEqualTo(1);
+        assertThat(nativeCache.asMap()).hasSize(1);
+
+        Duration remaining = expiresAfter(nativeCache.asMap().keySet().iterator().next());
+        // exp của JWT làm tròn xuống theo giây
+        assertThat(remaining).isBetween(Duration.ofMinutes(10).minusSeconds(2), Duration.ofMinutes(10));
+    }
+
+    @Test
+    void readDoesNotExtendEntry() throws InterruptedException {
+        nativeCache.put("key", principal(Instant.now().plus(Duration.ofMinutes(5))));
+        Duration before = expiresAfter("key");
+
+        Thread.sleep(20);
+        assertThat(nativeCache.getIfPresent("key")).isNotNull();
+
+        assertThat(expiresAfter("key")).isLessThan(before);
+    }
+
+    @Test
+    void entryExpiresWithToken() throws InterruptedException {
+        nativeCache.put("key", principal(Instant.now().plusMillis(200)));
+        assertThat(nativeCache.getIfPresent("key")).isNotNull();
+
+        Thread.sleep(300);
+
+        assertThat(nativeCache.getIfPresent("key")).isNull();
+    }
+
+    @Test
+    void principalWithoutFutureExpIsNeverServed() {
+        nativeCache.put("expired", principal(Instant.now().minusSeconds(1)));
+        nativeCache.put("no-exp", principal(null));
+
+        assertThat(nativeCache.getIfPresent("expired")).isNull();
+        assertThat(nativeCache.getIfPresent("no-exp")).isNull();
+    }
+
+    @Test
+    void expiredOrInvalidTokenIsNotCached() {
+        VerifiedTokenCache tokenCache = tokenCache(Duration.ofMinutes(10));
+        String expired = new JwtUtil(SECRET, -Duration.ofMinutes(1).toMillis()).generateToken(1L, "ADMIN");
+        String forged = new JwtUtil("another-secret-key-for-hmac-sha256-algorithm-minimum-32-chars", 600_000L)
+                .generateToken(1L, "ADMIN");
+
+        assertThat(tokenCache.getOrVerify(expired)).isEmpty();
+        assertThat(tokenCache.getOrVerify(forged)).isEmpty();
+        assertThat(tokenCache.getOrVerify("not-a-jwt")).isEmpty();
+
+        nativeCache.cleanUp();
+        assertThat(nativeCache.estimatedSize()).isZero();
+    }
+
+    private VerifiedTokenCache tokenCache(Duration expiration) {
+        return new VerifiedTokenCache(new JwtUtil(SECRET, expiration.toMillis()), cacheManager);
+    }
+
+    private Duration expiresAfter(Object key) {
+        Optional<Duration> duration = nativeCache.policy().expireVariably().orElseThrow().getExpiresAfter(key);
+        return duration.orElseThrow();
+    }
+
+    private static JwtPrincipal principal(Instant expiresAt) {
+        return new JwtPrincipal(1L, "ADMIN", expiresAt);
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.book.security.permission;
+
+import com.example.book.security.service.UrlMatcherService;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Đảm bảo {@link CompiledPermissionMatcher} cho kết quả giống hệt matcher cũ
+ * ({@link UrlMatcherService#matchesPermission} áp dụng cho từng permission) trên mọi tổ hợp URL x METHOD sinh ra
+ */
+class CompiledPermissionMatcherTest {
+
+    private static final List<String> METHODS = List.of("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS", "get", "Patch");
+
+    /**
+     * Pattern bổ sung để phủ các nhánh không có trong PermissionEnum: regex fallback, biến giữa segment,
+     * pattern không compile được, tiền tố rỗng
+     */
+    private static final List<String[]> EXTRA_RULES = List.<String[]>of(
+            new String[]{"GET", "/files/{name}.txt"},
+            new String[]{"GET", "/v1.0/items/{id}"},
+            new String[]{"POST", "/pairs/{a}{b}"},
+            new String[]{"PUT", "/broken/(unclosed"},
+            new String[]{"DELETE", "/span/{a/b}/end"},
+            new String[]{"get", "/lower/{id}"},
+            new String[]{"PATCH", "/**"},
+            new String[]{"GET", "/api/books/{id}/{id}"},
+            new String[]{"GET", ""}
+    );
+
+    private final UrlMatcherService urlMatcherService = new UrlMatcherService();
+
+    @Test
+    void matchesSameRequestsAsUrlMatcherServiceForEveryRole() {
+        Set<String> urls = sampleUrls(Arrays.stream(PermissionEnum.values()).map(PermissionEnum::getUrl).toList());
+
+        for (RoleEnum role : RoleEnum.values()) {
+            CompiledPermissionMatcher matcher = CompiledPermissionMatcher.compile(role.getPermissions());
+            List<String[]> rules = role.getPermissions().stream()
+                    .map(permission -> new String[]{permission.getMethod(), permission.getUrl()})
+                    .toList();
+            assertEquivalent(matcher, rules, urls);
+        }
+    }
+
+    @Test
+    void matchesSameRequestsAsUrlMatcherServiceForEdgeCasePatterns() {
+        List<String[]> rules = new ArrayList<>(EXTRA_RULES);
+        Arrays.stream(PermissionEnum.values())
+                .filter(permission -> permission.getMethod().equals("GET"))
+                .forEach(permission -> rules.add(new String[]{permission.getMethod(), permission.getUrl()}));
+
+        CompiledPermissionMatcher.Builder builder = CompiledPermissionMatcher.builder();
+        rules.forEach(rule -> builder.add(rule[0], rule[1]));
+
+        Set<String> urls = sampleUrls(rules.stream().map(rule -> rule[1]).toList());
+        assertEquivalent(builder.build(), rules, urls);
+    }
+
+    @Test
+    void pathVariableDoesNotMatchEmptyOrMultipleSegments() {
+        CompiledPermissionMatcher matcher = CompiledPermissionMatcher.builder()
+                .add("PUT", "/api/books/{id}")
+                .build();
+
+        assertThat(matcher.matches("/api/books/1", "PUT")).isTrue();
+        assertThat(matcher.matches("/api/books/", "PUT")).isFalse();
+        assertThat(matcher.matches("/api/books/1/delete", "PUT")).isFalse();
+        assertThat(matcher.matches("/api/books/1", "GET")).isFalse();
+    }
+
+    private void assertEquivalent(CompiledPermissionMatcher matcher, List<String[]> rules, Set<String> urls) {
+        for (String url : urls) {
+            for (String method : METHODS) {
+                boolean expected = rules.stream().anyMatch(rule -> legacyMatches(rule, url, method));
+                assertThat(matcher.matches(url, method))
+                        .as("%s %s", method, url)
+                        .isEqualTo(expected);
+            }
+        }
+    }
+
+    /**
+     * Matcher cũ; pattern không compile được làm request bị từ chối
+     */
+    private boolean legacyMatches(String[] rule, String url, String method) {
+        try {
+            return urlMatcherService.matchesPermission(rule[1], rule[0], url, method);
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Sinh URL từ các pattern: thay biến bằng nhiều giá trị, thêm/bớt segment, đổi hoa thường, ...
+     */
+    private static Set<String> sampleUrls(List<String> patterns) {
+        Set<String> urls = new LinkedHashSet<>(List.of(
+                "", "/", "//", "/api", "/api/", "/api/books", "/api/books/", "//api/books", "/API/books",
+                "/api/booksX", "/api/books/1", "/api/books/1/", "/api/books/1/delete", "/api/books/1/delete/x",
+                "/api/books/{id}", "/api/books/**", "/api/admin", "/api/admin/caches/", "/api/category-stats-x",
+                "/files/a.txt", "/files/aXtxt", "/files/.txt", "/v1.0/items/1", "/v1x0/items/1", "/pairs/ab", "/pairs/a",
+                "/broken/(unclosed", "/span/x/end", "/span/{a/b}/end", "/lower/1", "/unknown/path"
+        ));
+        for (String pattern : patterns) {
+            String base = pattern.endsWith("/**") ? pattern.substring(0, pattern.length() - 3) : pattern;
+            for (String value : List.of("1", "abc", "", "a/b", "{id}", "-")) {
+                String url = base.replaceAll("\\{[^}/]+\\}", value);
+                urls.add(url);
+                urls.add(url + "/");
+                urls.add(url + "/x");
+                urls.add(url + "x");
+                urls.add(url.toUpperCase());
+                if (!url.isEmpty()) {
+                    urls.add(url.substring(0, url.length() - 1));
+                }
+            }
+            urls.add(pattern);
+        }
+        return urls;
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.book.security.permission;
+
+import com.example.book.dto.request.UpdateRolePermissionsRequest;
+import com.example.book.entity.Permission;
+import com.example.book.entity.Role;
+import com.example.book.repository.PermissionRepository;
+import com.example.book.repository.RoleRepository;
+import com.example.book.security.service.PermissionService;
+import com.example.book.service.PermissionAdminService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Seed lại khi khởi động không ghi đè quyền admin đã sửa, và {@link PermissionService#reload()} thay snapshot
+ * khi database thay đổi
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:permissions;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.sql.init.mode=never",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+class PermissionSeederTest {
+
+    @Autowired
+    private PermissionSeeder permissionSeeder;
+
+    @Autowired
+    private PermissionService permissionService;
+
+    @Autowired
+    private PermissionAdminService permissionAdminService;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private PermissionRepository permissionRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void restoreRolePermissions() {
+        setSyncRolePermissions(true);
+        permissionSeeder.seed();
+        setSyncRolePermissions(false);
+    }
+
+    @Test
+    void reseedKeepsPermissionsEditedByAdmin() {
+        permissionAdminService.updateRolePermissions(RoleEnum.USER.getName(),
+                new UpdateRolePermissionsRequest(Set.of(PermissionEnum.BOOK_READ.name())));
+
+        permissionSeeder.seed();
+
+        assertThat(permissionNames(RoleEnum.USER)).containsExactly(PermissionEnum.BOOK_READ.name());
+        assertThat(permissionNames(RoleEnum.ADMIN)).isEqualTo(enumNames(RoleEnum.ADMIN));
+        assertThat(grantNames(permissionService.getSnapshot(), RoleEnum.USER))
+                .containsExactly(PermissionEnum.BOOK_READ.name());
+    }
+
+    @Test
+    void newEnumPermissionReachesExistingRole() {
+        permissionAdminService.updateRolePermissions(RoleEnum.USER.getName(),
+                new UpdateRolePermissionsRequest(Set.of(PermissionEnum.BOOK_READ.name())));
+        // Database từ phiên bản trước khi có BOOK_PATCH
+        permissionSeeder.deletePermissionAndRolePermissions(PermissionEnum.BOOK_PATCH.name());
+
+        permissionSeeder.seed();
+
+        // Quyền mới được cấp theo RoleEnum, quyền admin đã bỏ (BOOK_UPDATE, ...) không quay lại
+        assertThat(permissionNames(RoleEnum.USER))
+                .containsExactlyInAnyOrder(PermissionEnum.BOOK_READ.name(), PermissionEnum.BOOK_PATCH.name());
+        assertThat(permissionNames(RoleEnum.ADMIN)).contains(PermissionEnum.BOOK_PATCH.name());
+        assertThat(permissionService.hasPermission(RoleEnum.USER.getName(), "/api/books/1", "PATCH")).isTrue();
+    }
+
+    @Test
+    void reseedWithSyncEnabledResetsRolesToEnum() {
+        permissionAdminService.updateRolePermissions(RoleEnum.USER.getName(),
+                new UpdateRolePermissionsRequest(Set.of(PermissionEnum.BOOK_READ.name())));
+
+        setSyncRolePermissions(true);
+        permissionSeeder.seed();
+
+        assertThat(permissionNames(RoleEnum.USER)).isEqualTo(enumNames(RoleEnum.USER));
+    }
+
+    @Test
+    void reloadSwapsSnapshotOnlyWhenDatabaseChanges() {
+        PermissionSnapshot before = permissionService.reload();
+        assertThat(before.getSource()).isEqualTo(PermissionSnapshot.Source.DATABASE);
+        assertThat(before.getMatcher(RoleEnum.USER.getName()).matches("/api/books/1", "GET")).isTrue();
+
+        // Sửa trực tiếp trong database (như instance khác ghi), không phát event
+        transactionTemplate.executeWithoutResult(status -> {
+            Role role = roleRepository.findByName(RoleEnum.USER.getName()).orElseThrow();
+            Permission update = permissionRepository.findByName(PermissionEnum.BOOK_UPDATE.name()).orElseThrow();
+            role.setPermissions(new HashSet<>(Set.of(update)));
+        });
+        assertThat(permissionService.getSnapshot()).isSameAs(before);
+
+        PermissionSnapshot after = permissionService.reload();
+
+        assertThat(after).isNotSameAs(before);
+        assertThat(after.getVersion()).isGreaterThan(before.getVersion());
+        assertThat(permissionService.getSnapshot()).isSameAs(after);
+        assertThat(grantNames(after, RoleEnum.USER)).containsExactly(PermissionEnum.BOOK_UPDATE.name());
+        assertThat(after.getMatcher(RoleEnum.USER.getName()).matches("/api/books/1", "GET")).isFalse();
+        assertThat(permissionService.hasPermission(RoleEnum.USER.getName(), "/api/books/1", "GET")).isFalse();
+        // Snapshot cũ vẫn nguyên vẹn cho request đang chạy
+        assertThat(before.getMatcher(RoleEnum.USER.getName()).matches("/api/books/1", "GET")).isTrue();
+
+        assertThat(permissionService.reload()).isSameAs(after);
+    }
+
+    private Set<String> permissionNames(RoleEnum roleEnum) {
+        return transactionTemplate.execute(status -> roleRepository.findByName(roleEnum.getName()).orElseThrow()
+                .getPermissions().stream()
+                .map(Permission::getName)
+                .collect(Collectors.toSet()));
+    }
+
+    private static Set<String> enumNames(RoleEnum roleEnum) {
+        return roleEnum.getPermissions().stream().map(Enum::name).collect(Collectors.toSet());
+    }
+
+    private static Set<String> grantNames(PermissionSnapshot snapshot, RoleEnum roleEnum) {
+        return snapshot.getGrants().get(roleEnum.getName()).stream()
+                .map(PermissionSnapshot.Grant::getName)
+                .collect(Collectors.toSet());
+    }
+
+    private void setSyncRolePermissions(boolean sync) {
+        PermissionSeeder target = AopTestUtils.getTargetObject(permissionSeeder);
+        ReflectionTestUtils.setField(target, "syncRolePermissions", sync);
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.book.service.impl;
+
+import com.example.book.dto.request.BulkDeleteBookRequest;
+import com.example.book.dto.request.CreateBookRequest;
+import com.example.book.dto.response.BulkCreateBookResponse;
+import com.example.book.dto.response.BulkItemError;
+import com.example.book.dto.response.BulkStatusChangeResponse;
+import com.example.book.entity.Book;
+import com.example.book.entity.BookStatus;
+import com.example.book.entity.Category;
+import com.example.book.exception.BusinessException;
+import com.example.book.exception.ErrorCode;
+import com.example.book.repository.BookRepository;
+import com.example.book.repository.CategoryRepository;
+import com.example.book.repository.CategoryStatsRepository;
+import com.example.book.service.BookBulkService;
+import com.example.book.service.CategoryStatsService;
+import com.example.book.util.Batches;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tạo / xóa mềm sách hàng loạt qua {@link BookBulkService}
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:book-bulk;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.sql.init.mode=never",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "book.bulk.max-items=100"
+})
+class BookBulkServiceImplTest {
+
+    @Autowired
+    private BookBulkService bookBulkService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private CategoryStatsRepository categoryStatsRepository;
+
+    @Autowired
+    private CategoryStatsService categoryStatsService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Category category;
+    private Category otherCategory;
+
+    @BeforeEach
+    void setUp() {
+        category = categoryRepository.save(new Category("BULK", "Bulk"));
+        otherCategory = categoryRepository.save(new Category("OTHER", "Other"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        categoryStatsRepository.deleteAllInBatch();
+        bookRepository.deleteAllInBatch();
+        categoryRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void createBooksInsertsValidItemsAndReportsEachFailure() {
+        persistBooks(category, "EXIST", 1);
+
+        List<CreateBookRequest> requests = Arrays.asList(
+                create("NEW-1", category.getId()),
+                create("NEW-2", otherCategory.getId()),
+                create("", category.getId()),
+                create("NEW-1", category.getId()),
+                create("ISBN-EXIST0", category.getId()),
+                create("NEW-3", -1L),
+                null);
+
+        BulkCreateBookResponse response = bookBulkService.createBooks(requests);
+
+        assertThat(response.getTotal()).isEqualTo(7);
+        assertThat(response.getCreated()).isEqualTo(2);
+        assertThat(response.getFailed()).isEqualTo(5);
+        assertThat(response.getErrors()).extracting(BulkItemError::getIndex).containsExactly(2L, 3L, 4L, 5L, 6L);
+        assertThat(response.getErrors().get(0).getMessages()).containsExactly("ISBN must not be blank");
+        assertThat(response.getErrors().get(1).getMessages()).containsExactly("Duplicate ISBN NEW-1 in request");
+        assertThat(response.getErrors().get(2).getMessages()).containsExactly("Book with ISBN ISBN-EXIST0 already exists");
+        assertThat(response.getErrors().get(3).getMessages()).containsExactly("Category with ID -1 not found");
+        assertThat(response.getErrors().get(4).getMessages()).containsExactly("Item must not be null");
+
+        assertThat(bookRepository.countByCategoryIdAndStatus(category.getId(), BookStatus.ACTIVE)).isEqualTo(2);
+        assertThat(bookRepository.countByCategoryIdAndStatus(otherCategory.getId(), BookStatus.ACTIVE)).isEqualTo(1);
+        assertThat(categoryStatsRepository.findById(category.getId()).orElseThrow().getBookCount()).isEqualTo(2);
+        assertThat(categoryStatsRepository.findById(otherCategory.getId()).orElseThrow().getBookCount()).isEqualTo(1);
+    }
+
+    @Test
+    void createBooksInsertsAcrossSeveralJdbcBatches() {
+        // batch_size 50: hai lô flush/clear
+        List<CreateBookRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            requests.add(create("BATCH-" + i, category.getId()));
+        }
+
+        BulkCreateBookResponse response = bookBulkService.createBooks(requests);
+
+        assertThat(response.getCreated()).isEqualTo(100);
+        assertThat(response.getErrors()).isEmpty();
+        assertThat(bookRepository.countByCategoryIdAndStatus(category.getId(), BookStatus.ACTIVE)).isEqualTo(100);
+    }
+
+    @Test
+    void createBooksRejectsRequestOverLimit() {
+        List<CreateBookRequest> requests = Collections.nCopies(101, create("LIMIT", category.getId()));
+
+        assertThatThrownBy(() -> bookBulkService.createBooks(requests))
+                .isInstanceOf(BusinessException.class)
+                .extracting(e -> ((BusinessException) e).getErrorCode())
+                .isEqualTo(ErrorCode.BULK_LIMIT_EXCEEDED);
+        assertThat(bookRepository.count()).isZero();
+    }
+
+    @Test
+    void deleteByCategoryWalksEveryChunk() {
+        // Nhiều hơn hai lô keyset
+        int total = 2 * Batches.IN_CLAUSE_CHUNK_SIZE + 5;
+        persistBooks(category, "D", total);
+        persistBooks(otherCategory, "K", 3);
+        Book alreadyDeleted = persistBooks(category, "X", 1).get(0);
+        alreadyDeleted.setStatus(BookStatus.DELETED);
+        bookRepository.save(alreadyDeleted);
+        transactionTemplate.executeWithoutResult(status -> categoryStatsService.recompute(List.of(category.getId())));
+        assertThat(categoryStatsRepository.findById(category.getId()).orElseThrow().getBookCount()).isEqualTo(total);
+
+        BulkStatusChangeResponse response = bookBulkService.deleteBooks(
+                new BulkDeleteBookRequest(null, category.getId(), null));
+
+        assertThat(response.getStatus()).isEqualTo(BookStatus.DELETED);
+        assertThat(response.getMatched()).isEqualTo(total);
+        assertThat(response.getAffected()).isEqualTo(total);
+        assertThat(bookRepository.countByCategoryIdAndStatus(category.getId(), BookStatus.ACTIVE)).isZero();
+        assertThat(bookRepository.countByCategoryIdAndStatus(category.getId(), BookStatus.DELETED)).isEqualTo(total + 1);
+        assertThat(bookRepository.countByCategoryIdAndStatus(otherCategory.getId(), BookStatus.ACTIVE)).isEqualTo(3);
+        assertThat(categoryStatsRepository.findById(category.getId()).orElseThrow().getBookCount()).isZero();
+    }
+
+    @Test
+    void deleteByCategoryIsNoOpWhenNothingActive() {
+        BulkStatusChangeResponse response = bookBulkService.deleteBooks(
+                new BulkDeleteBookRequest(null, category.getId(), null));
+
+        assertThat(response.getMatched()).isZero();
+        assertThat(response.getAffected()).isZero();
+    }
+
+    private static CreateBookRequest create(String isbn, Long categoryId) {
+        return new CreateBookRequest(isbn, "Title " + isbn, "Author", new BigDecimal("10.00"), categoryId);
+    }
+
+    private List<Book> persistBooks(Category target, String prefix, int count) {
+        List<Book> books = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            books.add(new Book("ISBN-" + prefix + i, "Title " + i, "Author", new BigDecimal("10.00"), target));
+        }
+        return transactionTemplate.execute(status -> bookRepository.saveAll(books));
+    }
+}
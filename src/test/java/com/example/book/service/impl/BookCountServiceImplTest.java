@@ -0,0 +1,121 @@
+package com.example.book.service.impl;
+
+import com.example.book.dto.request.CreateBookRequest;
+import com.example.book.dto.request.UpdateBookRequest;
+import com.example.book.entity.Book;
+import com.example.book.entity.BookStatus;
+import com.example.book.entity.Category;
+import com.example.book.event.BookChangedEvent;
+import com.example.book.repository.BookRepository;
+import com.example.book.repository.CategoryRepository;
+import com.example.book.repository.CategoryStatsRepository;
+import com.example.book.service.BookCountService;
+import com.example.book.service.BookService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Bộ đếm sách ACTIVE: COUNT(*) lười ở lần đọc đầu, tăng/giảm theo tạo/xóa sau commit,
+ * {@link BookCountService#reconcile()} sửa sai lệch
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:book-count;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.sql.init.mode=never",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+class BookCountServiceImplTest {
+
+    @Autowired
+    private BookCountService bookCountService;
+
+    @Autowired
+    private BookService bookService;
+
+    @SpyBean
+    private BookRepository bookRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private CategoryStatsRepository categoryStatsRepository;
+
+    private Category category;
+    private Book first;
+
+    @BeforeEach
+    void setUp() {
+        category = categoryRepository.save(new Category("COUNT", "Count"));
+        first = bookRepository.save(new Book("ISBN-N1", "Title", "Author", new BigDecimal("10.00"), category));
+        bookRepository.save(new Book("ISBN-N2", "Title", "Author", new BigDecimal("10.00"), category));
+        clearInvocations(bookRepository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        categoryStatsRepository.deleteAllInBatch();
+        bookRepository.deleteAllInBatch();
+        categoryRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void firstReadCountsOnceAndEventsBeforeItAreIgnored() {
+        BookCountServiceImpl counter = new BookCountServiceImpl(bookRepository);
+        // Chưa khởi tạo: sự kiện không làm lệch giá trị COUNT(*) sau này
+        counter.onBookChanged(new BookChangedEvent(BookChangedEvent.Type.CREATED, List.of(1L, 2L, 3L)));
+        verify(bookRepository, never()).countByStatus(BookStatus.ACTIVE);
+
+        assertThat(counter.getActiveBookCount().getTotal()).isEqualTo(2);
+        assertThat(counter.getActiveBookCount().getTotal()).isEqualTo(2);
+        assertThat(counter.getActiveBookCount().getReconciledAt()).isNotNull();
+        verify(bookRepository, times(1)).countByStatus(BookStatus.ACTIVE);
+    }
+
+    @Test
+    void createAndDeleteAdjustCountWithoutQuerying() {
+        bookCountService.reconcile();
+        clearInvocations(bookRepository);
+
+        Long id = bookService.createBook(
+                new CreateBookRequest("ISBN-N3", "Title", "Author", new BigDecimal("10.00"), category.getId())).getId();
+        assertThat(bookCountService.getActiveBookCount().getTotal()).isEqualTo(3);
+
+        bookService.deleteBook(id);
+        assertThat(bookCountService.getActiveBookCount().getTotal()).isEqualTo(2);
+
+        bookService.updateBook(first.getId(),
+                new UpdateBookRequest("ISBN-N1", "New", "Author", new BigDecimal("11.00"), category.getId()), null);
+        assertThat(bookCountService.getActiveBookCount().getTotal()).isEqualTo(2);
+        verify(bookRepository, never()).countByStatus(BookStatus.ACTIVE);
+    }
+
+    @Test
+    void reconcileCorrectsDrift() {
+        bookCountService.reconcile();
+
+        // Ghi thẳng vào repository: không có sự kiện, bộ đếm lệch
+        bookRepository.save(new Book("ISBN-N4", "Title", "Author", new BigDecimal("10.00"), category));
+        assertThat(bookCountService.getActiveBookCount().getTotal()).isEqualTo(2);
+
+        assertThat(bookCountService.reconcile()).isEqualTo(3);
+        assertThat(bookCountService.getActiveBookCount().getTotal()).isEqualTo(3);
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.book.service.impl;
+
+import com.example.book.dto.request.BookExportFormat;
+import com.example.book.entity.Book;
+import com.example.book.entity.BookStatus;
+import com.example.book.entity.Category;
+import com.example.book.repository.BookRepository;
+import com.example.book.repository.CategoryRepository;
+import com.example.book.service.BookExportService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Export sách dạng NDJSON / CSV: chỉ sách ACTIVE, theo ID tăng dần, CSV escape dấu phẩy và dấu nháy
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:book-export;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.sql.init.mode=never",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        // Nhỏ hơn số sách để driver phải lấy nhiều lô
+        "book.stream.fetch-size=2"
+})
+class BookExportServiceImplTest {
+
+    private static final String TRICKY_TITLE = "Hello, \"World\"";
+
+    @Autowired
+    private BookExportService bookExportService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Book first;
+    private Book second;
+    private Book third;
+
+    @BeforeEach
+    void setUp() {
+        Category category = categoryRepository.save(new Category("EXPORT", "Export, Category"));
+        first = bookRepository.save(new Book("ISBN-E1", TRICKY_TITLE, "Author One", new BigDecimal("10.50"), category));
+        Book deleted = new Book("ISBN-E2", "Deleted", "Author", new BigDecimal("5.00"), category);
+        deleted.setStatus(BookStatus.DELETED);
+        bookRepository.save(deleted);
+        second = bookRepository.save(new Book("ISBN-E3", "Plain", "Author Two", new BigDecimal("20.00"), category));
+        third = bookRepository.save(new Book("ISBN-E4", "Line\nBreak", "Author Three", new BigDecimal("30.00"), category));
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookRepository.deleteAllInBatch();
+        categoryRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void ndjsonWritesOneActiveBookPerLine() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = bookExportService.exportActiveBooks(BookExportFormat.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(count).isEqualTo(3);
+        assertThat(lines).hasSize(3);
+
+        List<JsonNode> books = new ArrayList<>();
+        for (String line : lines) {
+            books.add(objectMapper.readTree(line));
+        }
+        assertThat(books).extracting(node -> node.get("id").asLong())
+                .containsExactly(first.getId(), second.getId(), third.getId());
+        assertThat(books.get(0).get("title").asText()).isEqualTo(TRICKY_TITLE);
+        assertThat(books.get(0).get("status").asText()).isEqualTo("ACTIVE");
+        assertThat(books.get(0).get("category").get("code").asText()).isEqualTo("EXPORT");
+        assertThat(books.get(2).get("title").asText()).isEqualTo("Line\nBreak");
+    }
+
+    @Test
+    void csvEscapesCommasQuotesAndLineBreaks() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = bookExportService.exportActiveBooks(BookExportFormat.CSV, out);
+
+        String csv = out.toString(StandardCharsets.UTF_8);
+        assertThat(count).isEqualTo(3);
+        assertThat(csv).startsWith(String.join(",", BookExportServiceImpl.CSV_HEADER) + "\r\n");
+        assertThat(csv).contains("\"Hello, \"\"World\"\"\"");
+        assertThat(csv).contains("\"Export, Category\"");
+        assertThat(csv).doesNotContain("ISBN-E2");
+
+        try (CSVParser parser = CSVFormat.DEFAULT.builder().setHeader().setSkipHeaderRecord(true).build()
+                .parse(new StringReader(csv))) {
+            List<CSVRecord> records = parser.getRecords();
+            assertThat(records).extracting(record -> record.get("isbn"))
+                    .containsExactly("ISBN-E1", "ISBN-E3", "ISBN-E4");
+            assertThat(records.get(0).get("title")).isEqualTo(TRICKY_TITLE);
+            assertThat(records.get(0).get("price")).isEqualTo("10.50");
+            assertThat(records.get(0).get("categoryName")).isEqualTo("Export, Category");
+            assertThat(records.get(2).get("title")).isEqualTo("Line\nBreak");
+        }
+    }
+
+    @Test
+    void emptyExportWritesOnlyCsvHeader() throws IOException {
+        bookRepository.deleteAllInBatch();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertThat(bookExportService.exportActiveBooks(BookExportFormat.CSV, out)).isZero();
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(String.join(",", BookExportServiceImpl.CSV_HEADER) + "\r\n");
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.book.service.impl;
+
+import com.example.book.cache.CacheNames;
+import com.example.book.dto.request.CreateBookRequest;
+import com.example.book.dto.response.AuthorFacetResponse;
+import com.example.book.dto.response.BookFacetsResponse;
+import com.example.book.dto.response.CategoryFacetResponse;
+import com.example.book.dto.response.PriceBucketResponse;
+import com.example.book.entity.Book;
+import com.example.book.entity.BookStatus;
+import com.example.book.entity.Category;
+import com.example.book.repository.BookRepository;
+import com.example.book.repository.CategoryRepository;
+import com.example.book.repository.CategoryStatsRepository;
+import com.example.book.service.BookFacetService;
+import com.example.book.service.BookService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Facets của sách ACTIVE: số sách theo khoảng giá (mốc giá thuộc khoảng phía trên), danh mục và tác giả
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:book-facets;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.sql.init.mode=never",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        // Không sắp xếp, có trùng: service tự sắp xếp và bỏ trùng
+        "book.facets.price-boundaries=300,100,200,100",
+        "book.facets.author-limit=2"
+})
+class BookFacetServiceImplTest {
+
+    @Autowired
+    private BookFacetService bookFacetService;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private CategoryStatsRepository categoryStatsRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Category fiction;
+    private Category science;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(CacheNames.BOOK_FACETS).clear();
+        fiction = categoryRepository.save(new Category("FICTION", "Fiction"));
+        science = categoryRepository.save(new Category("SCIENCE", "Science"));
+
+        save("F1", "Anna", "50.00", fiction);
+        save("F2", "Anna", "99.99", fiction);
+        save("F3", "Anna", "100.00", fiction);
+        save("F4", "Binh", "150.00", fiction);
+        save("F5", "Binh", "199.99", fiction);
+        save("S1", "Binh", "200.00", science);
+        save("S2", "Chau", "300.00", science);
+        save("S3", "Chau", "1000.00", science);
+        Book deleted = new Book("ISBN-FX", "Deleted", "Anna", new BigDecimal("100.00"), science);
+        deleted.setStatus(BookStatus.DELETED);
+        bookRepository.save(deleted);
+    }
+
+    @AfterEach
+    void tearDown() {
+        categoryStatsRepository.deleteAllInBatch();
+        bookRepository.deleteAllInBatch();
+        categoryRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void priceBucketsAreLowerInclusiveAndOpenEnded() {
+        List<PriceBucketResponse> buckets = bookFacetService.getFacets().getPriceBuckets();
+
+        assertThat(buckets).hasSize(4);
+        assertBucket(buckets.get(0), null, "100", 2);
+        assertBucket(buckets.get(1), "100", "200", 3);
+        assertBucket(buckets.get(2), "200", "300", 1);
+        assertBucket(buckets.get(3), "300", null, 2);
+    }
+
+    @Test
+    void totalIsSumOfBucketsAndExcludesDeletedBooks() {
+        BookFacetsResponse facets = bookFacetService.getFacets();
+
+        assertThat(facets.getTotal()).isEqualTo(8);
+        assertThat(facets.getPriceBuckets().stream().mapToLong(PriceBucketResponse::getCount).sum())
+                .isEqualTo(facets.getTotal());
+        assertThat(facets.getCategories())
+                .extracting(CategoryFacetResponse::getCode, CategoryFacetResponse::getCount)
+                .containsExactly(tuple("FICTION", 5L), tuple("SCIENCE", 3L));
+    }
+
+    @Test
+    void authorsAreLimitedAndOrderedByCount() {
+        List<AuthorFacetResponse> authors = bookFacetService.getFacets().getAuthors();
+
+        // Anna và Binh cùng 3 sách (sách đã xóa của Anna không tính), Chau bị cắt bởi author-limit
+        assertThat(authors).extracting(AuthorFacetResponse::getAuthor).containsExactly("Anna", "Binh");
+        assertThat(authors).extracting(AuthorFacetResponse::getCount).containsExactly(3L, 3L);
+    }
+
+    @Test
+    void cachedFacetsAreEvictedWhenBookChanges() {
+        assertThat(bookFacetService.getFacets().getTotal()).isEqualTo(8);
+
+        bookService.createBook(new CreateBookRequest("ISBN-F6", "Title", "Chau", new BigDecimal("250.00"), science.getId()));
+
+        BookFacetsResponse facets = bookFacetService.getFacets();
+        assertThat(facets.getTotal()).isEqualTo(9);
+        assertThat(facets.getPriceBuckets().get(2).getCount()).isEqualTo(2);
+    }
+
+    private void save(String isbn, String author, String price, Category category) {
+        bookRepository.save(new Book("ISBN-" + isbn, "Title " + isbn, author, new BigDecimal(price), category));
+    }
+
+    private static void assertBucket(PriceBucketResponse bucket, String from, String to, long count) {
+        if (from == null) {
+            assertThat(bucket.getFrom()).isNull();
+        } else {
+            assertThat(bucket.getFrom()).isEqualByComparingTo(from);
+        }
+        if (to == null) {
+            assertThat(bucket.getTo()).isNull();
+        } else {
+            assertThat(bucket.getTo()).isEqualByComparingTo(to);
+        }
+        assertThat(bucket.getCount()).isEqualTo(count);
+    }
+}
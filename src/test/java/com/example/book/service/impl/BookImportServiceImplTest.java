@@ -0,0 +1,155 @@
+package com.example.book.service.impl;
+
+import com.example.book.cache.CategoryCache;
+import com.example.book.dto.response.BookImportResponse;
+import com.example.book.dto.response.BulkItemError;
+import com.example.book.dto.response.ImportChunkResult;
+import com.example.book.entity.Book;
+import com.example.book.entity.BookStatus;
+import com.example.book.entity.Category;
+import com.example.book.repository.BookRepository;
+import com.example.book.repository.CategoryRepository;
+import com.example.book.repository.CategoryStatsRepository;
+import com.example.book.service.BookImportService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Import CSV: mỗi chunk một transaction, upsert theo ISBN, báo cáo lỗi bị giới hạn
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:book-import;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.sql.init.mode=never",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "book.import.chunk-size=3"
+})
+class BookImportServiceImplTest {
+
+    private static final String HEADER = "isbn,title,author,price,categoryId\n";
+
+    @Autowired
+    private BookImportService bookImportService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private CategoryStatsRepository categoryStatsRepository;
+
+    @Autowired
+    private CategoryCache categoryCache;
+
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        category = categoryRepository.save(new Category("IMPORT", "Import"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        categoryStatsRepository.deleteAllInBatch();
+        bookRepository.deleteAllInBatch();
+        categoryRepository.deleteAllInBatch();
+        categoryCache.invalidateAll();
+    }
+
+    @Test
+    void failedChunkRollsBackAloneAndOtherChunksStayCommitted() {
+        // Danh mục còn trong cache nhưng đã bị xóa khỏi DB: dòng qua validate, INSERT lỗi khóa ngoại
+        Category removed = categoryRepository.save(new Category("REMOVED", "Removed"));
+        categoryCache.findById(removed.getId()).orElseThrow();
+        categoryRepository.delete(removed);
+
+        String csv = HEADER
+                + row("I1", category.getId()) + row("I2", category.getId()) + row("I3", category.getId())
+                + row("I4", category.getId()) + row("I5", removed.getId()) + row("I6", category.getId())
+                + row("I7", category.getId());
+
+        BookImportResponse response = importCsv(csv);
+
+        assertThat(response.getTotalRows()).isEqualTo(7);
+        assertThat(response.getCreated()).isEqualTo(4);
+        assertThat(response.getFailed()).isEqualTo(3);
+        assertThat(response.getChunks()).extracting(ImportChunkResult::isCommitted).containsExactly(true, false, true);
+        assertThat(response.getChunks().get(1).getFirstLine()).isEqualTo(5);
+        assertThat(response.getChunks().get(1).getLastLine()).isEqualTo(7);
+        assertThat(response.getErrors()).extracting(BulkItemError::getIndex).containsExactly(5L, 6L, 7L);
+        assertThat(isbns()).containsOnlyKeys("I1", "I2", "I3", "I7");
+    }
+
+    @Test
+    void upsertsByIsbnAndReactivatesDeletedBooks() {
+        bookRepository.save(new Book("U1", "Old title", "Author", new BigDecimal("10.00"), category));
+        Book deleted = new Book("U2", "Deleted", "Author", new BigDecimal("10.00"), category);
+        deleted.setStatus(BookStatus.DELETED);
+        bookRepository.save(deleted);
+
+        String csv = HEADER
+                + "U1,New title,Author,12.50," + category.getId() + "\n"
+                + row("U2", category.getId())
+                + row("U3", category.getId());
+
+        BookImportResponse response = importCsv(csv);
+
+        assertThat(response.getCreated()).isEqualTo(2);
+        assertThat(response.getUpdated()).isEqualTo(1);
+        assertThat(response.getFailed()).isZero();
+
+        Map<String, Book> books = isbns();
+        assertThat(books).hasSize(3);
+        assertThat(books.get("U1").getTitle()).isEqualTo("New title");
+        assertThat(books.get("U1").getPrice()).isEqualByComparingTo("12.50");
+        assertThat(books.get("U2").getStatus()).isEqualTo(BookStatus.ACTIVE);
+        assertThat(books.get("U2").getId()).isEqualTo(deleted.getId());
+    }
+
+    @Test
+    void errorReportIsCappedButCountsEveryFailedRow() {
+        StringBuilder csv = new StringBuilder(HEADER);
+        for (int i = 0; i < 1005; i++) {
+            csv.append("E").append(i).append(",Title,Author,not-a-price,").append(category.getId()).append('\n');
+        }
+
+        BookImportResponse response = importCsv(csv.toString());
+
+        assertThat(response.getTotalRows()).isEqualTo(1005);
+        assertThat(response.getFailed()).isEqualTo(1005);
+        assertThat(response.getErrors()).hasSize(1000);
+        assertThat(response.getErrors().get(0).getMessages()).contains("Price format is invalid");
+        assertThat(response.isTruncated()).isTrue();
+        assertThat(bookRepository.count()).isZero();
+    }
+
+    private BookImportResponse importCsv(String csv) {
+        return bookImportService.importBooks(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String row(String isbn, Long categoryId) {
+        return isbn + ",Title " + isbn + ",Author,10.00," + categoryId + "\n";
+    }
+
+    private Map<String, Book> isbns() {
+        return bookRepository.findAll().stream().collect(Collectors.toMap(Book::getIsbn, Function.identity()));
+    }
+}
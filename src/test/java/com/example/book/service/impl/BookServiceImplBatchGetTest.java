@@ -0,0 +1,162 @@
+package com.example.book.service.impl;
+
+import com.example.book.cache.BookDetailCache;
+import com.example.book.cache.CacheNames;
+import com.example.book.dto.response.BatchGetBooksResponse;
+import com.example.book.dto.response.BookResponse;
+import com.example.book.entity.Book;
+import com.example.book.entity.BookStatus;
+import com.example.book.entity.Category;
+import com.example.book.exception.BusinessException;
+import com.example.book.exception.ErrorCode;
+import com.example.book.repository.BookRepository;
+import com.example.book.repository.CategoryRepository;
+import com.example.book.repository.CategoryStatsRepository;
+import com.example.book.service.BookService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Lấy nhiều sách theo ID: giữ thứ tự request, bỏ ID trùng, giới hạn số ID,
+ * chỉ query các ID chưa có trong cache và ghi cache qua {@link BookDetailCache#putIfFresh}
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:book-batch-get;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.sql.init.mode=never",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "book.batch-get.max-ids=5"
+})
+class BookServiceImplBatchGetTest {
+
+    @Autowired
+    private BookService bookService;
+
+    @SpyBean
+    private BookRepository bookRepository;
+
+    @SpyBean
+    private BookDetailCache bookDetailCache;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private CategoryStatsRepository categoryStatsRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Cache bookDetails;
+    private Long a;
+    private Long b;
+    private Long c;
+    private Long deleted;
+
+    @BeforeEach
+    void setUp() {
+        bookDetails = cacheManager.getCache(CacheNames.BOOK_DETAILS);
+        bookDetails.clear();
+        Category category = categoryRepository.save(new Category("BATCH", "Batch"));
+        a = save("ISBN-B1", category).getId();
+        b = save("ISBN-B2", category).getId();
+        c = save("ISBN-B3", category).getId();
+        Book book = new Book("ISBN-B4", "Deleted", "Author", new BigDecimal("10.00"), category);
+        book.setStatus(BookStatus.DELETED);
+        deleted = bookRepository.save(book).getId();
+        clearInvocations(bookRepository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        categoryStatsRepository.deleteAllInBatch();
+        bookRepository.deleteAllInBatch();
+        categoryRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void keepsRequestOrderDropsDuplicatesAndReportsMissingIds() {
+        BatchGetBooksResponse response = bookService.getBooksByIds(List.of(c, a, -1L, c, deleted, b, a));
+
+        assertThat(response.getBooks()).extracting(BookResponse::getId).containsExactly(c, a, b);
+        assertThat(response.getMissingIds()).containsExactly(-1L, deleted);
+    }
+
+    @Test
+    void onlyCacheMissesAreQueriedAndThenCached() {
+        bookService.getBookDetail(a);
+        assertThat(bookDetails.get(a)).isNotNull();
+        clearInvocations(bookRepository);
+
+        BatchGetBooksResponse response = bookService.getBooksByIds(List.of(b, a, deleted, c));
+
+        assertThat(response.getBooks()).extracting(BookResponse::getId).containsExactly(b, a, c);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<Long>> queried = ArgumentCaptor.forClass(Collection.class);
+        verify(bookRepository).findResponsesByIdInAndStatus(queried.capture(), any());
+        assertThat(queried.getValue()).containsExactlyInAnyOrder(b, c, deleted);
+        assertThat(bookDetails.get(b)).isNotNull();
+        assertThat(bookDetails.get(c)).isNotNull();
+        assertThat(bookDetails.get(deleted)).isNull();
+
+        // Lần sau toàn bộ sách tìm thấy đều nằm trong cache
+        clearInvocations(bookRepository);
+        bookService.getBooksByIds(List.of(a, b, c));
+        verify(bookRepository, never()).findResponsesByIdInAndStatus(anyCollection(), any());
+    }
+
+    @Test
+    void bookChangedWhileReadingIsReturnedButNotCached() {
+        doAnswer(invocation -> {
+            Object stamp = invocation.callRealMethod();
+            // Sách b thay đổi (sau commit) sau khi lấy stamp, trong lúc đang đọc database
+            bookDetailCache.invalidate(b);
+            return stamp;
+        }).when(bookDetailCache).stamp(b);
+
+        BatchGetBooksResponse response = bookService.getBooksByIds(List.of(a, b));
+
+        assertThat(response.getBooks()).extracting(BookResponse::getId).containsExactly(a, b);
+        assertThat(bookDetails.get(a)).isNotNull();
+        assertThat(bookDetails.get(b)).isNull();
+    }
+
+    @Test
+    void limitAppliesToDistinctIds() {
+        // 7 phần tử nhưng chỉ 5 ID khác nhau
+        assertThat(bookService.getBooksByIds(List.of(a, b, c, deleted, -1L, a, b)).getBooks()).hasSize(3);
+
+        assertThatThrownBy(() -> bookService.getBooksByIds(List.of(a, b, c, deleted, -1L, -2L)))
+                .isInstanceOf(BusinessException.class)
+                .extracting(e -> ((BusinessException) e).getErrorCode())
+                .isEqualTo(ErrorCode.BULK_LIMIT_EXCEEDED);
+    }
+
+    private Book save(String isbn, Category category) {
+        return bookRepository.save(new Book(isbn, "Title " + isbn, "Author", new BigDecimal("10.00"), category));
+    }
+}
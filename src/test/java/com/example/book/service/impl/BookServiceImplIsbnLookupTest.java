@@ -0,0 +1,141 @@
+package com.example.book.service.impl;
+
+import com.example.book.dto.response.BatchGetBooksByIsbnResponse;
+import com.example.book.entity.Book;
+import com.example.book.entity.BookStatus;
+import com.example.book.entity.Category;
+import com.example.book.exception.BusinessException;
+import com.example.book.exception.ErrorCode;
+import com.example.book.repository.BookRepository;
+import com.example.book.repository.CategoryRepository;
+import com.example.book.repository.CategoryStatsRepository;
+import com.example.book.service.BookService;
+import com.example.book.util.Batches;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tra cứu sách theo danh sách ISBN: ISBN được trim và bỏ trùng, giữ thứ tự request,
+ * ISBN không tìm thấy (hoặc sách đã xóa) nằm trong missingIsbns, giới hạn số ISBN
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:book-isbn-lookup;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.sql.init.mode=never",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "book.batch-get.max-isbns=" + BookServiceImplIsbnLookupTest.MAX_ISBNS
+})
+class BookServiceImplIsbnLookupTest {
+
+    /**
+     * Lớn hơn một lô IN để tra cứu phải chia nhiều query
+     */
+    static final int MAX_ISBNS = Batches.IN_CLAUSE_CHUNK_SIZE + 5;
+
+    @Autowired
+    private BookService bookService;
+
+    @SpyBean
+    private BookRepository bookRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private CategoryStatsRepository categoryStatsRepository;
+
+    @BeforeEach
+    void setUp() {
+        Category category = categoryRepository.save(new Category("LOOKUP", "Lookup"));
+        save("ISBN-1", category);
+        save("ISBN-2", category);
+        save("ISBN-3", category);
+        Book deleted = new Book("ISBN-DEL", "Deleted", "Author", new BigDecimal("10.00"), category);
+        deleted.setStatus(BookStatus.DELETED);
+        bookRepository.save(deleted);
+        clearInvocations(bookRepository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        categoryStatsRepository.deleteAllInBatch();
+        bookRepository.deleteAllInBatch();
+        categoryRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void isbnsAreTrimmedDeduplicatedAndKeptInRequestOrder() {
+        BatchGetBooksByIsbnResponse response = bookService.getBooksByIsbns(
+                List.of(" ISBN-3", "ISBN-1 ", "ISBN-3", "\tISBN-1\n", "ISBN-2"));
+
+        assertThat(response.getBooks().keySet()).containsExactly("ISBN-3", "ISBN-1", "ISBN-2");
+        assertThat(response.getBooks().get("ISBN-1").getIsbn()).isEqualTo("ISBN-1");
+        assertThat(response.getMissingIsbns()).isEmpty();
+    }
+
+    @Test
+    void unknownAndDeletedIsbnsAreReportedMissing() {
+        BatchGetBooksByIsbnResponse response = bookService.getBooksByIsbns(
+                List.of("UNKNOWN", "ISBN-2", "ISBN-DEL", " UNKNOWN "));
+
+        assertThat(response.getBooks()).containsOnlyKeys("ISBN-2");
+        assertThat(response.getMissingIsbns()).containsExactly("UNKNOWN", "ISBN-DEL");
+    }
+
+    @Test
+    void largeLookupIsSplitIntoInClauseChunks() {
+        List<String> isbns = new ArrayList<>();
+        isbns.add("ISBN-1");
+        for (int i = 0; i < MAX_ISBNS - 2; i++) {
+            isbns.add("NONE-" + i);
+        }
+        isbns.add("ISBN-2");
+
+        BatchGetBooksByIsbnResponse response = bookService.getBooksByIsbns(isbns);
+
+        assertThat(response.getBooks().keySet()).containsExactly("ISBN-1", "ISBN-2");
+        assertThat(response.getMissingIsbns()).hasSize(MAX_ISBNS - 2);
+        verify(bookRepository, times(2)).findResponsesByIsbnInAndStatus(anyCollection(), eq(BookStatus.ACTIVE));
+    }
+
+    @Test
+    void limitAppliesToDistinctTrimmedIsbns() {
+        List<String> isbns = new ArrayList<>();
+        for (int i = 0; i < MAX_ISBNS; i++) {
+            isbns.add("ISBN-L" + i);
+        }
+        // Trùng sau khi trim: không tính vào giới hạn
+        isbns.add(" ISBN-L0 ");
+        assertThat(bookService.getBooksByIsbns(isbns).getMissingIsbns()).hasSize(MAX_ISBNS);
+
+        isbns.add("ISBN-OVER");
+        assertThatThrownBy(() -> bookService.getBooksByIsbns(isbns))
+                .isInstanceOf(BusinessException.class)
+                .extracting(e -> ((BusinessException) e).getErrorCode())
+                .isEqualTo(ErrorCode.BULK_LIMIT_EXCEEDED);
+    }
+
+    private void save(String isbn, Category category) {
+        bookRepository.save(new Book(isbn, "Title " + isbn, "Author", new BigDecimal("10.00"), category));
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.book.service.impl;
+
+import com.example.book.dto.request.PatchBookRequest;
+import com.example.book.dto.response.BookResponse;
+import com.example.book.entity.Book;
+import com.example.book.entity.Category;
+import com.example.book.exception.PreconditionFailedException;
+import com.example.book.repository.BookRepository;
+import com.example.book.repository.CategoryRepository;
+import com.example.book.repository.CategoryStatsRepository;
+import com.example.book.service.BookService;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * PATCH sách: request không đổi gì thì không ghi database, có thay đổi thì UPDATE chỉ chứa cột đã đổi ({@code @DynamicUpdate})
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:book-patch;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.sql.init.mode=never",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.example.book.service.impl.BookServiceImplPatchTest$BookUpdateCapture"
+})
+class BookServiceImplPatchTest {
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private CategoryStatsRepository categoryStatsRepository;
+
+    private Book book;
+
+    @BeforeEach
+    void setUp() {
+        Category category = categoryRepository.save(new Category("PATCH", "Patch"));
+        book = bookRepository.save(new Book("ISBN-P1", "Title", "Author", new BigDecimal("10.00"), category));
+        BookUpdateCapture.STATEMENTS.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        categoryStatsRepository.deleteAllInBatch();
+        bookRepository.deleteAllInBatch();
+        categoryRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void patchWithUnchangedValuesDoesNotWrite() {
+        PatchBookRequest request = new PatchBookRequest("ISBN-P1", "Title", "Author", new BigDecimal("10.0"),
+                book.getCategory().getId());
+
+        BookResponse response = bookService.patchBook(book.getId(), request, 0L);
+
+        assertThat(response.getTitle()).isEqualTo("Title");
+        assertThat(response.getVersion()).isZero();
+        assertThat(BookUpdateCapture.STATEMENTS).isEmpty();
+        assertThat(bookRepository.findById(book.getId()).orElseThrow().getVersion()).isZero();
+    }
+
+    @Test
+    void emptyPatchDoesNotWrite() {
+        bookService.patchBook(book.getId(), new PatchBookRequest(), null);
+
+        assertThat(BookUpdateCapture.STATEMENTS).isEmpty();
+    }
+
+    @Test
+    void patchUpdatesOnlyChangedColumns() {
+        BookResponse response = bookService.patchBook(book.getId(),
+                new PatchBookRequest(null, "New title", null, null, null), 0L);
+
+        assertThat(response.getTitle()).isEqualTo("New title");
+        assertThat(response.getVersion()).isEqualTo(1L);
+        assertThat(BookUpdateCapture.STATEMENTS).singleElement().satisfies(sql -> {
+            assertThat(sql).contains("title=", "version=");
+            assertThat(sql).doesNotContain("isbn=", "author=", "price=", "category_id=", "status=");
+        });
+    }
+
+    @Test
+    void patchPriceWritesPriceButNotText() {
+        bookService.patchBook(book.getId(), new PatchBookRequest(null, null, null, new BigDecimal("12.00"), null), null);
+
+        assertThat(BookUpdateCapture.STATEMENTS).singleElement().satisfies(sql -> {
+            assertThat(sql).contains("price=");
+            assertThat(sql).doesNotContain("isbn=", "title=", "author=");
+        });
+        assertThat(bookRepository.findById(book.getId()).orElseThrow().getPrice()).isEqualByComparingTo("12.00");
+    }
+
+    @Test
+    void stalePatchIsRejectedWithoutWriting() {
+        PatchBookRequest request = new PatchBookRequest(null, "New title", null, null, null);
+
+        assertThatThrownBy(() -> bookService.patchBook(book.getId(), request, 5L))
+                .isInstanceOf(PreconditionFailedException.class);
+        assertThat(BookUpdateCapture.STATEMENTS).isEmpty();
+    }
+
+    /**
+     * Ghi lại các câu UPDATE trên bảng books (dạng chữ thường, bỏ khoảng trắng)
+     */
+    public static class BookUpdateCapture implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            String normalized = sql.toLowerCase(Locale.ROOT).replaceAll("\\s+", "");
+            if (normalized.startsWith("updatebooks")) {
+                STATEMENTS.add(normalized);
+            }
+            return sql;
+        }
+    }
+}
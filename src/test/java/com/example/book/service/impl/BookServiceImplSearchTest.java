@@ -0,0 +1,137 @@
+package com.example.book.service.impl;
+
+import com.example.book.dto.response.BookResponse;
+import com.example.book.entity.Book;
+import com.example.book.entity.BookStatus;
+import com.example.book.entity.Category;
+import com.example.book.exception.BusinessException;
+import com.example.book.repository.BookRepository;
+import com.example.book.repository.CategoryRepository;
+import com.example.book.repository.CategoryStatsRepository;
+import com.example.book.service.BookService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tìm kiếm full-text: trang ID (MATCH...AGAINST, chỉ có trên MySQL nên được stub) rồi projection,
+ * giữ đúng thứ tự liên quan
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:book-search;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.sql.init.mode=never",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+class BookServiceImplSearchTest {
+
+    @Autowired
+    private BookService bookService;
+
+    @SpyBean
+    private BookRepository bookRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private CategoryStatsRepository categoryStatsRepository;
+
+    private Book first;
+    private Book second;
+    private Book third;
+
+    @BeforeEach
+    void setUp() {
+        Category category = categoryRepository.save(new Category("SEARCH", "Search"));
+        first = bookRepository.save(new Book("ISBN-S1", "Java Basics", "Alice", new BigDecimal("10.00"), category));
+        second = bookRepository.save(new Book("ISBN-S2", "Java Streams", "Bob", new BigDecimal("20.00"), category));
+        third = bookRepository.save(new Book("ISBN-S3", "Advanced Java", "Carol", new BigDecimal("30.00"), category));
+    }
+
+    @AfterEach
+    void tearDown() {
+        categoryStatsRepository.deleteAllInBatch();
+        bookRepository.deleteAllInBatch();
+        categoryRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void resultsKeepRelevanceOrderOfIdPage() {
+        List<Long> ranked = List.of(third.getId(), first.getId(), second.getId());
+        doReturn(new PageImpl<>(ranked, PageRequest.of(0, 3), 7))
+                .when(bookRepository).searchActiveIds(eq("+java*"), any());
+
+        Page<BookResponse> page = bookService.searchBooks("Java", PageRequest.of(0, 3, Sort.by("title")));
+
+        assertThat(page.getContent()).extracting(BookResponse::getId).containsExactlyElementsOf(ranked);
+        assertThat(page.getContent().get(0).getTitle()).isEqualTo("Advanced Java");
+        assertThat(page.getTotalElements()).isEqualTo(7);
+        assertThat(page.getTotalPages()).isEqualTo(3);
+        // Sort của client bị bỏ qua, luôn theo độ liên quan
+        verify(bookRepository).searchActiveIds("+java*", PageRequest.of(0, 3));
+        verify(bookRepository).findResponsesByIdInAndStatus(ranked, BookStatus.ACTIVE);
+    }
+
+    @Test
+    void idNoLongerActiveIsDroppedWithoutBreakingOrder() {
+        second.setStatus(BookStatus.DELETED);
+        bookRepository.save(second);
+        List<Long> ranked = List.of(second.getId(), third.getId(), first.getId());
+        doReturn(new PageImpl<>(ranked, PageRequest.of(1, 3), 6))
+                .when(bookRepository).searchActiveIds(anyString(), any());
+
+        Page<BookResponse> page = bookService.searchBooks("java", PageRequest.of(1, 3));
+
+        assertThat(page.getContent()).extracting(BookResponse::getId).containsExactly(third.getId(), first.getId());
+        assertThat(page.getNumber()).isEqualTo(1);
+        assertThat(page.getTotalElements()).isEqualTo(6);
+    }
+
+    @Test
+    void emptyIdPageSkipsProjectionQuery() {
+        doReturn(Page.<Long>empty(PageRequest.of(0, 10)))
+                .when(bookRepository).searchActiveIds(anyString(), any());
+
+        Page<BookResponse> page = bookService.searchBooks("nothing", PageRequest.of(0, 10));
+
+        assertThat(page.getContent()).isEmpty();
+        assertThat(page.getTotalElements()).isZero();
+        verify(bookRepository, never()).findResponsesByIdInAndStatus(anyCollection(), any());
+    }
+
+    @Test
+    void blankOrTooShortQueryIsRejectedBeforeQuerying() {
+        Pageable pageable = PageRequest.of(0, 10);
+
+        assertThatThrownBy(() -> bookService.searchBooks("  ", pageable)).isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> bookService.searchBooks("a", pageable)).isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> bookService.searchBooks("*+-", pageable)).isInstanceOf(BusinessException.class);
+        verify(bookRepository, never()).searchActiveIds(anyString(), any());
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.book.service.impl;
+
+import com.example.book.dto.response.BookResponse;
+import com.example.book.entity.Book;
+import com.example.book.entity.BookStatus;
+import com.example.book.entity.Category;
+import com.example.book.exception.BusinessException;
+import com.example.book.repository.BookRepository;
+import com.example.book.repository.CategoryRepository;
+import com.example.book.repository.CategoryStatsRepository;
+import com.example.book.service.BookService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Danh sách sách dạng Slice: chỉ sách ACTIVE, {@code hasNext} đúng ở slice cuối (kể cả khi số sách
+ * chia hết cho kích thước trang)
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:book-slice;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.sql.init.mode=never",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+class BookServiceImplSliceTest {
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private CategoryStatsRepository categoryStatsRepository;
+
+    private final List<Long> activeIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        Category category = categoryRepository.save(new Category("SLICE", "Slice"));
+        for (int i = 0; i < 5; i++) {
+            activeIds.add(bookRepository.save(
+                    new Book("ISBN-L" + i, "Title " + i, "Author", new BigDecimal("10.00"), category)).getId());
+        }
+        Book deleted = new Book("ISBN-LX", "Deleted", "Author", new BigDecimal("10.00"), category);
+        deleted.setStatus(BookStatus.DELETED);
+        bookRepository.save(deleted);
+    }
+
+    @AfterEach
+    void tearDown() {
+        categoryStatsRepository.deleteAllInBatch();
+        bookRepository.deleteAllInBatch();
+        categoryRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void lastPartialSliceHasNoNext() {
+        Sort byId = Sort.by("id");
+
+        Slice<BookResponse> first = bookService.getBookSlice(PageRequest.of(0, 2, byId));
+        Slice<BookResponse> second = bookService.getBookSlice(PageRequest.of(1, 2, byId));
+        Slice<BookResponse> last = bookService.getBookSlice(PageRequest.of(2, 2, byId));
+
+        assertThat(first.hasNext()).isTrue();
+        assertThat(second.hasNext()).isTrue();
+        assertThat(last.hasNext()).isFalse();
+        assertThat(last.getContent()).extracting(BookResponse::getId).containsExactly(activeIds.get(4));
+        List<Long> ids = new ArrayList<>();
+        for (Slice<BookResponse> slice : List.of(first, second, last)) {
+            slice.getContent().forEach(book -> ids.add(book.getId()));
+        }
+        assertThat(ids).containsExactlyElementsOf(activeIds);
+    }
+
+    @Test
+    void fullLastSliceHasNoNext() {
+        Slice<BookResponse> last = bookService.getBookSlice(PageRequest.of(0, 5, Sort.by("id")));
+
+        assertThat(last.getContent()).hasSize(5);
+        assertThat(last.hasNext()).isFalse();
+        assertThat(bookService.getBookSlice(PageRequest.of(1, 5)).getContent()).isEmpty();
+    }
+
+    @Test
+    void disallowedSortIsRejected() {
+        assertThatThrownBy(() -> bookService.getBookSlice(PageRequest.of(0, 2, Sort.by("category.name"))))
+                .isInstanceOf(BusinessException.class);
+    }
+}
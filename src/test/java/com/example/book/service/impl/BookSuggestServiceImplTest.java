@@ -0,0 +1,115 @@
+package com.example.book.service.impl;
+
+import com.example.book.dto.response.BookSuggestionResponse;
+import com.example.book.entity.Book;
+import com.example.book.entity.BookStatus;
+import com.example.book.event.BookChangedEvent;
+import com.example.book.repository.BookRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Build index gợi ý (lỗi không làm hỏng service) và cập nhật index theo {@link BookChangedEvent}
+ */
+class BookSuggestServiceImplTest {
+
+    private BookRepository bookRepository;
+    private BookSuggestServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        bookRepository = mock(BookRepository.class);
+        service = new BookSuggestServiceImpl(bookRepository, mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(service, "entityManager", mock(EntityManager.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.destroy();
+    }
+
+    @Test
+    void buildIndexesActiveBooksAndMarksReady() {
+        when(bookRepository.streamByStatus(BookStatus.ACTIVE))
+                .thenReturn(Stream.of(book(1L, "Dế Mèn phiêu lưu ký", "Tô Hoài")));
+
+        service.buildIndex();
+
+        assertThat(service.getIndexStats().isReady()).isTrue();
+        assertThat(service.getIndexStats().getBooks()).isEqualTo(1);
+        assertThat(titles("de men")).containsExactly("Dế Mèn phiêu lưu ký");
+    }
+
+    @Test
+    void failedBuildIsLoggedAndLeavesIndexNotReady() {
+        when(bookRepository.streamByStatus(BookStatus.ACTIVE)).thenThrow(new IllegalStateException("database down"));
+
+        service.buildIndex();
+
+        assertThat(service.getIndexStats().isReady()).isFalse();
+        assertThat(service.getIndexStats().getBuiltAt()).isNull();
+        assertThat(service.suggest("any", 10)).isEmpty();
+    }
+
+    @Test
+    void updateWithoutTextChangeDoesNotReloadBooks() {
+        service.onBookChanged(new BookChangedEvent(BookChangedEvent.Type.UPDATED, List.of(1L, 2L), false));
+
+        verifyNoInteractions(bookRepository);
+    }
+
+    @Test
+    void updateReindexesChangedTitleAndRemovesMissingBooks() {
+        when(bookRepository.findAllById(any())).thenReturn(List.of(book(1L, "Old title", "Author"), book(2L, "Gone", "Author")));
+        service.onBookChanged(new BookChangedEvent(BookChangedEvent.Type.CREATED, List.of(1L, 2L)));
+
+        // Sách 2 đã bị xóa hẳn khỏi database
+        when(bookRepository.findAllById(any())).thenReturn(List.of(book(1L, "New title", "Author")));
+        service.onBookChanged(new BookChangedEvent(BookChangedEvent.Type.UPDATED, List.of(1L, 2L)));
+
+        verify(bookRepository, times(2)).findAllById(List.of(1L, 2L));
+        assertThat(titles("old")).isEmpty();
+        assertThat(titles("new")).containsExactly("New title");
+        assertThat(titles("gone")).isEmpty();
+        assertThat(service.getIndexStats().getBooks()).isEqualTo(1);
+    }
+
+    @Test
+    void deactivatedBookIsRemoved() {
+        when(bookRepository.findAllById(any())).thenReturn(List.of(book(1L, "Title", "Author")));
+        service.onBookChanged(BookChangedEvent.created(1L));
+
+        Book deleted = book(1L, "Title", "Author");
+        deleted.setStatus(BookStatus.DELETED);
+        when(bookRepository.findAllById(any())).thenReturn(List.of(deleted));
+        service.onBookChanged(BookChangedEvent.updated(1L));
+
+        assertThat(titles("title")).isEmpty();
+    }
+
+    private List<String> titles(String query) {
+        return service.suggest(query, 10).stream().map(BookSuggestionResponse::getTitle).toList();
+    }
+
+    private static Book book(Long id, String title, String author) {
+        Book book = new Book("ISBN-" + id, title, author, new BigDecimal("10.00"), null);
+        ReflectionTestUtils.setField(book, "id", id);
+        return book;
+    }
+}
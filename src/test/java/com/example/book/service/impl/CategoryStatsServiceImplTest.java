@@ -0,0 +1,194 @@
+package com.example.book.service.impl;
+
+import com.example.book.cache.CategoryCache;
+import com.example.book.entity.Book;
+import com.example.book.entity.BookStatus;
+import com.example.book.entity.Category;
+import com.example.book.entity.CategoryStats;
+import com.example.book.repository.CategoryStatsRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Cập nhật delta của category_stats, tính lại min/max khi bỏ giá trị biên, tạo dòng idempotent và đối soát
+ */
+@DataJpaTest(properties = {
+        "spring.test.database.replace=none",
+        "spring.datasource.url=jdbc:h2:mem:category-stats;MODE=MySQL",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.sql.init.mode=never",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Import(CategoryStatsServiceImpl.class)
+class CategoryStatsServiceImplTest {
+
+    @MockBean
+    private CategoryCache categoryCache;
+
+    @Autowired
+    private CategoryStatsServiceImpl categoryStatsService;
+
+    @Autowired
+    private CategoryStatsRepository categoryStatsRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        category = new Category("STATS", "Stats");
+        entityManager.persist(category);
+    }
+
+    @Test
+    void firstBookOfCategoryCreatesRowFromBooksTable() {
+        // Sách có sẵn trước khi có dòng thống kê vẫn được tính
+        persistBook("1", "30.00");
+        persistBook("2", "10.00");
+
+        categoryStatsService.bookAdded(category.getId(), new BigDecimal("10.00"));
+
+        CategoryStats stats = stats();
+        assertThat(stats.getBookCount()).isEqualTo(2);
+        assertThat(stats.getPriceSum()).isEqualByComparingTo("40.00");
+        assertThat(stats.getMinPrice()).isEqualByComparingTo("10.00");
+        assertThat(stats.getMaxPrice()).isEqualByComparingTo("30.00");
+    }
+
+    @Test
+    void bookAddedAppliesDeltaToExistingRow() {
+        addBook("1", "20.00");
+
+        addBook("2", "5.00");
+        addBook("3", "50.00");
+        addBook("4", "25.00");
+
+        CategoryStats stats = stats();
+        assertThat(stats.getBookCount()).isEqualTo(4);
+        assertThat(stats.getPriceSum()).isEqualByComparingTo("100.00");
+        assertThat(stats.getMinPrice()).isEqualByComparingTo("5.00");
+        assertThat(stats.getMaxPrice()).isEqualByComparingTo("50.00");
+    }
+
+    @Test
+    void removingInnerPriceKeepsExtremes() {
+        addBook("1", "5.00");
+        Book middle = addBook("2", "20.00");
+        addBook("3", "50.00");
+
+        removeBook(middle);
+
+        CategoryStats stats = stats();
+        assertThat(stats.getBookCount()).isEqualTo(2);
+        assertThat(stats.getPriceSum()).isEqualByComparingTo("55.00");
+        assertThat(stats.getMinPrice()).isEqualByComparingTo("5.00");
+        assertThat(stats.getMaxPrice()).isEqualByComparingTo("50.00");
+    }
+
+    @Test
+    void removingExtremePriceRecomputesItFromBooks() {
+        Book cheapest = addBook("1", "5.00");
+        addBook("2", "20.00");
+        Book dearest = addBook("3", "50.00");
+
+        removeBook(cheapest);
+        assertThat(stats().getMinPrice()).isEqualByComparingTo("20.00");
+        assertThat(stats().getMaxPrice()).isEqualByComparingTo("50.00");
+
+        removeBook(dearest);
+        CategoryStats stats = stats();
+        assertThat(stats.getBookCount()).isEqualTo(1);
+        assertThat(stats.getMinPrice()).isEqualByComparingTo("20.00");
+        assertThat(stats.getMaxPrice()).isEqualByComparingTo("20.00");
+    }
+
+    @Test
+    void removingLastBookClearsExtremes() {
+        Book only = addBook("1", "15.00");
+
+        removeBook(only);
+
+        CategoryStats stats = stats();
+        assertThat(stats.getBookCount()).isZero();
+        assertThat(stats.getPriceSum()).isEqualByComparingTo("0");
+        assertThat(stats.getMinPrice()).isNull();
+        assertThat(stats.getMaxPrice()).isNull();
+    }
+
+    @Test
+    void insertIfAbsentIsIdempotent() {
+        persistBook("1", "12.00");
+        // Dòng rỗng do transaction khác tạo trước
+        categoryStatsRepository.insertIfAbsent(category.getId(), LocalDateTime.now());
+        entityManager.clear();
+
+        categoryStatsService.recompute(List.of(category.getId()));
+        // Tạo lại khi dòng đã có số liệu: không lỗi trùng khóa, không ghi đè số liệu
+        categoryStatsRepository.insertIfAbsent(category.getId(), LocalDateTime.now());
+
+        CategoryStats stats = stats();
+        assertThat(stats.getBookCount()).isEqualTo(1);
+        assertThat(stats.getPriceSum()).isEqualByComparingTo("12.00");
+        assertThat(categoryStatsRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void reconcileCorrectsDriftedRows() {
+        addBook("1", "10.00");
+        addBook("2", "30.00");
+        // Lệch do ghi ngoài ứng dụng
+        categoryStatsRepository.addBook(category.getId(), new BigDecimal("999.00"), LocalDateTime.now());
+        entityManager.clear();
+
+        assertThat(categoryStatsService.reconcile()).isEqualTo(1);
+        entityManager.flush();
+
+        CategoryStats stats = stats();
+        assertThat(stats.getBookCount()).isEqualTo(2);
+        assertThat(stats.getPriceSum()).isEqualByComparingTo("40.00");
+        assertThat(stats.getMaxPrice()).isEqualByComparingTo("30.00");
+        assertThat(categoryStatsService.reconcile()).isZero();
+    }
+
+    private Book persistBook(String suffix, String price) {
+        Book book = new Book("ISBN-S" + suffix, "Title " + suffix, "Author", new BigDecimal(price), category);
+        entityManager.persist(book);
+        return book;
+    }
+
+    /**
+     * Như BookServiceImpl: ghi sách rồi cập nhật thống kê trong cùng transaction
+     */
+    private Book addBook(String suffix, String price) {
+        Book book = persistBook(suffix, price);
+        categoryStatsService.bookAdded(category.getId(), book.getPrice());
+        return book;
+    }
+
+    private void removeBook(Book book) {
+        Book managed = entityManager.find(Book.class, book.getId());
+        managed.setStatus(BookStatus.DELETED);
+        categoryStatsService.bookRemoved(category.getId(), managed.getPrice());
+    }
+
+    private CategoryStats stats() {
+        entityManager.flush();
+        entityManager.clear();
+        return categoryStatsRepository.findById(category.getId()).orElseThrow();
+    }
+}